@@ -0,0 +1,40 @@
+package com.github.emick.codegen.demo.model;
+
+import com.github.emick.codegen.binary.GenerateBinaryCodec;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.delta.GenerateDeltaCodec;
+import com.github.emick.codegen.fielddiff.GenerateFieldDiff;
+import com.github.emick.codegen.fieldenum.GenerateFieldEnum;
+import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;
+import com.github.emick.codegen.json.GenerateJsonCodec;
+import com.github.emick.codegen.lazy.GenerateLazyView;
+import com.github.emick.codegen.transform.GenerateTransformMapper;
+
+@GenerateFieldVisitor(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+@GenerateTransformMapper(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+@GenerateFieldEnum(accessors = true, fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+@GenerateFieldDiff(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+@GenerateDeltaCodec(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+@GenerateBinaryCodec(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+@GenerateJsonCodec(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+@GenerateLazyView(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+public class Account {
+    private String owner;
+    private long balance;
+
+    public Account() {
+    }
+
+    public Account(String owner, long balance) {
+        this.owner = owner;
+        this.balance = balance;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+}
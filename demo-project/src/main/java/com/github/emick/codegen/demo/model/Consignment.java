@@ -0,0 +1,14 @@
+package com.github.emick.codegen.demo.model;
+
+import com.github.emick.codegen.binary.GenerateBinaryCodec;
+import com.github.emick.codegen.json.GenerateJsonCodec;
+
+@GenerateBinaryCodec
+@GenerateJsonCodec
+public class Consignment {
+    String reference;
+    ShipmentRecord shipment;
+    ShipmentState state;
+    Double weight;
+    boolean fragile;
+}
@@ -0,0 +1,19 @@
+package com.github.emick.codegen.demo.model;
+
+import com.github.emick.codegen.transform.GenerateTransformMapper;
+import com.github.emick.codegen.transform.MappingStyle;
+
+@GenerateTransformMapper(mappingStyle = MappingStyle.RETURN_VALUE)
+public class Invoice {
+    String number;
+    double taxRate;
+    private long amountCents;
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public void setAmountCents(long amountCents) {
+        this.amountCents = amountCents;
+    }
+}
@@ -5,7 +5,7 @@ import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;
 
 import java.time.Instant;
 
-@GenerateFieldNames
+@GenerateFieldNames(patcher = true)
 @GenerateFieldVisitor
 public class Order {
     String id;
@@ -0,0 +1,15 @@
+package com.github.emick.codegen.demo.model;
+
+import com.github.emick.codegen.fieldenum.GenerateFieldEnum;
+import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;
+import com.github.emick.codegen.transform.GenerateTransformMapper;
+import com.github.emick.codegen.transform.MappingStyle;
+
+@GenerateFieldEnum(mask = true, csv = true, columns = true)
+@GenerateFieldVisitor(stateless = true, selective = true)
+@GenerateTransformMapper(stateless = true, mappingStyle = MappingStyle.RETURN_VALUE)
+public class Product {
+    String sku;
+    int stock;
+    double price;
+}
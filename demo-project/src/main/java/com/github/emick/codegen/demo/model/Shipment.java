@@ -1,10 +1,14 @@
 package com.github.emick.codegen.demo.model;
 
+import com.github.emick.codegen.columnar.GenerateColumnarFile;
+import com.github.emick.codegen.delta.GenerateDeltaCodec;
 import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;
 import com.github.emick.codegen.transform.GenerateTransformMapper;
 
-@GenerateFieldVisitor
+@GenerateFieldVisitor(selective = true)
 @GenerateTransformMapper
+@GenerateDeltaCodec
+@GenerateColumnarFile
 public class Shipment {
     String id;
     String sender;
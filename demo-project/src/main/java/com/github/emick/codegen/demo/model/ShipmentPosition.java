@@ -0,0 +1,10 @@
+package com.github.emick.codegen.demo.model;
+
+import com.github.emick.codegen.columnar.GenerateColumnarFile;
+import com.github.emick.codegen.offheap.GenerateOffHeapView;
+
+@GenerateOffHeapView
+@GenerateColumnarFile
+public record ShipmentPosition(long timestamp, double latitude, double longitude, ShipmentState state,
+                               boolean delayed) {
+}
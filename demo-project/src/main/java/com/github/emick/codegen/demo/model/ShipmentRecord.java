@@ -1,9 +1,19 @@
 package com.github.emick.codegen.demo.model;
 
+import com.github.emick.codegen.binary.GenerateBinaryCodec;
+import com.github.emick.codegen.delta.GenerateDeltaCodec;
+import com.github.emick.codegen.fielddiff.GenerateFieldDiff;
+import com.github.emick.codegen.fieldenum.GenerateFieldEnum;
 import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;
+import com.github.emick.codegen.json.GenerateJsonCodec;
 import com.github.emick.codegen.transform.GenerateTransformMapper;
 
 @GenerateFieldVisitor
 @GenerateTransformMapper
+@GenerateFieldEnum(accessors = true, csv = true, columns = true)
+@GenerateFieldDiff
+@GenerateDeltaCodec
+@GenerateBinaryCodec
+@GenerateJsonCodec
 public record ShipmentRecord(String id, int quantity) {
 }
@@ -3,12 +3,20 @@ package com.github.emick.codegen.demo;
 import com.github.emick.codegen.demo.model.Order;
 import com.github.emick.codegen.demo.model.OrderFields;
 import com.github.emick.codegen.demo.model.OrderLineFields;
+import com.github.emick.codegen.demo.model.OrderPatcher;
+import com.github.emick.codegen.demo.model.ProductFields;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GenerationTest {
 
@@ -35,6 +43,25 @@ public class GenerationTest {
         assertEquals(orderDate, orderDateField.get(order));
     }
 
+    @Test
+    public void shouldApplyPatchWithoutReflection() throws Exception {
+        Order order = new Order();
+        Instant orderDate = Instant.parse("2026-01-01T00:00:00Z");
+
+        List<String> unknownNames = OrderPatcher.apply(order, Map.of(OrderFields.id, "ORDER-123",
+                OrderFields.orderDate, orderDate, "customer", "Alice"));
+
+        assertEquals(List.of("customer"), unknownNames);
+        assertEquals(List.of(), OrderPatcher.apply(order, Map.of(OrderFields.id, "ORDER-124")));
+        assertFalse(OrderPatcher.apply(order, "customer", "Alice"));
+        assertFalse(OrderPatcher.apply(order, null, "Alice"));
+        assertThrows(IllegalArgumentException.class, () -> OrderPatcher.apply(order, OrderFields.orderDate, "today"));
+
+        Field idField = Order.class.getDeclaredField(OrderFields.id);
+        idField.setAccessible(true);
+        assertEquals("ORDER-124", idField.get(order));
+    }
+
     @Test
     public void shouldGenerateFieldNameEnum() {
         assertEquals(1, OrderLineFields.values().length);
@@ -43,5 +70,20 @@ public class GenerationTest {
         assertEquals("productName", OrderLineFields.PRODUCT_NAME.getFieldName());
     }
 
+    @Test
+    public void shouldLookUpFieldEnumByFieldName() {
+        assertEquals(ProductFields.STOCK, ProductFields.fromFieldName("stock"));
+        assertNull(ProductFields.fromFieldName("STOCK"));
+        assertNull(ProductFields.fromFieldName(null));
+        assertEquals(List.of(ProductFields.values()), ProductFields.valueList());
+        assertThrows(UnsupportedOperationException.class, () -> ProductFields.valueList().clear());
+
+        assertEquals(int.class, ProductFields.STOCK.getType());
+        assertTrue(ProductFields.STOCK.isPrimitive());
+        assertEquals(String.class, ProductFields.SKU.getType());
+        assertFalse(ProductFields.SKU.isPrimitive());
+        assertEquals(2, ProductFields.PRICE.ordinal());
+    }
+
 
 }
@@ -1,10 +1,28 @@
 package com.github.emick.codegen.demo.model;
 
+import com.github.emick.codegen.util.CsvReader;
+import com.github.emick.codegen.util.JsonReader;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GeneratedRuntimeBehaviorTest {
 
@@ -51,6 +69,437 @@ public class GeneratedRuntimeBehaviorTest {
         assertEquals(5, mapped.quantity());
     }
 
+    @Test
+    public void shouldRunGeneratedVarHandleVisitorAndMapperForPrivateFields() {
+        Account source = new Account("Alice", 100L);
+
+        AccountVisitorProbe visitor = new AccountVisitorProbe(source);
+        visitor.visitAll();
+        assertEquals("Alice", visitor.visitedOwner);
+        assertEquals(100L, visitor.visitedBalance);
+
+        Account target = new Account();
+        new AccountMapperProbe(source).mapAllTo(target);
+        assertEquals("Alice", target.getOwner());
+        assertEquals(110L, target.getBalance());
+    }
+
+    @Test
+    public void shouldReadAndWriteFieldsThroughFieldEnum() {
+        Account account = new Account("Alice", 100L);
+
+        assertEquals("Alice", AccountFields.OWNER.get(account));
+        assertEquals(100L, AccountFields.BALANCE.get(account));
+        assertEquals(100L, AccountFields.BALANCE.getLong(account));
+
+        AccountFields.OWNER.set(account, "Bob");
+        AccountFields.BALANCE.setLong(account, 200L);
+        assertEquals("Bob", account.getOwner());
+        assertEquals(200L, account.getBalance());
+
+        AccountFields.BALANCE.set(account, 300L);
+        assertEquals(300L, account.getBalance());
+
+        assertThrows(UnsupportedOperationException.class, () -> AccountFields.OWNER.getLong(account));
+        assertThrows(UnsupportedOperationException.class, () -> AccountFields.BALANCE.getInt(account));
+    }
+
+    @Test
+    public void shouldReadRecordComponentsThroughFieldEnum() {
+        ShipmentRecord shipment = new ShipmentRecord("REC-1", 4);
+
+        assertEquals("REC-1", ShipmentRecordFields.ID.get(shipment));
+        assertEquals(4, ShipmentRecordFields.QUANTITY.getInt(shipment));
+    }
+
+    @Test
+    public void shouldVisitOnlySelectedFields() {
+        Shipment shipment = new Shipment();
+        shipment.id = "SHP-2";
+        shipment.sender = "Alice";
+        shipment.status = ShipmentState.IN_TRANSIT;
+
+        ShipmentVisitorProbe visitor = new ShipmentVisitorProbe(shipment);
+        visitor.visit(3);
+        visitor.visitOnly(0);
+        assertEquals("SHP-2", visitor.visitedId);
+        assertNull(visitor.visitedSender);
+        assertEquals(ShipmentState.IN_TRANSIT, visitor.visitedStatus);
+        assertThrows(IndexOutOfBoundsException.class, () -> visitor.visit(4));
+
+        Product product = new Product();
+        product.sku = "SKU-3";
+        product.stock = 7;
+        product.price = 2.5;
+
+        BitSet fields = new BitSet();
+        fields.set(ProductFields.SKU.ordinal());
+        fields.set(ProductFields.PRICE.ordinal());
+        assertEquals("SKU-3;2.5", PRODUCT_FORMATTER.visitOnly(product, new StringBuilder(), fields));
+        assertEquals("SKU-3;7", PRODUCT_FORMATTER.visitOnly(product, new StringBuilder(),
+                ProductFields.SKU.ordinal(), ProductFields.STOCK.ordinal()));
+    }
+
+    @Test
+    public void shouldDiffFields() {
+        Account before = new Account("Alice", 100L);
+        Account after = new Account("Alice", 250L);
+
+        assertEquals(AccountFieldDiff.BALANCE, AccountFieldDiff.diff(before, after));
+        assertEquals(0L, AccountFieldDiff.diff(before, new Account("Alice", 100L)));
+
+        List<String> changes = new ArrayList<>();
+        long changed = AccountFieldDiff.diff(before, after, new AccountFieldDiff.Listener() {
+            @Override
+            public void balanceChanged(long oldValue, long newValue) {
+                changes.add("balance " + oldValue + " -> " + newValue);
+            }
+        });
+        assertEquals(AccountFieldDiff.BALANCE, changed);
+        assertEquals(List.of("balance 100 -> 250"), changes);
+
+        assertEquals(ShipmentRecordFieldDiff.ID | ShipmentRecordFieldDiff.QUANTITY,
+                ShipmentRecordFieldDiff.diff(new ShipmentRecord("REC-1", 1), new ShipmentRecord("REC-2", 2)));
+        assertEquals(0L, ShipmentRecordFieldDiff.diff(new ShipmentRecord("REC-1", 1), new ShipmentRecord("REC-1", 1)));
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeChangedFields() {
+        Shipment previous = new Shipment();
+        previous.id = "SHP-3";
+        previous.sender = "Alice";
+        previous.status = ShipmentState.AT_ORIGIN;
+
+        Shipment current = new Shipment();
+        current.id = "SHP-3";
+        current.sender = "Alice";
+        current.receiver = "Bob";
+        current.status = ShipmentState.DELIVERED;
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        assertEquals(0b1100, ShipmentDeltaCodec.encode(previous, current, buffer));
+        // Byte header, receiver as int length and 3 bytes, status as int ordinal
+        assertEquals(1 + 4 + 3 + 4, buffer.position());
+
+        buffer.flip();
+        assertEquals(0b1100, ShipmentDeltaCodec.decode(buffer, previous));
+        assertFalse(buffer.hasRemaining());
+        assertEquals("SHP-3", previous.id);
+        assertEquals("Bob", previous.receiver);
+        assertEquals(ShipmentState.DELIVERED, previous.status);
+
+        buffer.clear();
+        ShipmentDeltaCodec.encode(current, current, buffer);
+        assertEquals(1, buffer.position());
+
+        buffer.clear();
+        AccountDeltaCodec.encode(new Account("Alice", 100L), new Account("Alice", 250L), buffer);
+        Account account = new Account("Alice", 100L);
+        AccountDeltaCodec.decode(buffer.flip(), account);
+        assertEquals(250L, account.getBalance());
+
+        buffer.clear();
+        ShipmentRecordDeltaCodec.encode(new ShipmentRecord("REC-1", 1), new ShipmentRecord("REC-1", 5), buffer);
+        assertEquals(new ShipmentRecord("REC-1", 5),
+                ShipmentRecordDeltaCodec.decode(buffer.flip(), new ShipmentRecord("REC-1", 1)));
+    }
+
+    @Test
+    public void shouldWriteAndReadBinary() {
+        Consignment consignment = new Consignment();
+        consignment.reference = "CON-1";
+        consignment.shipment = new ShipmentRecord("REC-2", 3);
+        consignment.state = ShipmentState.IN_TRANSIT;
+        consignment.fragile = true;
+
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(128), ByteBuffer.allocateDirect(128)}) {
+            ConsignmentBinaryCodec.write(consignment, buffer);
+            AccountBinaryCodec.write(new Account("Alice", 100L), buffer);
+
+            buffer.flip();
+            Consignment read = ConsignmentBinaryCodec.read(buffer);
+            assertEquals("CON-1", read.reference);
+            assertEquals(new ShipmentRecord("REC-2", 3), read.shipment);
+            assertEquals(ShipmentState.IN_TRANSIT, read.state);
+            assertNull(read.weight);
+            assertTrue(read.fragile);
+
+            Account account = AccountBinaryCodec.read(buffer);
+            assertEquals("Alice", account.getOwner());
+            assertEquals(100L, account.getBalance());
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    public void shouldWriteAndReadJson() throws IOException {
+        Consignment consignment = new Consignment();
+        consignment.reference = "CON-\"2\"";
+        consignment.shipment = new ShipmentRecord("REC-3", 4);
+        consignment.state = ShipmentState.DELIVERED;
+        consignment.weight = 1.5;
+
+        StringBuilder json = new StringBuilder();
+        ConsignmentJsonCodec.write(consignment, json);
+        assertEquals("{\"reference\":\"CON-\\\"2\\\"\",\"shipment\":{\"id\":\"REC-3\",\"quantity\":4},"
+                + "\"state\":\"DELIVERED\",\"weight\":1.5,\"fragile\":false}", json.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ConsignmentJsonCodec.write(consignment, bytes);
+        assertEquals(json.toString(), bytes.toString(StandardCharsets.UTF_8));
+
+        Consignment read = ConsignmentJsonCodec.read(new JsonReader(new StringReader(json.toString())));
+        assertEquals("CON-\"2\"", read.reference);
+        assertEquals(new ShipmentRecord("REC-3", 4), read.shipment);
+        assertEquals(ShipmentState.DELIVERED, read.state);
+        assertEquals(Double.valueOf(1.5), read.weight);
+        assertFalse(read.fragile);
+
+        JsonReader reader = new JsonReader(new StringReader(
+                "{\"unknown\": [1, {\"a\": null}], \"owner\": \"Alice\", \"balance\": 100}"));
+        Account account = AccountJsonCodec.read(reader);
+        assertEquals("Alice", account.getOwner());
+        assertEquals(100L, account.getBalance());
+    }
+
+    @Test
+    public void shouldWriteAndReadCsv() throws IOException {
+        Product first = new Product();
+        first.sku = "SKU-1, \"large\"";
+        first.stock = 5;
+        first.price = 9.5;
+        Product second = new Product();
+        second.stock = -1;
+
+        StringWriter out = new StringWriter();
+        ProductCsv csv = new ProductCsv();
+        csv.writeHeader(out);
+        csv.write(first, out);
+        csv.write(second, out);
+        assertEquals("sku,stock,price\n\"SKU-1, \"\"large\"\"\",5,9.5\n,-1,0.0\n", out.toString());
+
+        CsvReader reader = new CsvReader(new StringReader(out.toString()));
+        ProductCsv readCsv = ProductCsv.fromHeader(reader);
+        Product read = readCsv.read(reader);
+        assertEquals(first.sku, read.sku);
+        assertEquals(5, read.stock);
+        assertEquals(9.5, read.price);
+        read = readCsv.read(reader);
+        assertNull(read.sku);
+        assertEquals(-1, read.stock);
+        assertNull(readCsv.read(reader));
+
+        out = new StringWriter();
+        new ShipmentRecordCsv(ShipmentRecordFields.QUANTITY).write(new ShipmentRecord("REC-4", 7), out);
+        assertEquals("7\n", out.toString());
+        reader = new CsvReader(new StringReader(out.toString()));
+        assertEquals(new ShipmentRecord(null, 7), new ShipmentRecordCsv(ShipmentRecordFields.QUANTITY).read(reader));
+    }
+
+    @Test
+    public void shouldStoreFieldsInColumns() {
+        ProductColumns columns = new ProductColumns(1);
+        for (int i = 0; i < 20; i++) {
+            Product product = new Product();
+            product.sku = "SKU-" + i;
+            product.stock = i;
+            product.price = i * 0.5;
+            assertEquals(i, columns.add(product));
+        }
+
+        assertEquals(20, columns.size());
+        long totalStock = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            totalStock += columns.getStock(i);
+        }
+        assertEquals(190, totalStock);
+
+        columns.setPrice(3, 99.0);
+        Product read = columns.get(3);
+        assertEquals("SKU-3", read.sku);
+        assertEquals(3, read.stock);
+        assertEquals(99.0, read.price);
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.get(20));
+
+        columns.clear();
+        assertEquals(0, columns.size());
+
+        ShipmentRecordColumns records = new ShipmentRecordColumns();
+        records.add(new ShipmentRecord("REC-5", 2));
+        records.setQuantity(0, 3);
+        assertEquals(new ShipmentRecord("REC-5", 3), records.get(0));
+    }
+
+    @Test
+    public void shouldStorePositionsOffHeap() {
+        ShipmentPositionStore store = new ShipmentPositionStore(3);
+        ShipmentPosition position = new ShipmentPosition(1000L, 60.17, 24.94, ShipmentState.IN_TRANSIT, true);
+        store.set(1, position);
+        assertEquals(position, store.get(1));
+        assertEquals(new ShipmentPosition(0L, 0.0, 0.0, ShipmentState.AT_ORIGIN, false), store.get(0));
+
+        ShipmentPositionView view = store.view(2);
+        view.setTimestamp(2000L);
+        view.setState(null);
+        assertEquals(2000L, store.view(2).getTimestamp());
+        assertNull(store.get(2).state());
+
+        store.view(0, view).setDelayed(true);
+        assertTrue(store.get(0).delayed());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.view(3));
+    }
+
+    @Test
+    public void shouldWriteAndMapColumnarFile() throws IOException {
+        Path path = Files.createTempFile("positions", ".col");
+        try {
+            List<ShipmentPosition> positions = List.of(
+                    new ShipmentPosition(1000L, 60.17, 24.94, ShipmentState.IN_TRANSIT, true),
+                    new ShipmentPosition(2000L, 59.33, 18.07, null, false));
+            ShipmentPositionColumnarFile.write(path, positions);
+
+            ShipmentPositionColumnarFile file = ShipmentPositionColumnarFile.open(path);
+            assertEquals(2, file.size());
+            assertEquals(2000L, file.getTimestamp(1));
+            assertNull(file.getState(1));
+            assertEquals(positions.get(0), file.get(0));
+            assertThrows(IndexOutOfBoundsException.class, () -> file.getLatitude(2));
+            assertThrows(IOException.class, () -> ShipmentColumnarFile.open(path));
+
+            Shipment shipment = new Shipment();
+            shipment.id = "SHP-1";
+            shipment.receiver = "Bob";
+            shipment.status = ShipmentState.DELIVERED;
+            ShipmentColumnarFile.write(path, List.of(shipment, new Shipment()));
+
+            ShipmentColumnarFile shipments = ShipmentColumnarFile.open(path);
+            assertEquals("SHP-1", shipments.getId(0));
+            assertNull(shipments.getSender(0));
+            assertEquals("Bob", shipments.get(0).receiver);
+            assertEquals(ShipmentState.DELIVERED, shipments.getStatus(0));
+            assertNull(shipments.getId(1));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void shouldDecodeFieldsLazily() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.put((byte) 7);
+        AccountLazyView.write(new Account("Alice", 100L), buffer);
+        int second = buffer.position();
+        AccountLazyView.write(new Account(null, -1L), buffer);
+
+        AccountLazyView view = new AccountLazyView().wrap(buffer, 1);
+        assertEquals(100L, view.getBalance());
+        assertEquals("Alice", view.getOwner());
+        assertEquals("Alice", view.materialize().getOwner());
+
+        byte[] bytes = new byte[buffer.position() - second];
+        buffer.get(second, bytes);
+        Account account = new Account("Bob", 1L);
+        view.wrap(bytes).materialize(account);
+        assertNull(account.getOwner());
+        assertEquals(-1L, account.getBalance());
+        assertThrows(IndexOutOfBoundsException.class, () -> view.wrap(new byte[4]));
+    }
+
+    @Test
+    public void shouldTrackFieldsInFieldMask() {
+        ProductFieldMask changed = ProductFieldMask.of(ProductFields.STOCK);
+        changed.add(ProductFields.PRICE).remove(ProductFields.STOCK);
+
+        assertEquals(1, changed.size());
+        assertTrue(changed.contains(ProductFields.PRICE));
+        assertFalse(changed.contains(ProductFields.STOCK));
+        assertTrue(ProductFieldMask.ALL.containsAll(changed));
+        assertFalse(ProductFieldMask.NONE.intersects(changed));
+        assertEquals(2, changed.nextOrdinal(0));
+        assertEquals(-1, changed.nextOrdinal(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> changed.nextOrdinal(-1));
+        assertEquals("[SKU, STOCK, PRICE]", ProductFieldMask.ALL.toString());
+        assertEquals(ProductFieldMask.ALL, ProductFieldMask.of(ProductFields.values()));
+        assertEquals(ProductFieldMask.ALL, changed.union(ProductFieldMask.ALL));
+        assertTrue(changed.clear().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> ProductFieldMask.NONE.add(ProductFields.SKU));
+    }
+
+    @Test
+    public void shouldRunGeneratedReturnValueMapperForClass() {
+        Invoice source = new Invoice();
+        source.number = "INV-1";
+        source.taxRate = 0.24;
+        source.setAmountCents(1000L);
+
+        Invoice target = new Invoice();
+        new InvoiceMapperProbe(source).mapAllTo(target);
+        assertEquals("INV-1-credit", target.number);
+        assertEquals(0.24, target.taxRate);
+        assertEquals(-1000L, target.getAmountCents());
+    }
+
+    @Test
+    public void shouldRunSharedStatelessVisitorAndMapper() {
+        Product first = new Product();
+        first.sku = "SKU-1";
+        first.stock = 3;
+        first.price = 9.5;
+
+        Product second = new Product();
+        second.sku = "SKU-2";
+        second.stock = 0;
+        second.price = 1.25;
+
+        assertEquals("SKU-1;3;9.5", PRODUCT_FORMATTER.visitAll(first, new StringBuilder()));
+        assertEquals("SKU-2;0;1.25", PRODUCT_FORMATTER.visitAll(second, new StringBuilder()));
+
+        Product target = new Product();
+        PRODUCT_RESTOCKER.mapAllTo(first, target);
+        assertEquals("SKU-1", target.sku);
+        assertEquals(13, target.stock);
+        assertEquals(9.5, target.price);
+    }
+
+    private static final ProductFieldVisitor<StringBuilder, String> PRODUCT_FORMATTER = new ProductFieldVisitor<>() {
+        @Override
+        protected void visitSku(Product instance, StringBuilder context, String value) {
+            context.append(value);
+        }
+
+        @Override
+        protected void visitStock(Product instance, StringBuilder context, int value) {
+            context.append(';').append(value);
+        }
+
+        @Override
+        protected void visitPrice(Product instance, StringBuilder context, double value) {
+            context.append(';').append(value);
+        }
+
+        @Override
+        protected String complete(Product instance, StringBuilder context) {
+            return context.toString();
+        }
+    };
+
+    private static final ProductFieldMapper PRODUCT_RESTOCKER = new ProductFieldMapper() {
+        @Override
+        protected String mapSku(Product source, String sourceFieldValue) {
+            return sourceFieldValue;
+        }
+
+        @Override
+        protected int mapStock(Product source, int sourceFieldValue) {
+            return sourceFieldValue + 10;
+        }
+
+        @Override
+        protected double mapPrice(Product source, double sourceFieldValue) {
+            return sourceFieldValue;
+        }
+    };
+
     private static final class ShipmentVisitorProbe extends ShipmentFieldVisitor {
         String visitedId;
         String visitedSender;
@@ -142,4 +591,60 @@ public class GeneratedRuntimeBehaviorTest {
             return sourceFieldValue + 1;
         }
     }
+
+    private static final class AccountVisitorProbe extends AccountFieldVisitor {
+        String visitedOwner;
+        long visitedBalance;
+
+        private AccountVisitorProbe(Account instance) {
+            super(instance);
+        }
+
+        @Override
+        protected void visitOwner(String value) {
+            visitedOwner = value;
+        }
+
+        @Override
+        protected void visitBalance(long value) {
+            visitedBalance = value;
+        }
+    }
+
+    private static final class AccountMapperProbe extends AccountFieldMapper {
+        private AccountMapperProbe(Account source) {
+            super(source);
+        }
+
+        @Override
+        protected void setOwner(Account source, String sourceFieldValue, Consumer<String> setter) {
+            setter.accept(sourceFieldValue);
+        }
+
+        @Override
+        protected void setBalance(Account source, long sourceFieldValue, LongConsumer setter) {
+            setter.accept(sourceFieldValue + 10);
+        }
+    }
+
+    private static final class InvoiceMapperProbe extends InvoiceFieldMapper {
+        private InvoiceMapperProbe(Invoice source) {
+            super(source);
+        }
+
+        @Override
+        protected String mapNumber(Invoice source, String sourceFieldValue) {
+            return sourceFieldValue + "-credit";
+        }
+
+        @Override
+        protected double mapTaxRate(Invoice source, double sourceFieldValue) {
+            return sourceFieldValue;
+        }
+
+        @Override
+        protected long mapAmountCents(Invoice source, long sourceFieldValue) {
+            return -sourceFieldValue;
+        }
+    }
 }
@@ -0,0 +1,35 @@
+package com.github.emick.codegen.binary;
+
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.common.GeneratedVisibility;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * For each class or record annotated with this annotation, a class with type name
+ * postfixed with "BinaryCodec" is generated. The generated class writes all fields of an
+ * instance to a {@link java.nio.ByteBuffer} and reads them back, without reflection for
+ * non-private fields and record components. Private fields are accessed through a
+ * {@link java.lang.invoke.VarHandle} unless {@link #fieldAccess()} is {@code REFLECTION}.
+ *
+ * <p> E.g. for class {@code MyClass}, {@code void write(MyClass value, ByteBuffer buffer)} writes the fields
+ * in declaration order, {@code void read(ByteBuffer buffer, MyClass target)} assigns them to an existing
+ * instance and, if {@code MyClass} has a non-private no-argument constructor, {@code MyClass read(ByteBuffer buffer)}
+ * creates a new instance. For records, {@code MyRecord read(ByteBuffer buffer)} calls the canonical constructor.
+ *
+ * <p> Supported field types are primitives, boxed primitives, {@link String} and enums, see
+ * {@link com.github.emick.codegen.common.BinaryFieldEncoding}, and types annotated with this annotation in
+ * the same compilation, which are written through their own generated codec after a {@code null} byte.
+ * There is no type information nor versioning in the written bytes, so both sides must use the same version of
+ * the annotated types.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateBinaryCodec {
+    String generatedName() default "";
+    GeneratedVisibility visibility() default GeneratedVisibility.PUBLIC;
+    GeneratedFieldAccess fieldAccess() default GeneratedFieldAccess.VAR_HANDLE;
+}
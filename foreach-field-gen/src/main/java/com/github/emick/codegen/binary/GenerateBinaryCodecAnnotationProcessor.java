@@ -0,0 +1,167 @@
+package com.github.emick.codegen.binary;
+
+import com.github.emick.codegen.common.AbstractFieldProcessor;
+import com.github.emick.codegen.common.BinaryFieldEncoding;
+import com.github.emick.codegen.common.FieldTypeModel;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Annotation processor for {@link GenerateBinaryCodec}.
+ */
+public class GenerateBinaryCodecAnnotationProcessor extends AbstractFieldProcessor {
+
+    public GenerateBinaryCodecAnnotationProcessor() {
+        super(GenerateBinaryCodec.class);
+    }
+
+    @Override
+    protected List<TypeSpec.Builder> processAll(FieldTypeModel type) {
+        boolean valid = true;
+        for (Element f : type.members()) {
+            TypeElement nestedType = getNestedCodecType(f.asType());
+            if (nestedType != null && !isInstantiable(nestedType)) {
+                error(f, "Type " + f.asType() + " must be a record or have a non-private no-argument constructor "
+                        + "to be read by @" + GenerateBinaryCodec.class.getSimpleName());
+                valid = false;
+            } else if (nestedType == null && !BinaryFieldEncoding.isSupported(f.asType())) {
+                error(f, "Type " + f.asType() + " is not supported by @" + GenerateBinaryCodec.class.getSimpleName());
+                valid = false;
+            }
+        }
+
+        return valid ? super.processAll(type) : List.of();
+    }
+
+    @Override
+    protected TypeSpec.Builder process(FieldTypeModel type) {
+        Element element = type.element();
+        List<Element> sourceFields = type.members();
+
+        String generatedTypeName = getGeneratedTypeName(type, element.getSimpleName() + "BinaryCodec");
+        TypeSpec.Builder codecBuilder = TypeSpec.classBuilder(generatedTypeName)
+                .addModifiers(Modifier.FINAL);
+        if (isPublicGeneratedType(type)) {
+            codecBuilder.addModifiers(Modifier.PUBLIC);
+        }
+
+        var elementType = TypeName.get(element.asType());
+        var fieldAccess = getFieldAccess(type);
+
+        addVarHandleFields(codecBuilder, element, sourceFields, fieldAccess);
+
+        codecBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .build());
+        codecBuilder.addMethod(createWriteMethod(elementType, sourceFields, fieldAccess));
+
+        if (element.getKind() == ElementKind.RECORD) {
+            codecBuilder.addMethod(createRecordReadMethod(elementType, sourceFields));
+        } else {
+            if (isInstantiable((TypeElement) element)) {
+                codecBuilder.addMethod(MethodSpec.methodBuilder("read")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(elementType)
+                        .addParameter(ByteBuffer.class, "buffer")
+                        .addStatement("$1T value = new $1T()", elementType)
+                        .addStatement("read(buffer, value)")
+                        .addStatement("return value")
+                        .build());
+            }
+            codecBuilder.addMethod(createReadIntoMethod(elementType, sourceFields, fieldAccess));
+        }
+
+        return codecBuilder;
+    }
+
+    private MethodSpec createWriteMethod(TypeName elementType, List<Element> fields, GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("write")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(elementType, "value")
+                .addParameter(ByteBuffer.class, "buffer");
+
+        fields.forEach(f -> {
+            String valueName = "value" + capitalize(getMemberName(f));
+            method.addStatement("$T $L = $L", TypeName.get(f.asType()), valueName,
+                            getValueExpression("value", f, fieldAccess))
+                    .addCode(getWriteStatements(f.asType(), valueName));
+        });
+
+        return method.build();
+    }
+
+    private MethodSpec createReadIntoMethod(TypeName elementType, List<Element> fields, GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("read")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(ByteBuffer.class, "buffer")
+                .addParameter(elementType, "target");
+
+        fields.forEach(f -> method.addStatement("$L",
+                getFieldWriteExpression("target", f, getReadExpression(f.asType()), fieldAccess)));
+
+        return method.build();
+    }
+
+    /**
+     * Constructor arguments are evaluated from left to right, so the components are read in the order they
+     * were written.
+     */
+    private MethodSpec createRecordReadMethod(TypeName elementType, List<Element> fields) {
+        CodeBlock arguments = fields.stream()
+                .map(f -> CodeBlock.of("\n$L", getReadExpression(f.asType())))
+                .collect(CodeBlock.joining(","));
+
+        return MethodSpec.methodBuilder("read")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(elementType)
+                .addParameter(ByteBuffer.class, "buffer")
+                .addStatement("return new $T($>$L$<)", elementType, arguments)
+                .build();
+    }
+
+    private CodeBlock getWriteStatements(TypeMirror type, String valueName) {
+        TypeElement nestedType = getNestedCodecType(type);
+        if (nestedType == null) {
+            return BinaryFieldEncoding.getWriteStatements(type, "buffer", valueName);
+        }
+
+        return CodeBlock.builder()
+                .beginControlFlow("if ($L == null)", valueName)
+                .addStatement("buffer.put((byte) 0)")
+                .nextControlFlow("else")
+                .addStatement("buffer.put((byte) 1)")
+                .addStatement("$T.write($L, buffer)", getCodecClassName(nestedType), valueName)
+                .endControlFlow()
+                .build();
+    }
+
+    private CodeBlock getReadExpression(TypeMirror type) {
+        TypeElement nestedType = getNestedCodecType(type);
+        if (nestedType == null) {
+            return BinaryFieldEncoding.getReadExpression(type, "buffer");
+        }
+
+        return CodeBlock.of("buffer.get() == 0 ? null : $T.read(buffer)", getCodecClassName(nestedType));
+    }
+
+    private static TypeElement getNestedCodecType(TypeMirror type) {
+        return getAnnotatedTypeElement(type, GenerateBinaryCodec.class);
+    }
+
+    private static ClassName getCodecClassName(TypeElement nestedType) {
+        return getGeneratedClassName(nestedType, nestedType.getAnnotation(GenerateBinaryCodec.class).generatedName(),
+                "BinaryCodec");
+    }
+}
@@ -0,0 +1,35 @@
+package com.github.emick.codegen.columnar;
+
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.common.GeneratedVisibility;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * For each class or record annotated with this annotation, a class with type name
+ * postfixed with "ColumnarFile" is generated. The generated class writes a list of instances to a file with one
+ * segment per field, and opens such files by mapping each segment into memory.
+ *
+ * <p> E.g. for class {@code MyClass}, {@code static void write(Path path, List<? extends MyClass> values)} writes
+ * all values of each field after each other, and {@code static MyClassColumnarFile open(Path path)} maps the
+ * segments of a file with {@link java.nio.channels.FileChannel#map}, so opening a file only reads its header.
+ * {@code int getMyField(int row)} reads the value of a field from its mapped segment, so scanning a field loads
+ * only the pages of that field, and {@code MyClass get(int row)} creates an instance of a row, for classes only if
+ * {@code MyClass} has a non-private no-argument constructor.
+ *
+ * <p> Supported field types are primitives, {@link String} and enums, which are stored by ordinal. The file
+ * contains a hash of the field names and types and of the enum constants, and opening a file written for another
+ * version of the type fails. Each segment is limited to 2 GB, e.g. 268 million {@code long} values. Opened files
+ * can be read from multiple threads. Private fields are read and written through a {@link java.lang.invoke.VarHandle}
+ * unless {@link #fieldAccess()} is {@code REFLECTION}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateColumnarFile {
+    String generatedName() default "";
+    GeneratedVisibility visibility() default GeneratedVisibility.PUBLIC;
+    GeneratedFieldAccess fieldAccess() default GeneratedFieldAccess.VAR_HANDLE;
+}
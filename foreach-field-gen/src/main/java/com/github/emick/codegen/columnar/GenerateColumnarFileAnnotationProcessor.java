@@ -0,0 +1,300 @@
+package com.github.emick.codegen.columnar;
+
+import com.github.emick.codegen.common.AbstractFieldProcessor;
+import com.github.emick.codegen.common.BinaryFieldEncoding;
+import com.github.emick.codegen.common.FieldTypeModel;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.fieldenum.EnumUtil;
+import com.github.emick.codegen.util.ColumnarFileReader;
+import com.github.emick.codegen.util.ColumnarFileWriter;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Annotation processor for {@link GenerateColumnarFile}.
+ */
+public class GenerateColumnarFileAnnotationProcessor extends AbstractFieldProcessor {
+
+    private static final TypeName STRING = TypeName.get(String.class);
+
+    public GenerateColumnarFileAnnotationProcessor() {
+        super(GenerateColumnarFile.class);
+    }
+
+    @Override
+    protected List<TypeSpec.Builder> processAll(FieldTypeModel type) {
+        boolean valid = true;
+        for (Element f : type.members()) {
+            TypeMirror memberType = f.asType();
+            if (!memberType.getKind().isPrimitive() && !BinaryFieldEncoding.isEnum(memberType)
+                    && !TypeName.get(memberType).equals(STRING)) {
+                error(f, "Type " + memberType + " is not supported by @" + GenerateColumnarFile.class.getSimpleName()
+                        + ", only primitive, String and enum fields can be stored in columnar files");
+                valid = false;
+            }
+        }
+
+        return valid ? super.processAll(type) : List.of();
+    }
+
+    @Override
+    protected TypeSpec.Builder process(FieldTypeModel type) {
+        Element element = type.element();
+        List<Element> sourceFields = type.members();
+
+        String generatedTypeName = getGeneratedTypeName(type, element.getSimpleName() + "ColumnarFile");
+        var fileType = ClassName.get(type.packageName(), generatedTypeName);
+        TypeSpec.Builder fileBuilder = TypeSpec.classBuilder(fileType)
+                .addModifiers(Modifier.FINAL);
+        if (isPublicGeneratedType(type)) {
+            fileBuilder.addModifiers(Modifier.PUBLIC);
+        }
+
+        var elementType = TypeName.get(element.asType());
+        var fieldAccess = getFieldAccess(type);
+
+        fileBuilder.addField(FieldSpec.builder(TypeName.INT, "SCHEMA",
+                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", getSchemaHash(sourceFields))
+                .build());
+        fileBuilder.addField(FieldSpec.builder(int[].class, "SEGMENT_WIDTHS",
+                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("{$L}", sourceFields.stream()
+                        .map(f -> isString(f) ? "0, " + Long.BYTES : String.valueOf(getStoredWidth(f)))
+                        .collect(Collectors.joining(", ")))
+                .build());
+        sourceFields.stream()
+                .filter(f -> BinaryFieldEncoding.isEnum(f.asType()))
+                .forEach(f -> fileBuilder.addField(FieldSpec.builder(ArrayTypeName.of(TypeName.get(f.asType())),
+                                getEnumValuesName(f), Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.values()", TypeName.get(f.asType()))
+                        .build()));
+
+        addVarHandleFields(fileBuilder, element, sourceFields, fieldAccess);
+
+        fileBuilder.addField(TypeName.INT, "size", Modifier.PRIVATE, Modifier.FINAL);
+        var constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(ColumnarFileReader.class, "reader")
+                .addStatement("size = reader.rowCount()");
+        int segment = 0;
+        for (Element f : sourceFields) {
+            fileBuilder.addField(ByteBuffer.class, getColumnName(f), Modifier.PRIVATE, Modifier.FINAL);
+            constructor.addStatement("$L = reader.segment($L)", getColumnName(f), segment++);
+            if (isString(f)) {
+                fileBuilder.addField(ByteBuffer.class, getEndsName(f), Modifier.PRIVATE, Modifier.FINAL);
+                constructor.addStatement("$L = reader.segment($L)", getEndsName(f), segment++);
+            }
+        }
+        fileBuilder.addMethod(constructor.build());
+
+        fileBuilder.addMethod(createWriteMethod(elementType, sourceFields, fieldAccess));
+        fileBuilder.addMethod(MethodSpec.methodBuilder("open")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(fileType)
+                .addParameter(Path.class, "path")
+                .addException(IOException.class)
+                .addStatement("return new $T($T.open(path, SCHEMA, SEGMENT_WIDTHS))", fileType,
+                        ColumnarFileReader.class)
+                .build());
+        fileBuilder.addMethod(MethodSpec.methodBuilder("size")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addStatement("return size")
+                .build());
+
+        sourceFields.forEach(f -> fileBuilder.addMethod(createGetMethod(f)));
+
+        if (element.getKind() == ElementKind.RECORD) {
+            CodeBlock arguments = sourceFields.stream()
+                    .map(f -> CodeBlock.of("$L(row)", getGetterName(f)))
+                    .collect(CodeBlock.joining(", "));
+            fileBuilder.addMethod(MethodSpec.methodBuilder("get")
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(elementType)
+                    .addParameter(TypeName.INT, "row")
+                    .addStatement("return new $T($L)", elementType, arguments)
+                    .build());
+        } else {
+            if (isInstantiable((TypeElement) element)) {
+                fileBuilder.addMethod(MethodSpec.methodBuilder("get")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(elementType)
+                        .addParameter(TypeName.INT, "row")
+                        .addStatement("$1T value = new $1T()", elementType)
+                        .addStatement("get(row, value)")
+                        .addStatement("return value")
+                        .build());
+            }
+            fileBuilder.addMethod(createGetIntoMethod(elementType, sourceFields, fieldAccess));
+        }
+
+        return fileBuilder;
+    }
+
+    /**
+     * Writes the values of each field in a loop of its own, so that each segment is written sequentially.
+     */
+    private static MethodSpec createWriteMethod(TypeName elementType, List<Element> fields,
+                                                GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("write")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(Path.class, "path")
+                .addParameter(ParameterizedTypeName.get(ClassName.get(List.class),
+                        WildcardTypeName.subtypeOf(elementType)), "values")
+                .addException(IOException.class)
+                .beginControlFlow("try ($1T writer = new $1T(path, SCHEMA, values.size(), SEGMENT_WIDTHS.length))",
+                        ColumnarFileWriter.class);
+
+        for (Element f : fields) {
+            method.addStatement("writer.beginSegment()")
+                    .beginControlFlow("for ($T value : values)", elementType);
+
+            CodeBlock value = getValueExpression("value", f, fieldAccess);
+            TypeName memberType = TypeName.get(f.asType());
+            if (BinaryFieldEncoding.isEnum(f.asType())) {
+                String valueName = "value" + capitalize(getMemberName(f));
+                TypeName ordinalType = getOrdinalType(f.asType());
+                CodeBlock ordinal = CodeBlock.of("$1L == null ? -1 : $1L.ordinal()", valueName);
+                if (!ordinalType.equals(TypeName.INT)) {
+                    ordinal = CodeBlock.of("($T) ($L)", ordinalType, ordinal);
+                }
+                method.addStatement("$T $L = $L", memberType, valueName, value)
+                        .addStatement("writer.put$L($L)", BinaryFieldEncoding.getBufferMethodSuffix(ordinalType),
+                                ordinal);
+            } else if (memberType.equals(STRING)) {
+                method.addStatement("writer.putString($L)", value);
+            } else if (memberType.equals(TypeName.BOOLEAN)) {
+                method.addStatement("writer.putBoolean($L)", value);
+            } else {
+                method.addStatement("writer.put$L($L)", BinaryFieldEncoding.getBufferMethodSuffix(memberType), value);
+            }
+
+            method.endControlFlow();
+            if (memberType.equals(STRING)) {
+                method.addStatement("writer.putStringEnds()");
+            }
+        }
+
+        return method.addStatement("writer.finish()")
+                .endControlFlow()
+                .build();
+    }
+
+    private static MethodSpec createGetMethod(Element field) {
+        TypeName memberType = TypeName.get(field.asType());
+        var method = MethodSpec.methodBuilder(getGetterName(field))
+                .addModifiers(Modifier.PUBLIC)
+                .returns(memberType)
+                .addParameter(TypeName.INT, "row")
+                .addStatement("$T.checkIndex(row, size)", Objects.class);
+
+        if (memberType.equals(STRING)) {
+            return method.addStatement("return $T.getString($L, $L, row)", ColumnarFileReader.class,
+                            getColumnName(field), getEndsName(field))
+                    .build();
+        }
+
+        TypeName storedType = getStoredType(field);
+        int width = BinaryFieldEncoding.getWidth(storedType);
+        CodeBlock index = width == 1 ? CodeBlock.of("row") : CodeBlock.of("row * $L", width);
+        CodeBlock read = CodeBlock.of("$L.get$L($L)", getColumnName(field),
+                BinaryFieldEncoding.getBufferMethodSuffix(storedType), index);
+
+        if (BinaryFieldEncoding.isEnum(field.asType())) {
+            return method.addStatement("int ordinal = $L", read)
+                    .addStatement("return ordinal < 0 ? null : $L[ordinal]", getEnumValuesName(field))
+                    .build();
+        }
+        if (memberType.equals(TypeName.BOOLEAN)) {
+            return method.addStatement("return $L != 0", read).build();
+        }
+        return method.addStatement("return $L", read).build();
+    }
+
+    private static MethodSpec createGetIntoMethod(TypeName elementType, List<Element> fields,
+                                                  GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("get")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "row")
+                .addParameter(elementType, "target");
+
+        fields.forEach(f -> method.addStatement("$L", getFieldWriteExpression("target", f,
+                CodeBlock.of("$L(row)", getGetterName(f)), fieldAccess)));
+
+        return method.build();
+    }
+
+    /**
+     * Hashes the names and types of the fields in declaration order, and the constants of enum fields, whose
+     * ordinals are stored.
+     */
+    private static int getSchemaHash(List<Element> fields) {
+        return fields.stream()
+                .map(f -> {
+                    String member = getMemberName(f) + ":" + TypeName.get(f.asType());
+                    if (!BinaryFieldEncoding.isEnum(f.asType())) {
+                        return member;
+                    }
+                    return ((DeclaredType) f.asType()).asElement().getEnclosedElements().stream()
+                            .filter(e -> e.getKind() == ElementKind.ENUM_CONSTANT)
+                            .map(e -> e.getSimpleName().toString())
+                            .collect(Collectors.joining(",", member + "[", "]"));
+                })
+                .collect(Collectors.joining(";"))
+                .hashCode();
+    }
+
+    /**
+     * Enums are stored by ordinal, other non-string fields as they are.
+     */
+    private static TypeName getStoredType(Element field) {
+        return BinaryFieldEncoding.isEnum(field.asType())
+                ? getOrdinalType(field.asType())
+                : TypeName.get(field.asType());
+    }
+
+    private static int getStoredWidth(Element field) {
+        return BinaryFieldEncoding.getWidth(getStoredType(field));
+    }
+
+    private static String getGetterName(Element field) {
+        return "get" + capitalize(getMemberName(field));
+    }
+
+    private static String getColumnName(Element field) {
+        return getMemberName(field) + "Column";
+    }
+
+    private static String getEndsName(Element field) {
+        return getMemberName(field) + "Ends";
+    }
+
+    private static String getEnumValuesName(Element field) {
+        return EnumUtil.fieldNameToEnumName(getMemberName(field)) + "_VALUES";
+    }
+
+    private static boolean isString(Element field) {
+        return TypeName.get(field.asType()).equals(STRING);
+    }
+}
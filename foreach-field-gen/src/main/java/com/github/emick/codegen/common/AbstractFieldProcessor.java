@@ -1,27 +1,39 @@
 package com.github.emick.codegen.common;
 
+import com.github.emick.codegen.fieldenum.EnumUtil;
+import com.github.emick.codegen.util.FieldGenReflectionUtil;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
 import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.RoundEnvironment;
 import javax.lang.model.SourceVersion;
-import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.AnnotationValue;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
-import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.PackageElement;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.tools.Diagnostic;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Abstract processor for generating a type (class or enum) from class and its fields.
@@ -30,6 +42,8 @@ public abstract class AbstractFieldProcessor extends AbstractProcessor {
 
     private static final String GENERATED_NAME_PROPERTY = "generatedName";
     private static final String VISIBILITY_PROPERTY = "visibility";
+    private static final String FIELD_ACCESS_PROPERTY = "fieldAccess";
+    private static final String REFLECTION_UTIL = FieldGenReflectionUtil.class.getCanonicalName();
 
     private final Class<? extends Annotation> annotationClass;
 
@@ -40,13 +54,18 @@ public abstract class AbstractFieldProcessor extends AbstractProcessor {
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         roundEnv.getElementsAnnotatedWith(annotationClass)
-                .forEach(element -> tryProcess(element));
+                .forEach(element -> generate(
+                        FieldTypeModel.of(element, processingEnv.getElementUtils(), getSupportedAnnotationTypes())));
         return true; // Annotation is claimed
     }
 
-    private void tryProcess(Element element) {
+    /**
+     * Generates the type of this processor from an annotated type. Used directly by
+     * {@link FieldGenAnnotationProcessor}, which shares one model between all processors.
+     */
+    void generate(FieldTypeModel type) {
         try {
-            process(element);
+            tryGenerate(type);
         } catch (RuntimeException e) {
             throw e;
         } catch (Exception e) {
@@ -54,47 +73,45 @@ public abstract class AbstractFieldProcessor extends AbstractProcessor {
         }
     }
 
-    private void process(Element element) throws IOException {
+    private void tryGenerate(FieldTypeModel type) throws IOException {
+        Element element = type.element();
         if (!isSupportedSourceKind(element.getKind())) {
             error(element, "Only classes and records may be annotated with @" + annotationClass.getSimpleName());
             return;
         }
 
-        Element packageElement = element.getEnclosingElement();
-        if (packageElement.getKind() != ElementKind.PACKAGE) {
+        if (type.packageName() == null) {
             error(element, "Failed to locate package for @" + annotationClass.getSimpleName());
             return;
         }
 
-        List<Element> sourceFields = getSourceMembers(element);
-
-        if (hasFieldNameConflicts(sourceFields)) {
+        if (type.hasFieldNameConflicts()) {
             error(element, "Field names should not differ only by case");
             return;
         }
 
-        var builder = process(element, sourceFields);
+        for (TypeSpec.Builder builder : processAll(type)) {
+            // The annotated type is the only input of the generated type, which lets Gradle treat the
+            // processors as isolating (see META-INF/gradle/incremental.annotation.processors)
+            builder.addOriginatingElement(element);
 
-        String packageName = ((PackageElement) packageElement).getQualifiedName().toString();
-        JavaFile javaFile = JavaFile.builder(packageName, builder.build())
-                .build();
+            JavaFile javaFile = JavaFile.builder(type.packageName(), builder.build())
+                    .build();
 
-        javaFile.writeTo(processingEnv.getFiler());
+            javaFile.writeTo(processingEnv.getFiler());
+        }
     }
 
-    private boolean hasFieldNameConflicts(List<Element> sourceFields) {
-        var nameSet = sourceFields.stream()
-                .map(el -> getMemberName(el).toUpperCase())
-                .collect(Collectors.toSet());
-        return nameSet.size() != sourceFields.size();
+    String getAnnotationName() {
+        return annotationClass.getCanonicalName();
     }
 
     protected void error(Element element, String s) {
         processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, s, element);
     }
 
-    protected String getGeneratedTypeName(Element element, String defaultName) {
-        AnnotationValue annotationValue = getAnnotationValue(element, GENERATED_NAME_PROPERTY);
+    protected String getGeneratedTypeName(FieldTypeModel type, String defaultName) {
+        AnnotationValue annotationValue = getAnnotationValue(type, GENERATED_NAME_PROPERTY);
         String generatedName = annotationValue == null ? defaultName : annotationValue.getValue().toString();
 
         if (generatedName.isBlank()) {
@@ -102,15 +119,15 @@ public abstract class AbstractFieldProcessor extends AbstractProcessor {
         }
 
         if (!isValidGeneratedTypeName(generatedName)) {
-            error(element, "\"" + GENERATED_NAME_PROPERTY + "\" must be a valid simple Java identifier");
+            error(type.element(), "\"" + GENERATED_NAME_PROPERTY + "\" must be a valid simple Java identifier");
             return defaultName;
         }
 
         return generatedName;
     }
 
-    protected boolean isPublicGeneratedType(Element element) {
-        AnnotationValue annotationValue = getAnnotationValue(element, VISIBILITY_PROPERTY);
+    protected boolean isPublicGeneratedType(FieldTypeModel type) {
+        AnnotationValue annotationValue = getAnnotationValue(type, VISIBILITY_PROPERTY);
         if (annotationValue == null) {
             return true;
         }
@@ -122,6 +139,319 @@ public abstract class AbstractFieldProcessor extends AbstractProcessor {
 
         return true;
     }
+
+    protected GeneratedFieldAccess getFieldAccess(FieldTypeModel type) {
+        return getEnumAnnotationValue(type, FIELD_ACCESS_PROPERTY, GeneratedFieldAccess.class,
+                GeneratedFieldAccess.REFLECTION);
+    }
+
+    /**
+     * Returns the value of a boolean property of the processed annotation, or {@code defaultValue}
+     * if the annotation does not declare the property.
+     */
+    protected boolean getBooleanAnnotationValue(FieldTypeModel type, String propertyName, boolean defaultValue) {
+        AnnotationValue annotationValue = getAnnotationValue(type, propertyName);
+        if (annotationValue != null && annotationValue.getValue() instanceof Boolean value) {
+            return value;
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * Returns the value of an enum-typed property of the processed annotation, or {@code defaultValue}
+     * if the annotation does not declare the property.
+     */
+    protected <E extends Enum<E>> E getEnumAnnotationValue(FieldTypeModel type, String propertyName, Class<E> enumType,
+                                                           E defaultValue) {
+        AnnotationValue annotationValue = getAnnotationValue(type, propertyName);
+        if (annotationValue != null && annotationValue.getValue() instanceof VariableElement variableElement) {
+            return Enum.valueOf(enumType, variableElement.getSimpleName().toString());
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * Adds a {@code static final VarHandle} constant for each class field which cannot be accessed directly
+     * from the generated type and thus is resolved once at class initialization.
+     */
+    protected void addVarHandleFields(TypeSpec.Builder builder, Element sourceType, List<Element> sourceFields,
+                                      GeneratedFieldAccess fieldAccess) {
+        if (sourceType.getKind() == ElementKind.RECORD || fieldAccess != GeneratedFieldAccess.VAR_HANDLE) {
+            return;
+        }
+
+        sourceFields.stream()
+                .filter(f -> !isDirectlyAccessible(f))
+                .forEach(f -> builder.addField(createVarHandleField(sourceType, f)));
+    }
+
+    /**
+     * Reports an error for each field whose {@code VarHandle} constant would have the name of the constant of
+     * another field, e.g. {@code X_HANDLE} of fields {@code x} and {@code xHandle}, for generated types which
+     * declare a constant named after each field.
+     */
+    protected boolean validateVarHandleNames(FieldTypeModel type, GeneratedFieldAccess fieldAccess) {
+        if (type.element().getKind() == ElementKind.RECORD || fieldAccess != GeneratedFieldAccess.VAR_HANDLE) {
+            return true;
+        }
+
+        Map<String, Element> fieldsByConstantName = new HashMap<>();
+        type.members().forEach(f -> fieldsByConstantName.put(EnumUtil.fieldNameToEnumName(getMemberName(f)), f));
+
+        boolean valid = true;
+        for (Element f : type.members()) {
+            Element other = isDirectlyAccessible(f) ? null : fieldsByConstantName.get(getVarHandleName(f));
+            if (other != null) {
+                error(f, "VarHandle constant " + getVarHandleName(f) + " of field " + getMemberName(f)
+                        + " clashes with the constant of field " + getMemberName(other));
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private FieldSpec createVarHandleField(Element sourceType, Element field) {
+        var typeUtils = processingEnv.getTypeUtils();
+        return FieldSpec.builder(VarHandle.class, getVarHandleName(field), Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L.findVarHandle($T.lookup(), $T.class, $S, $T.class)",
+                        REFLECTION_UTIL,
+                        MethodHandles.class,
+                        TypeName.get(typeUtils.erasure(sourceType.asType())),
+                        getMemberName(field),
+                        TypeName.get(typeUtils.erasure(field.asType())))
+                .build();
+    }
+
+    /**
+     * Generated types are placed in the package of the annotated type, so any non-private field can be
+     * accessed directly without reflection.
+     */
+    protected static boolean isDirectlyAccessible(Element field) {
+        return !field.getModifiers().contains(Modifier.PRIVATE);
+    }
+
+    /**
+     * Returns an expression reading the given class field from {@code instanceName}.
+     */
+    protected static CodeBlock getFieldReadExpression(String instanceName, Element field, GeneratedFieldAccess fieldAccess) {
+        if (isDirectlyAccessible(field)) {
+            return CodeBlock.of("$L.$L", instanceName, getMemberName(field));
+        }
+
+        TypeName fieldType = TypeName.get(field.asType());
+        if (fieldAccess == GeneratedFieldAccess.VAR_HANDLE) {
+            return CodeBlock.of("($T)$L.get($L)", fieldType, getVarHandleName(field), instanceName);
+        }
+
+        if (fieldType.isPrimitive()) {
+            return CodeBlock.of("$L.$L($L, $S)",
+                    REFLECTION_UTIL, getPrimitiveAccessorName("get", fieldType), instanceName, getMemberName(field));
+        }
+
+        return CodeBlock.of("($T)$L.getFieldValue($L, $S)", fieldType, REFLECTION_UTIL, instanceName, getMemberName(field));
+    }
+
+    /**
+     * Returns an expression reading the given member from {@code instanceName}, calling the accessor of record
+     * members and reading class fields like {@link #getFieldReadExpression}.
+     */
+    protected static CodeBlock getValueExpression(String instanceName, Element member, GeneratedFieldAccess fieldAccess) {
+        if (isRecordComponentMember(member) || isRecordMember(member)) {
+            return CodeBlock.of("$L.$L()", instanceName, member.getSimpleName());
+        }
+
+        return getFieldReadExpression(instanceName, member, fieldAccess);
+    }
+
+    /**
+     * Returns an expression writing {@code value} to the given class field of {@code instanceName}.
+     * Final fields can neither be assigned nor written through a {@link VarHandle}, so those always use reflection.
+     */
+    protected static CodeBlock getFieldWriteExpression(String instanceName, Element field, CodeBlock value,
+                                                       GeneratedFieldAccess fieldAccess) {
+        boolean isFinal = field.getModifiers().contains(Modifier.FINAL);
+        if (isDirectlyAccessible(field) && !isFinal) {
+            return CodeBlock.of("$L.$L = $L", instanceName, getMemberName(field), value);
+        }
+
+        if (fieldAccess == GeneratedFieldAccess.VAR_HANDLE && !isFinal) {
+            return CodeBlock.of("$L.set($L, $L)", getVarHandleName(field), instanceName, value);
+        }
+
+        TypeName fieldType = TypeName.get(field.asType());
+        if (fieldType.isPrimitive()) {
+            return CodeBlock.of("$L.$L($L, $S, $L)",
+                    REFLECTION_UTIL, getPrimitiveAccessorName("set", fieldType), instanceName, getMemberName(field), value);
+        }
+
+        return CodeBlock.of("$L.setFieldValue($L, $S, $L)", REFLECTION_UTIL, instanceName, getMemberName(field), value);
+    }
+
+    /**
+     * Returns a condition which is true when the old and new value of the given member differ. Floating point
+     * values are compared like their boxed {@code equals}, so that {@code NaN} equals itself and {@code 0.0}
+     * differs from {@code -0.0}, consistent with reference typed fields compared with {@code Objects.equals}.
+     */
+    protected static CodeBlock getValueChangedExpression(Element field, CodeBlock oldValue, CodeBlock newValue) {
+        TypeName fieldType = TypeName.get(field.asType());
+        if (fieldType.equals(TypeName.DOUBLE)) {
+            return CodeBlock.of("$T.compare($L, $L) != 0", Double.class, oldValue, newValue);
+        }
+        if (fieldType.equals(TypeName.FLOAT)) {
+            return CodeBlock.of("$T.compare($L, $L) != 0", Float.class, oldValue, newValue);
+        }
+        if (fieldType.isPrimitive()) {
+            return CodeBlock.of("$L != $L", oldValue, newValue);
+        }
+        return CodeBlock.of("!$T.equals($L, $L)", Objects.class, oldValue, newValue);
+    }
+
+    /**
+     * Returns the type element of the given type if it is annotated with the given annotation. The annotations
+     * of this library have source retention, so only types of the same compilation are found.
+     */
+    protected static TypeElement getAnnotatedTypeElement(TypeMirror type, Class<? extends Annotation> annotation) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        Element element = ((DeclaredType) type).asElement();
+        return element.getAnnotation(annotation) != null ? (TypeElement) element : null;
+    }
+
+    /**
+     * Returns the name of the type generated for another annotated type, which is placed in the package of
+     * that type like the types generated by this processor.
+     */
+    protected static ClassName getGeneratedClassName(TypeElement type, String generatedName, String defaultPostfix) {
+        return ClassName.get(getPackageName(type), generatedName.isBlank()
+                ? type.getSimpleName() + defaultPostfix
+                : generatedName);
+    }
+
+    /**
+     * Returns whether generated code in the given package can refer to the given type, e.g. in a class literal.
+     * Private nested types, and non-public types of other packages, cannot be referred to.
+     */
+    protected static boolean isAccessibleFrom(TypeMirror type, String packageName) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return isAccessibleFrom(((ArrayType) type).getComponentType(), packageName);
+        }
+
+        if (type.getKind() != TypeKind.DECLARED) {
+            return true;
+        }
+
+        Element element = ((DeclaredType) type).asElement();
+        while (element.getKind() != ElementKind.PACKAGE) {
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (!modifiers.contains(Modifier.PUBLIC) && !getPackageName(element).equals(packageName)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns an expression evaluating to the erased {@code Class} of the given member of the annotated type. Types
+     * which the generated code cannot refer to are resolved from the declared field at runtime.
+     */
+    protected CodeBlock getFieldTypeExpression(FieldTypeModel type, Element field) {
+        var typeUtils = processingEnv.getTypeUtils();
+        TypeMirror fieldType = typeUtils.erasure(field.asType());
+        if (isAccessibleFrom(fieldType, type.packageName())) {
+            return CodeBlock.of("$T.class", TypeName.get(fieldType));
+        }
+
+        TypeMirror sourceType = typeUtils.erasure(type.element().asType());
+        if (!isAccessibleFrom(sourceType, type.packageName())) {
+            error(field, "Type " + fieldType + " is not accessible from package " + type.packageName());
+        }
+
+        return CodeBlock.of("$L.getFieldType($T.class, $S)", REFLECTION_UTIL, TypeName.get(sourceType),
+                getMemberName(field));
+    }
+
+    private static String getPackageName(Element element) {
+        Element enclosing = element.getEnclosingElement();
+        while (enclosing.getKind() != ElementKind.PACKAGE) {
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        return ((PackageElement) enclosing).getQualifiedName().toString();
+    }
+
+    /**
+     * Returns whether generated code can create instances of the given type, i.e. it is a record or a
+     * non-abstract class with a non-private no-argument constructor.
+     */
+    protected static boolean isInstantiable(TypeElement type) {
+        if (type.getKind() == ElementKind.RECORD) {
+            return true;
+        }
+
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+
+        return ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+    }
+
+    /**
+     * Returns the default value of fields of the given type, e.g. for record components missing from input.
+     */
+    protected static CodeBlock getDefaultValue(TypeName typeName) {
+        if (typeName.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("false");
+        }
+        if (typeName.equals(TypeName.CHAR)) {
+            return CodeBlock.of("'\\0'");
+        }
+        if (typeName.equals(TypeName.LONG)) {
+            return CodeBlock.of("0L");
+        }
+        if (typeName.equals(TypeName.FLOAT)) {
+            return CodeBlock.of("0F");
+        }
+        if (typeName.equals(TypeName.DOUBLE)) {
+            return CodeBlock.of("0D");
+        }
+        return CodeBlock.of(typeName.isPrimitive() ? "0" : "null");
+    }
+
+    /**
+     * Returns the narrowest integer type holding the ordinals of the given enum type and -1 for {@code null}, for
+     * storing enums in fixed-width fields.
+     */
+    protected static TypeName getOrdinalType(TypeMirror enumType) {
+        long constantCount = ((DeclaredType) enumType).asElement().getEnclosedElements().stream()
+                .filter(e -> e.getKind() == ElementKind.ENUM_CONSTANT)
+                .count();
+        if (constantCount <= Byte.MAX_VALUE + 1) {
+            return TypeName.BYTE;
+        }
+        return constantCount <= Short.MAX_VALUE + 1 ? TypeName.SHORT : TypeName.INT;
+    }
+
+    /**
+     * Returns the name of the non-boxing {@code FieldGenReflectionUtil} accessor for a primitive type,
+     * e.g. {@code getIntFieldValue}.
+     */
+    private static String getPrimitiveAccessorName(String prefix, TypeName primitiveType) {
+        return prefix + capitalize(primitiveType.toString()) + "FieldValue";
+    }
+
+    protected static String getVarHandleName(Element field) {
+        return EnumUtil.fieldNameToEnumName(getMemberName(field)) + "_HANDLE";
+    }
 
     protected static String capitalize(String string) {
         return string.substring(0, 1).toUpperCase() + string.substring(1);
@@ -140,33 +470,8 @@ public abstract class AbstractFieldProcessor extends AbstractProcessor {
         return enclosing != null && enclosing.getKind() == ElementKind.RECORD;
     }
 
-    private AnnotationValue getAnnotationValue(Element element, String propertyName) {
-        AnnotationMirror annotationMirror = getAnnotationMirror(element);
-        if (annotationMirror == null) {
-            return null;
-        }
-
-        Map<? extends ExecutableElement, ? extends AnnotationValue> values =
-                processingEnv.getElementUtils().getElementValuesWithDefaults(annotationMirror);
-
-        return values.entrySet().stream()
-                .filter(entry -> entry.getKey().getSimpleName().contentEquals(propertyName))
-                .map(Map.Entry::getValue)
-                .findFirst()
-                .orElse(null);
-    }
-
-    private AnnotationMirror getAnnotationMirror(Element element) {
-        return element.getAnnotationMirrors().stream()
-                .filter(mirror -> {
-                    Element annotationElement = mirror.getAnnotationType().asElement();
-                    if (!(annotationElement instanceof TypeElement typeElement)) {
-                        return false;
-                    }
-                    return typeElement.getQualifiedName().contentEquals(annotationClass.getCanonicalName());
-                })
-                .findFirst()
-                .orElse(null);
+    private AnnotationValue getAnnotationValue(FieldTypeModel type, String propertyName) {
+        return type.getAnnotationValue(getAnnotationName(), propertyName);
     }
 
     private static boolean isValidGeneratedTypeName(String generatedName) {
@@ -196,21 +501,16 @@ public abstract class AbstractFieldProcessor extends AbstractProcessor {
                 || kind == ElementKind.RECORD;
     }
 
-    private static List<Element> getSourceMembers(Element sourceType) {
-        if (sourceType.getKind() == ElementKind.RECORD) {
-            return sourceType.getEnclosedElements().stream()
-                    .filter(e -> e.getKind() == ElementKind.RECORD_COMPONENT)
-                    .collect(Collectors.toList());
-        }
+    protected abstract TypeSpec.Builder process(FieldTypeModel type);
 
-        return sourceType.getEnclosedElements().stream()
-                .filter(e -> e.getKind() == ElementKind.FIELD)
-                .filter(e -> !e.getModifiers().contains(Modifier.STATIC))
-                .collect(Collectors.toList());
+    /**
+     * Returns all types generated from the annotated type, each written to its own file. By default this is
+     * only the type returned by {@link #process(FieldTypeModel)}.
+     */
+    protected List<TypeSpec.Builder> processAll(FieldTypeModel type) {
+        return List.of(process(type));
     }
 
-    protected abstract TypeSpec.Builder process(Element element, List<Element> sourceFields);
-
     @Override
     public SourceVersion getSupportedSourceVersion() {
         return SourceVersion.latestSupported();
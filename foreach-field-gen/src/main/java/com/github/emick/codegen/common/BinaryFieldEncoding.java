@@ -0,0 +1,164 @@
+package com.github.emick.codegen.common;
+
+import com.github.emick.codegen.util.BinaryCodecUtil;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.TypeName;
+
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.Map;
+
+/**
+ * Code for writing member values to and reading them from a {@link java.nio.ByteBuffer} in generated binary codecs.
+ * <p>
+ * Primitives are written with the matching {@code ByteBuffer} method, {@code boolean} as a single byte. Boxed
+ * primitives are prefixed with a byte telling whether the value is {@code null}. Strings and enums are written by
+ * {@link BinaryCodecUtil}. Other types are not supported.
+ */
+public class BinaryFieldEncoding {
+
+    private static final Map<TypeName, String> BUFFER_METHOD_SUFFIXES = Map.of(
+            TypeName.BOOLEAN, "",
+            TypeName.BYTE, "",
+            TypeName.CHAR, "Char",
+            TypeName.SHORT, "Short",
+            TypeName.INT, "Int",
+            TypeName.LONG, "Long",
+            TypeName.FLOAT, "Float",
+            TypeName.DOUBLE, "Double");
+
+    private static final Map<TypeName, Integer> WIDTHS = Map.of(
+            TypeName.BOOLEAN, 1,
+            TypeName.BYTE, 1,
+            TypeName.CHAR, 2,
+            TypeName.SHORT, 2,
+            TypeName.INT, 4,
+            TypeName.LONG, 8,
+            TypeName.FLOAT, 4,
+            TypeName.DOUBLE, 8);
+
+    public static boolean isSupported(TypeMirror type) {
+        TypeName typeName = TypeName.get(type);
+        return typeName.isPrimitive()
+                || typeName.isBoxedPrimitive()
+                || typeName.equals(TypeName.get(String.class))
+                || isEnum(type);
+    }
+
+    /**
+     * Returns statements writing the value of variable {@code valueName} to {@code bufferName}.
+     */
+    public static CodeBlock getWriteStatements(TypeMirror type, String bufferName, String valueName) {
+        TypeName typeName = TypeName.get(type);
+        if (typeName.isPrimitive()) {
+            return CodeBlock.builder()
+                    .addStatement(getPrimitiveWriteExpression(typeName, bufferName, valueName))
+                    .build();
+        }
+
+        if (typeName.isBoxedPrimitive()) {
+            return CodeBlock.builder()
+                    .beginControlFlow("if ($L == null)", valueName)
+                    .addStatement("$L.put((byte) 0)", bufferName)
+                    .nextControlFlow("else")
+                    .addStatement("$L.put((byte) 1)", bufferName)
+                    .addStatement(getPrimitiveWriteExpression(typeName.unbox(), bufferName, valueName))
+                    .endControlFlow()
+                    .build();
+        }
+
+        String method = isEnum(type) ? "putEnum" : "putString";
+        return CodeBlock.builder()
+                .addStatement("$T.$L($L, $L)", BinaryCodecUtil.class, method, bufferName, valueName)
+                .build();
+    }
+
+    /**
+     * Returns an expression reading a value of the given type from {@code bufferName}.
+     */
+    public static CodeBlock getReadExpression(TypeMirror type, String bufferName) {
+        TypeName typeName = TypeName.get(type);
+        if (typeName.isPrimitive()) {
+            return getPrimitiveReadExpression(typeName, bufferName);
+        }
+
+        if (typeName.isBoxedPrimitive()) {
+            return CodeBlock.of("$L.get() == 0 ? null : $L", bufferName,
+                    getPrimitiveReadExpression(typeName.unbox(), bufferName));
+        }
+
+        if (isEnum(type)) {
+            return CodeBlock.of("$T.getEnum($L, $T.class)", BinaryCodecUtil.class, bufferName, typeName);
+        }
+
+        return CodeBlock.of("$T.getString($L)", BinaryCodecUtil.class, bufferName);
+    }
+
+    /**
+     * Returns an expression reading a value of the given type from {@code bufferName} at the index in variable
+     * {@code indexName}, without changing the position of the buffer.
+     */
+    public static CodeBlock getReadExpression(TypeMirror type, String bufferName, String indexName) {
+        TypeName typeName = TypeName.get(type);
+        if (typeName.isPrimitive()) {
+            return getPrimitiveReadExpression(typeName, bufferName, CodeBlock.of("$L", indexName));
+        }
+
+        if (typeName.isBoxedPrimitive()) {
+            return CodeBlock.of("$L.get($L) == 0 ? null : $L", bufferName, indexName,
+                    getPrimitiveReadExpression(typeName.unbox(), bufferName, CodeBlock.of("$L + 1", indexName)));
+        }
+
+        if (isEnum(type)) {
+            return CodeBlock.of("$T.getEnum($L, $L, $T.class)", BinaryCodecUtil.class, bufferName, indexName, typeName);
+        }
+
+        return CodeBlock.of("$T.getString($L, $L)", BinaryCodecUtil.class, bufferName, indexName);
+    }
+
+    /**
+     * Returns the suffix of the {@code ByteBuffer} methods reading and writing a primitive type, e.g. {@code Int}
+     * for {@code getInt}. Booleans are stored in a byte, so their suffix is that of {@code get} and {@code put}.
+     */
+    public static String getBufferMethodSuffix(TypeName primitiveType) {
+        return BUFFER_METHOD_SUFFIXES.get(primitiveType);
+    }
+
+    /**
+     * Returns the number of bytes a primitive type takes in a {@code ByteBuffer}.
+     */
+    public static int getWidth(TypeName primitiveType) {
+        return WIDTHS.get(primitiveType);
+    }
+
+    public static boolean isEnum(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM;
+    }
+
+    private static CodeBlock getPrimitiveWriteExpression(TypeName primitiveType, String bufferName, String valueName) {
+        if (primitiveType.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("$L.put((byte) ($L ? 1 : 0))", bufferName, valueName);
+        }
+
+        return CodeBlock.of("$L.put$L($L)", bufferName, BUFFER_METHOD_SUFFIXES.get(primitiveType), valueName);
+    }
+
+    private static CodeBlock getPrimitiveReadExpression(TypeName primitiveType, String bufferName) {
+        if (primitiveType.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("$L.get() != 0", bufferName);
+        }
+
+        return CodeBlock.of("$L.get$L()", bufferName, BUFFER_METHOD_SUFFIXES.get(primitiveType));
+    }
+
+    private static CodeBlock getPrimitiveReadExpression(TypeName primitiveType, String bufferName, CodeBlock index) {
+        if (primitiveType.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("$L.get($L) != 0", bufferName, index);
+        }
+
+        return CodeBlock.of("$L.get$L($L)", bufferName, BUFFER_METHOD_SUFFIXES.get(primitiveType), index);
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.emick.codegen.common;
+
+import com.github.emick.codegen.binary.GenerateBinaryCodecAnnotationProcessor;
+import com.github.emick.codegen.columnar.GenerateColumnarFileAnnotationProcessor;
+import com.github.emick.codegen.delta.GenerateDeltaCodecAnnotationProcessor;
+import com.github.emick.codegen.fielddiff.GenerateFieldDiffAnnotationProcessor;
+import com.github.emick.codegen.fieldenum.GenerateFieldEnumAnnotationProcessor;
+import com.github.emick.codegen.fieldnames.GenerateFieldNamesAnnotationProcessor;
+import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitorAnnotationProcessor;
+import com.github.emick.codegen.json.GenerateJsonCodecAnnotationProcessor;
+import com.github.emick.codegen.lazy.GenerateLazyViewAnnotationProcessor;
+import com.github.emick.codegen.offheap.GenerateOffHeapViewAnnotationProcessor;
+import com.github.emick.codegen.transform.GenerateTransformMapperAnnotationProcessor;
+import com.google.auto.service.AutoService;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Annotation processor for all annotations of this library.
+ * <p>
+ * Each annotated type is scanned once per round into a {@link FieldTypeModel}, which is then passed to the
+ * processor of each annotation present on the type. The individual processors can still be used on their own,
+ * e.g. in tests.
+ */
+@AutoService(Processor.class)
+public class FieldGenAnnotationProcessor extends AbstractProcessor {
+
+    private final List<AbstractFieldProcessor> processors = List.of(
+            new GenerateFieldEnumAnnotationProcessor(),
+            new GenerateFieldNamesAnnotationProcessor(),
+            new GenerateFieldVisitorAnnotationProcessor(),
+            new GenerateTransformMapperAnnotationProcessor(),
+            new GenerateFieldDiffAnnotationProcessor(),
+            new GenerateDeltaCodecAnnotationProcessor(),
+            new GenerateBinaryCodecAnnotationProcessor(),
+            new GenerateJsonCodecAnnotationProcessor(),
+            new GenerateOffHeapViewAnnotationProcessor(),
+            new GenerateColumnarFileAnnotationProcessor(),
+            new GenerateLazyViewAnnotationProcessor());
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        processors.forEach(processor -> processor.init(processingEnv));
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<Element> annotatedElements = new LinkedHashSet<>();
+        annotations.forEach(annotation -> annotatedElements.addAll(roundEnv.getElementsAnnotatedWith(annotation)));
+
+        for (Element element : annotatedElements) {
+            var type = FieldTypeModel.of(element, processingEnv.getElementUtils(), getSupportedAnnotationTypes());
+            processors.stream()
+                    .filter(processor -> type.isAnnotatedWith(processor.getAnnotationName()))
+                    .forEach(processor -> processor.generate(type));
+        }
+        return true; // Annotations are claimed
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return processors.stream()
+                .map(AbstractFieldProcessor::getAnnotationName)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
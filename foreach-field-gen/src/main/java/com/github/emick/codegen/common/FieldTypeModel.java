@@ -0,0 +1,100 @@
+package com.github.emick.codegen.common;
+
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable model of an annotated type, built once per round and shared by all generators processing the type.
+ *
+ * @param element                the annotated type
+ * @param packageName            the package of the annotated type, or {@code null} if it is not a top-level type
+ * @param members                the instance fields of a class or the components of a record
+ * @param hasFieldNameConflicts  whether some member names differ only by case
+ * @param annotationValues       the values of the processed annotations present on the type, including defaults,
+ *                               by annotation name and property name
+ */
+public record FieldTypeModel(Element element,
+                             String packageName,
+                             List<Element> members,
+                             boolean hasFieldNameConflicts,
+                             Map<String, Map<String, AnnotationValue>> annotationValues) {
+
+    public FieldTypeModel {
+        members = List.copyOf(members);
+        annotationValues = Map.copyOf(annotationValues);
+    }
+
+    /**
+     * Creates the model of an annotated type, resolving the values of the given annotations if present.
+     */
+    public static FieldTypeModel of(Element element, Elements elementUtils, Set<String> annotationNames) {
+        Element enclosing = element.getEnclosingElement();
+        String packageName = enclosing.getKind() == ElementKind.PACKAGE
+                ? ((PackageElement) enclosing).getQualifiedName().toString()
+                : null;
+
+        List<Element> members = getSourceMembers(element);
+
+        Map<String, Map<String, AnnotationValue>> annotationValues = new HashMap<>();
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            String annotationName = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+            if (annotationNames.contains(annotationName)) {
+                annotationValues.put(annotationName, getElementValuesWithDefaults(elementUtils, mirror));
+            }
+        }
+
+        return new FieldTypeModel(element, packageName, members, hasFieldNameConflicts(members), annotationValues);
+    }
+
+    public boolean isAnnotatedWith(String annotationName) {
+        return annotationValues.containsKey(annotationName);
+    }
+
+    /**
+     * Returns the value of an annotation property, or {@code null} if the annotation is not present or does
+     * not declare the property.
+     */
+    public AnnotationValue getAnnotationValue(String annotationName, String propertyName) {
+        Map<String, AnnotationValue> values = annotationValues.get(annotationName);
+        return values == null ? null : values.get(propertyName);
+    }
+
+    private static Map<String, AnnotationValue> getElementValuesWithDefaults(Elements elementUtils,
+                                                                            AnnotationMirror mirror) {
+        return elementUtils.getElementValuesWithDefaults(mirror).entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        entry -> entry.getKey().getSimpleName().toString(),
+                        Map.Entry::getValue));
+    }
+
+    private static List<Element> getSourceMembers(Element sourceType) {
+        if (sourceType.getKind() == ElementKind.RECORD) {
+            return sourceType.getEnclosedElements().stream()
+                    .filter(e -> e.getKind() == ElementKind.RECORD_COMPONENT)
+                    .collect(Collectors.toList());
+        }
+
+        return sourceType.getEnclosedElements().stream()
+                .filter(e -> e.getKind() == ElementKind.FIELD)
+                .filter(e -> !e.getModifiers().contains(Modifier.STATIC))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean hasFieldNameConflicts(List<Element> sourceFields) {
+        var nameSet = sourceFields.stream()
+                .map(el -> el.getSimpleName().toString().toUpperCase())
+                .collect(Collectors.toSet());
+        return nameSet.size() != sourceFields.size();
+    }
+}
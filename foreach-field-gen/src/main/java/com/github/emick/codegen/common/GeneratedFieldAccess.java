@@ -0,0 +1,17 @@
+package com.github.emick.codegen.common;
+
+/**
+ * Strategy used by generated code to read and write fields of annotated classes.
+ * Records are always accessed through their component accessors.
+ */
+public enum GeneratedFieldAccess {
+    /**
+     * Each access goes through {@code FieldGenReflectionUtil}.
+     */
+    REFLECTION,
+    /**
+     * Each field is resolved once to a {@code static final VarHandle} in the generated type,
+     * allowing the JIT to inline the access.
+     */
+    VAR_HANDLE
+}
@@ -0,0 +1,36 @@
+package com.github.emick.codegen.delta;
+
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.common.GeneratedVisibility;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * For each class or record annotated with this annotation, a class with type name
+ * postfixed with "DeltaCodec" is generated. The generated class writes the fields changed
+ * between two instances to a {@link java.nio.ByteBuffer} and applies them to another instance.
+ *
+ * <p> E.g. for class {@code MyClass}, {@code long encode(MyClass previous, MyClass current, ByteBuffer buffer)}
+ * writes a header with a bit per changed field, followed by the changed values of {@code current}, and
+ * {@code long decode(ByteBuffer buffer, MyClass target)} assigns the changed values to the fields of
+ * {@code target}. Records are immutable, so for records {@code MyRecord decode(ByteBuffer buffer, MyRecord base)}
+ * returns a copy of {@code base} with the changed components instead. Fields are compared like with
+ * {@link com.github.emick.codegen.fielddiff.GenerateFieldDiff}, and bit {@code i} of the header stands for
+ * the field with ordinal {@code i} in declaration order.
+ *
+ * <p> The header is a {@code byte}, {@code short}, {@code int} or {@code long} depending on the number of
+ * fields, so the annotated type may have at most 64 fields/components. Supported field types are primitives,
+ * boxed primitives, {@link String} and enums, see {@link com.github.emick.codegen.common.BinaryFieldEncoding}.
+ * Enums are written by ordinal, so both sides must have the same enum constants. Private fields are accessed through
+ * a {@link java.lang.invoke.VarHandle} unless {@link #fieldAccess()} is {@code REFLECTION}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateDeltaCodec {
+    String generatedName() default "";
+    GeneratedVisibility visibility() default GeneratedVisibility.PUBLIC;
+    GeneratedFieldAccess fieldAccess() default GeneratedFieldAccess.VAR_HANDLE;
+}
@@ -0,0 +1,185 @@
+package com.github.emick.codegen.delta;
+
+import com.github.emick.codegen.common.AbstractFieldProcessor;
+import com.github.emick.codegen.common.BinaryFieldEncoding;
+import com.github.emick.codegen.common.FieldTypeModel;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Annotation processor for {@link GenerateDeltaCodec}.
+ */
+public class GenerateDeltaCodecAnnotationProcessor extends AbstractFieldProcessor {
+
+    private static final int MAX_FIELDS = Long.SIZE;
+
+    public GenerateDeltaCodecAnnotationProcessor() {
+        super(GenerateDeltaCodec.class);
+    }
+
+    @Override
+    protected List<TypeSpec.Builder> processAll(FieldTypeModel type) {
+        if (type.members().size() > MAX_FIELDS) {
+            error(type.element(), "@" + GenerateDeltaCodec.class.getSimpleName() + " supports at most "
+                    + MAX_FIELDS + " fields");
+            return List.of();
+        }
+
+        List<Element> unsupportedFields = type.members().stream()
+                .filter(f -> !BinaryFieldEncoding.isSupported(f.asType()))
+                .toList();
+        unsupportedFields.forEach(f -> error(f, "Type " + f.asType() + " is not supported by @"
+                + GenerateDeltaCodec.class.getSimpleName()));
+        if (!unsupportedFields.isEmpty()) {
+            return List.of();
+        }
+
+        return super.processAll(type);
+    }
+
+    @Override
+    protected TypeSpec.Builder process(FieldTypeModel type) {
+        Element element = type.element();
+        List<Element> sourceFields = type.members();
+
+        String generatedTypeName = getGeneratedTypeName(type, element.getSimpleName() + "DeltaCodec");
+        TypeSpec.Builder codecBuilder = TypeSpec.classBuilder(generatedTypeName)
+                .addModifiers(Modifier.FINAL);
+        if (isPublicGeneratedType(type)) {
+            codecBuilder.addModifiers(Modifier.PUBLIC);
+        }
+
+        var elementType = TypeName.get(element.asType());
+        var fieldAccess = getFieldAccess(type);
+        var header = Header.of(sourceFields.size());
+
+        addVarHandleFields(codecBuilder, element, sourceFields, fieldAccess);
+
+        codecBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .build());
+        codecBuilder.addMethod(createEncodeMethod(elementType, sourceFields, fieldAccess, header));
+        if (element.getKind() == ElementKind.RECORD) {
+            codecBuilder.addMethod(createRecordDecodeMethod(elementType, sourceFields, header));
+        } else {
+            codecBuilder.addMethod(createDecodeMethod(elementType, sourceFields, fieldAccess, header));
+        }
+
+        return codecBuilder;
+    }
+
+    private static MethodSpec createEncodeMethod(TypeName elementType, List<Element> fields,
+                                                 GeneratedFieldAccess fieldAccess, Header header) {
+        var method = MethodSpec.methodBuilder("encode")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(TypeName.LONG)
+                .addParameter(elementType, "previous")
+                .addParameter(elementType, "current")
+                .addParameter(ByteBuffer.class, "buffer")
+                // The header is written last, when the changed fields are known
+                .addStatement("int headerPosition = buffer.position()")
+                .addStatement("buffer.position(headerPosition + $L)", header.bytes)
+                .addStatement("long changed = 0L");
+
+        for (int i = 0; i < fields.size(); i++) {
+            Element f = fields.get(i);
+            String currentName = "current" + capitalize(getMemberName(f));
+            method.addStatement("$T $L = $L", TypeName.get(f.asType()), currentName,
+                            getValueExpression("current", f, fieldAccess))
+                    .beginControlFlow("if ($L)", getValueChangedExpression(f,
+                            getValueExpression("previous", f, fieldAccess), CodeBlock.of(currentName)))
+                    .addStatement("changed |= $L", getBit(i))
+                    .addCode(BinaryFieldEncoding.getWriteStatements(f.asType(), "buffer", currentName))
+                    .endControlFlow();
+        }
+
+        return method.addStatement(header.write)
+                .addStatement("return changed")
+                .build();
+    }
+
+    private static MethodSpec createDecodeMethod(TypeName elementType, List<Element> fields,
+                                                 GeneratedFieldAccess fieldAccess, Header header) {
+        var method = MethodSpec.methodBuilder("decode")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(TypeName.LONG)
+                .addParameter(ByteBuffer.class, "buffer")
+                .addParameter(elementType, "target")
+                .addStatement("long changed = $L", header.read);
+
+        for (int i = 0; i < fields.size(); i++) {
+            Element f = fields.get(i);
+            method.beginControlFlow("if ((changed & ($L)) != 0L)", getBit(i))
+                    .addStatement("$L", getFieldWriteExpression("target", f,
+                            BinaryFieldEncoding.getReadExpression(f.asType(), "buffer"), fieldAccess))
+                    .endControlFlow();
+        }
+
+        return method.addStatement("return changed").build();
+    }
+
+    /**
+     * Constructor arguments are evaluated from left to right, so the changed values are read in the order
+     * they were written.
+     */
+    private static MethodSpec createRecordDecodeMethod(TypeName elementType, List<Element> fields, Header header) {
+        var method = MethodSpec.methodBuilder("decode")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(elementType)
+                .addParameter(ByteBuffer.class, "buffer")
+                .addParameter(elementType, "base")
+                .addStatement("long changed = $L", header.read);
+
+        CodeBlock.Builder arguments = CodeBlock.builder();
+        for (int i = 0; i < fields.size(); i++) {
+            Element f = fields.get(i);
+            arguments.add(i == 0 ? "\n" : ",\n")
+                    .add("(changed & ($L)) != 0L ? ($L) : base.$L()", getBit(i),
+                            BinaryFieldEncoding.getReadExpression(f.asType(), "buffer"), f.getSimpleName());
+        }
+
+        return method.addStatement("return new $T($>$L$<)", elementType, arguments.build()).build();
+    }
+
+    private static CodeBlock getBit(int ordinal) {
+        return CodeBlock.of("1L << $L", ordinal);
+    }
+
+    /**
+     * The smallest header holding a bit per field, written at the reserved position and read as an unsigned value.
+     */
+    private enum Header {
+        BYTE(Byte.BYTES, "buffer.put(headerPosition, (byte) changed)", "buffer.get() & 0xFFL"),
+        SHORT(Short.BYTES, "buffer.putShort(headerPosition, (short) changed)", "buffer.getShort() & 0xFFFFL"),
+        INT(Integer.BYTES, "buffer.putInt(headerPosition, (int) changed)", "buffer.getInt() & 0xFFFFFFFFL"),
+        LONG(Long.BYTES, "buffer.putLong(headerPosition, changed)", "buffer.getLong()");
+
+        private final int bytes;
+        private final String write;
+        private final String read;
+
+        Header(int bytes, String write, String read) {
+            this.bytes = bytes;
+            this.write = write;
+            this.read = read;
+        }
+
+        static Header of(int fieldCount) {
+            for (Header header : values()) {
+                if (fieldCount <= header.bytes * Byte.SIZE) {
+                    return header;
+                }
+            }
+            throw new IllegalArgumentException("Too many fields for a header: " + fieldCount);
+        }
+    }
+}
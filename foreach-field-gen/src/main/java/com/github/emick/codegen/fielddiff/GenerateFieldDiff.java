@@ -0,0 +1,38 @@
+package com.github.emick.codegen.fielddiff;
+
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.common.GeneratedVisibility;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * For each class or record annotated with this annotation, a class with type name
+ * postfixed with "FieldDiff" is generated. The generated class compares two instances
+ * field by field and returns the changed fields as a {@code long} bitmask.
+ *
+ * <p> E.g. for class {@code MyClass} with fields {@code date} and {@code count}, a class
+ * {@code MyClassFieldDiff} is generated with a method {@code static long diff(MyClass a, MyClass b)}
+ * and bit constants {@code DATE} and {@code COUNT}. Bit {@code i} is set when the field with ordinal
+ * {@code i} (in declaration order, like the {@link com.github.emick.codegen.fieldenum.GenerateFieldEnum}
+ * enum values) differs. Primitive fields are compared with {@code ==}, except floating point fields
+ * which are compared with {@link Double#compare(double, double)} like their boxed {@code equals}, and
+ * other fields with {@link java.util.Objects#equals(Object, Object)}. Comparing does not allocate, and private
+ * fields are read through a {@link java.lang.invoke.VarHandle} unless {@link #fieldAccess()} is {@code REFLECTION}.
+ *
+ * <p> {@code static long diff(MyClass a, MyClass b, Listener listener)} additionally calls the listener
+ * for each changed field with the old value of {@code a} and the new value of {@code b}, e.g.
+ * {@code dateChanged(Date oldValue, Date newValue)}. The listener methods have empty default
+ * implementations, so only the interesting fields need to be implemented.
+ *
+ * <p> The bitmask limits the annotated type to at most 64 fields/components.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateFieldDiff {
+    String generatedName() default "";
+    GeneratedVisibility visibility() default GeneratedVisibility.PUBLIC;
+    GeneratedFieldAccess fieldAccess() default GeneratedFieldAccess.VAR_HANDLE;
+}
@@ -0,0 +1,146 @@
+package com.github.emick.codegen.fielddiff;
+
+import com.github.emick.codegen.common.AbstractFieldProcessor;
+import com.github.emick.codegen.common.FieldTypeModel;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.fieldenum.EnumUtil;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.Modifier;
+import java.util.List;
+
+/**
+ * Annotation processor for {@link GenerateFieldDiff}.
+ */
+public class GenerateFieldDiffAnnotationProcessor extends AbstractFieldProcessor {
+
+    private static final int MAX_FIELDS = Long.SIZE;
+
+    public GenerateFieldDiffAnnotationProcessor() {
+        super(GenerateFieldDiff.class);
+    }
+
+    @Override
+    protected List<TypeSpec.Builder> processAll(FieldTypeModel type) {
+        if (type.members().size() > MAX_FIELDS) {
+            error(type.element(), "@" + GenerateFieldDiff.class.getSimpleName() + " supports at most "
+                    + MAX_FIELDS + " fields");
+            return List.of();
+        }
+
+        if (!validateVarHandleNames(type, getFieldAccess(type))) {
+            return List.of();
+        }
+
+        return super.processAll(type);
+    }
+
+    @Override
+    protected TypeSpec.Builder process(FieldTypeModel type) {
+        Element element = type.element();
+        List<Element> sourceFields = type.members();
+
+        String generatedTypeName = getGeneratedTypeName(type, element.getSimpleName() + "FieldDiff");
+        TypeSpec.Builder diffBuilder = TypeSpec.classBuilder(generatedTypeName)
+                .addModifiers(Modifier.FINAL);
+        if (isPublicGeneratedType(type)) {
+            diffBuilder.addModifiers(Modifier.PUBLIC);
+        }
+
+        var elementType = TypeName.get(element.asType());
+        var listenerType = ClassName.get(type.packageName(), generatedTypeName, "Listener");
+        var fieldAccess = getFieldAccess(type);
+
+        for (int i = 0; i < sourceFields.size(); i++) {
+            diffBuilder.addField(FieldSpec.builder(TypeName.LONG, getBitConstantName(sourceFields.get(i)),
+                            Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("1L << $L", i)
+                    .build());
+        }
+
+        addVarHandleFields(diffBuilder, element, sourceFields, fieldAccess);
+
+        diffBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .build());
+        diffBuilder.addMethod(createDiffMethod(elementType, sourceFields, fieldAccess));
+        diffBuilder.addMethod(createListenerDiffMethod(elementType, listenerType, sourceFields, fieldAccess));
+        diffBuilder.addType(createListenerType(listenerType, sourceFields));
+
+        return diffBuilder;
+    }
+
+    private static MethodSpec createDiffMethod(TypeName elementType, List<Element> fields,
+                                               GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("diff")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(TypeName.LONG)
+                .addParameter(elementType, "a")
+                .addParameter(elementType, "b")
+                .addStatement("long changed = 0L");
+
+        fields.forEach(f -> method
+                .beginControlFlow("if ($L)", getValueChangedExpression(f,
+                        getValueExpression("a", f, fieldAccess),
+                        getValueExpression("b", f, fieldAccess)))
+                .addStatement("changed |= $L", getBitConstantName(f))
+                .endControlFlow());
+
+        return method.addStatement("return changed").build();
+    }
+
+    /**
+     * Like {@code diff(a, b)}, but reads each field into locals once so the listener gets the compared values.
+     */
+    private static MethodSpec createListenerDiffMethod(TypeName elementType, TypeName listenerType,
+                                                       List<Element> fields, GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("diff")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(TypeName.LONG)
+                .addParameter(elementType, "a")
+                .addParameter(elementType, "b")
+                .addParameter(listenerType, "listener")
+                .addStatement("long changed = 0L");
+
+        fields.forEach(f -> {
+            TypeName fieldType = TypeName.get(f.asType());
+            String oldName = "old" + capitalize(getMemberName(f));
+            String newName = "new" + capitalize(getMemberName(f));
+            method.addStatement("$T $L = $L", fieldType, oldName, getValueExpression("a", f, fieldAccess))
+                    .addStatement("$T $L = $L", fieldType, newName, getValueExpression("b", f, fieldAccess))
+                    .beginControlFlow("if ($L)", getValueChangedExpression(f, CodeBlock.of(oldName), CodeBlock.of(newName)))
+                    .addStatement("changed |= $L", getBitConstantName(f))
+                    .addStatement("listener.$L($L, $L)", getListenerMethodName(f), oldName, newName)
+                    .endControlFlow();
+        });
+
+        return method.addStatement("return changed").build();
+    }
+
+    private static TypeSpec createListenerType(ClassName listenerType, List<Element> fields) {
+        TypeSpec.Builder listenerBuilder = TypeSpec.interfaceBuilder(listenerType)
+                .addModifiers(Modifier.PUBLIC);
+
+        fields.forEach(f -> listenerBuilder.addMethod(MethodSpec.methodBuilder(getListenerMethodName(f))
+                .addModifiers(Modifier.PUBLIC, Modifier.DEFAULT)
+                .addParameter(TypeName.get(f.asType()), "oldValue")
+                .addParameter(TypeName.get(f.asType()), "newValue")
+                .build()));
+
+        return listenerBuilder.build();
+    }
+
+    private static String getBitConstantName(Element element) {
+        return EnumUtil.fieldNameToEnumName(getMemberName(element));
+    }
+
+    private static String getListenerMethodName(Element element) {
+        return getMemberName(element) + "Changed";
+    }
+}
@@ -2,12 +2,12 @@ package com.github.emick.codegen.fieldenum;
 
 import java.util.regex.Pattern;
 
-class EnumUtil {
+public class EnumUtil {
 
     private static final Pattern wordSplit = Pattern.compile("(\\p{javaLowerCase})(\\p{javaUpperCase})");
     private static final Pattern abbreviation = Pattern.compile("(\\p{javaUpperCase}+)(\\p{javaUpperCase})");
 
-    static String fieldNameToEnumName(String fieldName) {
+    public static String fieldNameToEnumName(String fieldName) {
         // Add _ after each abbreviation such as XML or IO, e.g. myXMLFormatter
         String first = abbreviation.matcher(fieldName)
                 .replaceAll("$1_$2");
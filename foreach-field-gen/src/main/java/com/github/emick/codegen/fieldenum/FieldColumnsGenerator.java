@@ -0,0 +1,246 @@
+package com.github.emick.codegen.fieldenum;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Generates the struct-of-arrays companion of a field enum, see {@link GenerateFieldEnum#columns()}.
+ * <p>
+ * Each field is stored in its own array, in the order of the enum values, so primitive fields are stored without
+ * object headers or references, and a scan over one column reads consecutive memory. Instances are only created
+ * when a row is materialized with {@code get(index)}.
+ */
+class FieldColumnsGenerator {
+
+    /**
+     * A field of the annotated type, with its name capitalized for accessor names and the code reading its value
+     * from {@code value} and assigning a value to {@code target}.
+     */
+    record Column(String name, String capitalizedName, TypeName type, CodeBlock valueExpression,
+                  Function<CodeBlock, CodeBlock> assignment) {
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final ClassName columnsType;
+    private final TypeName elementType;
+    private final List<Column> columns;
+
+    FieldColumnsGenerator(ClassName columnsType, TypeName elementType, List<Column> columns) {
+        this.columnsType = columnsType;
+        this.elementType = elementType;
+        this.columns = columns;
+    }
+
+    /**
+     * Creates the container. Rows of records are materialized with their canonical constructor, and rows of
+     * classes with their no-argument constructor if {@code instantiable}.
+     */
+    TypeSpec.Builder create(boolean record, boolean instantiable) {
+        TypeSpec.Builder columnsBuilder = TypeSpec.classBuilder(columnsType)
+                .addModifiers(Modifier.FINAL);
+
+        columnsBuilder.addField(TypeName.INT, "size", Modifier.PRIVATE);
+        columnsBuilder.addField(TypeName.INT, "capacity", Modifier.PRIVATE);
+        columns.forEach(c -> columnsBuilder.addField(ArrayTypeName.of(getStorageType(c)), getArrayName(c),
+                Modifier.PRIVATE));
+
+        columnsBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("this($L)", DEFAULT_CAPACITY)
+                .build());
+        var constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "capacity")
+                .beginControlFlow("if (capacity < 0)")
+                .addStatement("throw new $T($S + capacity)", IllegalArgumentException.class, "Negative capacity: ")
+                .endControlFlow()
+                .addStatement("this.capacity = capacity");
+        columns.forEach(c -> constructor.addStatement("$L = new $T[capacity]", getArrayName(c), getStorageType(c)));
+        columnsBuilder.addMethod(constructor.build());
+
+        columnsBuilder.addMethod(MethodSpec.methodBuilder("size")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addStatement("return size")
+                .build());
+        columnsBuilder.addMethod(createClearMethod());
+        columnsBuilder.addMethod(MethodSpec.methodBuilder("ensureCapacity")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "minCapacity")
+                .beginControlFlow("if (minCapacity > capacity)")
+                .addStatement("grow(minCapacity)")
+                .endControlFlow()
+                .build());
+
+        columnsBuilder.addMethod(createAddMethod());
+        columnsBuilder.addMethod(createSetMethod());
+
+        if (record) {
+            CodeBlock arguments = columns.stream()
+                    .map(this::getElementExpression)
+                    .collect(CodeBlock.joining(", "));
+            var get = createGetMethodBuilder();
+            addUncheckedSuppression(get, columns);
+            columnsBuilder.addMethod(get
+                    .addStatement("return new $T($L)", elementType, arguments)
+                    .build());
+        } else {
+            if (instantiable) {
+                columnsBuilder.addMethod(createGetMethodBuilder()
+                        .addStatement("$1T value = new $1T()", elementType)
+                        .addStatement("get(index, value)")
+                        .addStatement("return value")
+                        .build());
+            }
+            columnsBuilder.addMethod(createGetIntoMethod());
+        }
+
+        columns.forEach(c -> {
+            columnsBuilder.addMethod(createColumnGetMethod(c));
+            columnsBuilder.addMethod(createColumnSetMethod(c));
+        });
+
+        columnsBuilder.addMethod(createGrowMethod());
+
+        return columnsBuilder;
+    }
+
+    /**
+     * Clears the references so that removed rows can be garbage collected, and keeps the capacity.
+     */
+    private MethodSpec createClearMethod() {
+        var method = MethodSpec.methodBuilder("clear")
+                .addModifiers(Modifier.PUBLIC);
+        columns.stream()
+                .filter(c -> !c.type().isPrimitive())
+                .forEach(c -> method.addStatement("$T.fill($L, 0, size, null)", Arrays.class, getArrayName(c)));
+        return method.addStatement("size = 0").build();
+    }
+
+    /**
+     * Appends the fields of {@code value} as a new row and returns its index.
+     */
+    private MethodSpec createAddMethod() {
+        var method = MethodSpec.methodBuilder("add")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addParameter(elementType, "value")
+                .beginControlFlow("if (size == capacity)")
+                .addStatement("grow(size + 1)")
+                .endControlFlow();
+        columns.forEach(c -> method.addStatement("$L[size] = $L", getArrayName(c), c.valueExpression()));
+        return method.addStatement("return size++").build();
+    }
+
+    private MethodSpec createSetMethod() {
+        var method = MethodSpec.methodBuilder("set")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "index")
+                .addParameter(elementType, "value")
+                .addStatement("$T.checkIndex(index, size)", Objects.class);
+        columns.forEach(c -> method.addStatement("$L[index] = $L", getArrayName(c), c.valueExpression()));
+        return method.build();
+    }
+
+    private MethodSpec.Builder createGetMethodBuilder() {
+        return MethodSpec.methodBuilder("get")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(elementType)
+                .addParameter(TypeName.INT, "index")
+                .addStatement("$T.checkIndex(index, size)", Objects.class);
+    }
+
+    private MethodSpec createGetIntoMethod() {
+        var method = MethodSpec.methodBuilder("get")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "index")
+                .addParameter(elementType, "target");
+        addUncheckedSuppression(method, columns);
+        method.addStatement("$T.checkIndex(index, size)", Objects.class);
+        columns.forEach(c -> method.addStatement("$L", c.assignment().apply(getElementExpression(c))));
+        return method.build();
+    }
+
+    private MethodSpec createColumnGetMethod(Column column) {
+        var method = MethodSpec.methodBuilder("get" + column.capitalizedName())
+                .addModifiers(Modifier.PUBLIC)
+                .returns(column.type())
+                .addParameter(TypeName.INT, "index");
+        addUncheckedSuppression(method, List.of(column));
+        return method.addStatement("$T.checkIndex(index, size)", Objects.class)
+                .addStatement("return $L", getElementExpression(column))
+                .build();
+    }
+
+    private MethodSpec createColumnSetMethod(Column column) {
+        return MethodSpec.methodBuilder("set" + column.capitalizedName())
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "index")
+                .addParameter(column.type(), "value")
+                .addStatement("$T.checkIndex(index, size)", Objects.class)
+                .addStatement("$L[index] = value", getArrayName(column))
+                .build();
+    }
+
+    /**
+     * Grows all arrays by half of the current capacity, or more if needed.
+     */
+    private MethodSpec createGrowMethod() {
+        var method = MethodSpec.methodBuilder("grow")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.INT, "minCapacity")
+                .addStatement("capacity = $T.max(minCapacity, capacity + (capacity >> 1))", Math.class);
+        columns.forEach(c -> method.addStatement("$1L = $2T.copyOf($1L, capacity)", getArrayName(c), Arrays.class));
+        return method.build();
+    }
+
+    private CodeBlock getElementExpression(Column column) {
+        if (isErased(column)) {
+            return CodeBlock.of("($T) $L[index]", column.type(), getArrayName(column));
+        }
+        return CodeBlock.of("$L[index]", getArrayName(column));
+    }
+
+    private void addUncheckedSuppression(MethodSpec.Builder method, List<Column> readColumns) {
+        if (readColumns.stream().anyMatch(c -> isErased(c) && !isReifiable(c.type()))) {
+            method.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build());
+        }
+    }
+
+    /**
+     * Arrays of parameterized types and type variables cannot be created, and arrays of arrays cannot be created
+     * with the same expression as other arrays, so such fields are stored as {@code Object}.
+     */
+    private static boolean isErased(Column column) {
+        return !column.type().isPrimitive() && !(column.type() instanceof ClassName);
+    }
+
+    private static boolean isReifiable(TypeName type) {
+        if (type instanceof ArrayTypeName arrayType) {
+            return isReifiable(arrayType.componentType);
+        }
+        return type.isPrimitive() || type instanceof ClassName;
+    }
+
+    private static TypeName getStorageType(Column column) {
+        return isErased(column) ? TypeName.OBJECT : column.type();
+    }
+
+    private static String getArrayName(Column column) {
+        return column.name() + "Column";
+    }
+}
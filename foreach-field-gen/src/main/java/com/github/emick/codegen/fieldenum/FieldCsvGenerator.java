@@ -0,0 +1,282 @@
+package com.github.emick.codegen.fieldenum;
+
+import com.github.emick.codegen.common.BinaryFieldEncoding;
+import com.github.emick.codegen.util.CsvCodecUtil;
+import com.github.emick.codegen.util.CsvReader;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeMirror;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Generates the CSV codec companion of a field enum, see {@link GenerateFieldEnum#csv()}.
+ * <p>
+ * The codec dispatches on the enum value of each column with a switch, so a column subset costs nothing
+ * compared to all columns. Rows are formatted into a reused {@link StringBuilder} with its primitive
+ * {@code append} methods and then written to the {@link Writer} from a reused {@code char} array, so writing
+ * does not allocate per row once the buffers have grown to the longest row.
+ */
+class FieldCsvGenerator {
+
+    /**
+     * A field of the annotated type, with the code reading its value from {@code value} and assigning a value
+     * to {@code target}.
+     */
+    record Column(String constantName, String localName, TypeMirror type, CodeBlock valueExpression,
+                  Function<CodeBlock, CodeBlock> assignment, CodeBlock defaultValue) {
+    }
+
+    private final ClassName csvType;
+    private final ClassName enumType;
+    private final TypeName elementType;
+    private final List<Column> columns;
+
+    FieldCsvGenerator(ClassName csvType, ClassName enumType, TypeName elementType, List<Column> columns) {
+        this.csvType = csvType;
+        this.enumType = enumType;
+        this.elementType = elementType;
+        this.columns = columns;
+    }
+
+    /**
+     * Creates the codec. Records are created with their canonical constructor, and classes with their no-argument
+     * constructor if {@code instantiable}.
+     */
+    TypeSpec.Builder create(boolean record, boolean instantiable) {
+        TypeSpec.Builder csvBuilder = TypeSpec.classBuilder(csvType)
+                .addModifiers(Modifier.FINAL);
+
+        csvBuilder.addField(FieldSpec.builder(ArrayTypeName.of(enumType), "columns", Modifier.PRIVATE, Modifier.FINAL)
+                .build());
+        csvBuilder.addField(FieldSpec.builder(StringBuilder.class, "row", Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T()", StringBuilder.class)
+                .build());
+        csvBuilder.addField(FieldSpec.builder(char[].class, "chars", Modifier.PRIVATE)
+                .initializer("new char[256]")
+                .build());
+
+        csvBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("this($T.values())", enumType)
+                .build());
+        csvBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ArrayTypeName.of(enumType), "columns")
+                .varargs()
+                .addStatement("this.columns = columns.clone()")
+                .build());
+
+        csvBuilder.addMethod(createFromHeaderMethod());
+        csvBuilder.addMethod(createWriteHeaderMethod());
+        csvBuilder.addMethod(createWriteMethod());
+
+        if (record) {
+            csvBuilder.addMethod(createRecordReadMethod());
+        } else {
+            if (instantiable) {
+                csvBuilder.addMethod(MethodSpec.methodBuilder("read")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(elementType)
+                        .addParameter(CsvReader.class, "reader")
+                        .addException(IOException.class)
+                        .addStatement("$1T value = new $1T()", elementType)
+                        .addStatement("return read(reader, value) ? value : null")
+                        .build());
+            }
+            csvBuilder.addMethod(createReadIntoMethod());
+        }
+
+        csvBuilder.addMethod(MethodSpec.methodBuilder("flush")
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(Writer.class, "out")
+                .addException(IOException.class)
+                .addStatement("int length = row.length()")
+                .beginControlFlow("if (chars.length < length)")
+                .addStatement("chars = new char[$T.max(length, chars.length * 2)]", Math.class)
+                .endControlFlow()
+                .addStatement("row.getChars(0, length, chars, 0)")
+                .addStatement("out.write(chars, 0, length)")
+                .build());
+
+        return csvBuilder;
+    }
+
+    /**
+     * Creates a codec for the columns of the header row, e.g. to read a file written with a column subset.
+     */
+    private MethodSpec createFromHeaderMethod() {
+        return MethodSpec.methodBuilder("fromHeader")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(csvType)
+                .addParameter(CsvReader.class, "reader")
+                .addException(IOException.class)
+                .beginControlFlow("if (!reader.nextRow())")
+                .addStatement("throw reader.error($S)", "Missing header")
+                .endControlFlow()
+                .addStatement("$T<$T> columns = new $T<>()", List.class, enumType, ArrayList.class)
+                .beginControlFlow("while (reader.nextField())")
+                .addStatement("$T name = reader.stringValue()", String.class)
+                .addStatement("$T column = $T.fromFieldName(name)", enumType, enumType)
+                .beginControlFlow("if (column == null)")
+                .addStatement("throw reader.error($S + name)", "Unknown column ")
+                .endControlFlow()
+                .addStatement("columns.add(column)")
+                .endControlFlow()
+                .addStatement("return new $T(columns.toArray(new $T[0]))", csvType, enumType)
+                .build();
+    }
+
+    private MethodSpec createWriteHeaderMethod() {
+        return MethodSpec.methodBuilder("writeHeader")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(Writer.class, "out")
+                .addException(IOException.class)
+                .addStatement("row.setLength(0)")
+                .beginControlFlow("for (int i = 0; i < columns.length; i++)")
+                .beginControlFlow("if (i > 0)")
+                .addStatement("row.append(',')")
+                .endControlFlow()
+                .addStatement("row.append(columns[i].getFieldName())")
+                .endControlFlow()
+                .addStatement("row.append('\\n')")
+                .addStatement("flush(out)")
+                .build();
+    }
+
+    private MethodSpec createWriteMethod() {
+        var method = MethodSpec.methodBuilder("write")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(elementType, "value")
+                .addParameter(Writer.class, "out")
+                .addException(IOException.class)
+                .addStatement("row.setLength(0)")
+                .beginControlFlow("for (int i = 0; i < columns.length; i++)")
+                .beginControlFlow("if (i > 0)")
+                .addStatement("row.append(',')")
+                .endControlFlow()
+                .beginControlFlow("switch (columns[i])");
+
+        columns.forEach(c -> {
+            TypeName typeName = TypeName.get(c.type());
+            if (!typeName.isBoxedPrimitive()) {
+                method.addStatement("case $L -> $L", c.constantName(),
+                        getAppendExpression(c.type(), c.valueExpression()));
+                return;
+            }
+
+            TypeName primitiveType = typeName.unbox();
+            method.beginControlFlow("case $L ->", c.constantName())
+                    .addStatement("$T $L = $L", typeName, c.localName(), c.valueExpression())
+                    .beginControlFlow("if ($L != null)", c.localName())
+                    .addStatement("$L", getPrimitiveAppendExpression(primitiveType,
+                            CodeBlock.of("$L.$LValue()", c.localName(), primitiveType)))
+                    .endControlFlow()
+                    .endControlFlow();
+        });
+
+        return method.endControlFlow()
+                .endControlFlow()
+                .addStatement("row.append('\\n')")
+                .addStatement("flush(out)")
+                .build();
+    }
+
+    /**
+     * Reads the next row into {@code target} and returns {@code true}, or returns {@code false} at the end of input.
+     */
+    private MethodSpec createReadIntoMethod() {
+        var method = MethodSpec.methodBuilder("read")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN)
+                .addParameter(CsvReader.class, "reader")
+                .addParameter(elementType, "target")
+                .addException(IOException.class);
+
+        addReadLoop(method, CodeBlock.of("false"), c -> c.assignment().apply(getReadExpression(c.type())));
+
+        return method.addStatement("return true").build();
+    }
+
+    /**
+     * Columns missing from the codec get the default value of their type.
+     */
+    private MethodSpec createRecordReadMethod() {
+        var method = MethodSpec.methodBuilder("read")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(elementType)
+                .addParameter(CsvReader.class, "reader")
+                .addException(IOException.class);
+
+        columns.forEach(c -> method.addStatement("$T $L = $L", TypeName.get(c.type()), c.localName(),
+                c.defaultValue()));
+        addReadLoop(method, CodeBlock.of("null"),
+                c -> CodeBlock.of("$L = $L", c.localName(), getReadExpression(c.type())));
+
+        CodeBlock arguments = columns.stream()
+                .map(c -> CodeBlock.of("$L", c.localName()))
+                .collect(CodeBlock.joining(", "));
+        return method.addStatement("return new $T($L)", elementType, arguments).build();
+    }
+
+    private void addReadLoop(MethodSpec.Builder method, CodeBlock endOfInput,
+                             Function<Column, CodeBlock> readStatement) {
+        method.beginControlFlow("if (!reader.nextRow())")
+                .addStatement("return $L", endOfInput)
+                .endControlFlow()
+                .beginControlFlow("for ($T column : columns)", enumType)
+                .beginControlFlow("if (!reader.nextField())")
+                .addStatement("throw reader.error($S + column.getFieldName())", "Missing column ")
+                .endControlFlow()
+                .beginControlFlow("switch (column)");
+        columns.forEach(c -> method.addStatement("case $L -> $L", c.constantName(), readStatement.apply(c)));
+        method.endControlFlow()
+                .endControlFlow();
+    }
+
+    private static CodeBlock getAppendExpression(TypeMirror type, CodeBlock value) {
+        TypeName typeName = TypeName.get(type);
+        if (typeName.isPrimitive()) {
+            return getPrimitiveAppendExpression(typeName, value);
+        }
+        if (BinaryFieldEncoding.isEnum(type)) {
+            return CodeBlock.of("$T.appendEnum(row, $L)", CsvCodecUtil.class, value);
+        }
+        return CodeBlock.of("$T.appendString(row, $L)", CsvCodecUtil.class, value);
+    }
+
+    private static CodeBlock getPrimitiveAppendExpression(TypeName primitiveType, CodeBlock value) {
+        if (primitiveType.equals(TypeName.CHAR)) {
+            return CodeBlock.of("$T.appendChar(row, $L)", CsvCodecUtil.class, value);
+        }
+        return CodeBlock.of("row.append($L)", value);
+    }
+
+    private static CodeBlock getReadExpression(TypeMirror type) {
+        TypeName typeName = TypeName.get(type);
+        if (typeName.isPrimitive()) {
+            return getPrimitiveReadExpression(typeName);
+        }
+        if (typeName.isBoxedPrimitive()) {
+            return CodeBlock.of("reader.isNull() ? null : $L", getPrimitiveReadExpression(typeName.unbox()));
+        }
+        if (BinaryFieldEncoding.isEnum(type)) {
+            return CodeBlock.of("reader.isNull() ? null : $T.valueOf(reader.stringValue())", typeName);
+        }
+        return CodeBlock.of("reader.stringValue()");
+    }
+
+    private static CodeBlock getPrimitiveReadExpression(TypeName primitiveType) {
+        return CodeBlock.of("reader.$LValue()", primitiveType);
+    }
+}
@@ -0,0 +1,299 @@
+package com.github.emick.codegen.fieldenum;
+
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+
+import javax.lang.model.element.Modifier;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Generates the field mask companion of a field enum, see {@link GenerateFieldEnum#mask()}.
+ * <p>
+ * The mask has one {@code long} field per 64 enum values instead of an array, so a mask of a type with up to
+ * 64 fields is a single object of the same size as a boxed {@code Long}. Operations modify the mask in place,
+ * so they do not allocate.
+ */
+class FieldMaskGenerator {
+
+    private final ClassName maskType;
+    private final ClassName enumType;
+    private final int fieldCount;
+    private final int wordCount;
+
+    FieldMaskGenerator(ClassName maskType, ClassName enumType, int fieldCount) {
+        this.maskType = maskType;
+        this.enumType = enumType;
+        this.fieldCount = fieldCount;
+        this.wordCount = Math.max(1, (fieldCount + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    TypeSpec.Builder create() {
+        TypeSpec.Builder maskBuilder = TypeSpec.classBuilder(maskType)
+                .addModifiers(Modifier.FINAL);
+
+        maskBuilder.addField(FieldSpec.builder(maskType, "ALL", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new $T(true, $L)", maskType, joinWords(this::getAllWordValue))
+                .build());
+        maskBuilder.addField(FieldSpec.builder(maskType, "NONE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new $T(true, $L)", maskType, joinWords(i -> CodeBlock.of("0L")))
+                .build());
+        maskBuilder.addField(FieldSpec.builder(ArrayTypeName.of(enumType), "FIELDS",
+                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$T.values()", enumType)
+                .build());
+
+        maskBuilder.addField(TypeName.BOOLEAN, "frozen", Modifier.PRIVATE, Modifier.FINAL);
+        forEachWord(i -> maskBuilder.addField(TypeName.LONG, word(i), Modifier.PRIVATE));
+
+        maskBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("this(false, $L)", joinWords(i -> CodeBlock.of("0L")))
+                .build());
+
+        var constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.BOOLEAN, "frozen")
+                .addStatement("this.frozen = frozen");
+        forEachWord(i -> constructor
+                .addParameter(TypeName.LONG, word(i))
+                .addStatement("this.$1L = $1L", word(i)));
+        maskBuilder.addMethod(constructor.build());
+
+        maskBuilder.addMethod(createOfMethod());
+        maskBuilder.addMethod(MethodSpec.methodBuilder("copy")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(maskType)
+                .addStatement("return new $T(false, $L)", maskType, joinWords(i -> CodeBlock.of("$L", word(i))))
+                .build());
+
+        maskBuilder.addMethod(createContainsMethod());
+        maskBuilder.addMethod(createFieldUpdateMethod("add", "$L |= 1L << ordinal"));
+        maskBuilder.addMethod(createFieldUpdateMethod("remove", "$L &= ~(1L << ordinal)"));
+        maskBuilder.addMethod(createMaskUpdateMethod("union", "$1L |= other.$1L"));
+        maskBuilder.addMethod(createMaskUpdateMethod("intersect", "$1L &= other.$1L"));
+        maskBuilder.addMethod(createMaskUpdateMethod("subtract", "$1L &= ~other.$1L"));
+
+        var clear = MethodSpec.methodBuilder("clear")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(maskType)
+                .addStatement("checkMutable()");
+        forEachWord(i -> clear.addStatement("$L = 0L", word(i)));
+        maskBuilder.addMethod(clear.addStatement("return this").build());
+
+        maskBuilder.addMethod(createMaskQueryMethod("containsAll", "($1L & other.$1L) == other.$1L", " && "));
+        maskBuilder.addMethod(createMaskQueryMethod("intersects", "($1L & other.$1L) != 0L", " || "));
+
+        maskBuilder.addMethod(MethodSpec.methodBuilder("isEmpty")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN)
+                .addStatement("return $L", joinWords(i -> CodeBlock.of("$L == 0L", word(i)), " && "))
+                .build());
+        maskBuilder.addMethod(MethodSpec.methodBuilder("size")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addStatement("return $L", joinWords(i -> CodeBlock.of("$T.bitCount($L)", Long.class, word(i)), " + "))
+                .build());
+
+        maskBuilder.addMethod(createNextOrdinalMethod());
+        maskBuilder.addMethod(MethodSpec.methodBuilder("forEach")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Consumer.class), WildcardTypeName.supertypeOf(enumType)),
+                        "action")
+                .beginControlFlow("for (int ordinal = nextOrdinal(0); ordinal >= 0; ordinal = nextOrdinal(ordinal + 1))")
+                .addStatement("action.accept(FIELDS[ordinal])")
+                .endControlFlow()
+                .build());
+
+        maskBuilder.addMethod(createEqualsMethod());
+        maskBuilder.addMethod(createHashCodeMethod());
+        maskBuilder.addMethod(MethodSpec.methodBuilder("toString")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(String.class)
+                .addStatement("$1T joiner = new $1T($2S, $3S, $4S)", StringJoiner.class, ", ", "[", "]")
+                .addStatement("forEach(field -> joiner.add(field.name()))")
+                .addStatement("return joiner.toString()")
+                .build());
+
+        maskBuilder.addMethod(MethodSpec.methodBuilder("checkMutable")
+                .addModifiers(Modifier.PRIVATE)
+                .beginControlFlow("if (frozen)")
+                .addStatement("throw new $T($S)", UnsupportedOperationException.class,
+                        "ALL and NONE are immutable, modify a copy() instead")
+                .endControlFlow()
+                .build());
+
+        return maskBuilder;
+    }
+
+    private MethodSpec createOfMethod() {
+        return MethodSpec.methodBuilder("of")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(maskType)
+                .addParameter(ArrayTypeName.of(enumType), "fields")
+                .varargs()
+                .addStatement("$1T mask = new $1T()", maskType)
+                .beginControlFlow("for ($T field : fields)", enumType)
+                .addStatement("mask.add(field)")
+                .endControlFlow()
+                .addStatement("return mask")
+                .build();
+    }
+
+    private MethodSpec createContainsMethod() {
+        var method = MethodSpec.methodBuilder("contains")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN)
+                .addParameter(enumType, "field")
+                .addStatement("int ordinal = field.ordinal()");
+
+        if (wordCount == 1) {
+            return method.addStatement("return ($L & (1L << ordinal)) != 0L", word(0)).build();
+        }
+
+        // Shifts only use the low 6 bits of the ordinal, so the word is selected by the remaining bits
+        method.addCode("return switch (ordinal >>> 6) {\n$>");
+        forEachWord(i -> method.addCode("case $L -> ($L & (1L << ordinal)) != 0L;\n", i, word(i)));
+        method.addCode("default -> false;\n");
+        return method.addCode("$<};\n").build();
+    }
+
+    private MethodSpec createFieldUpdateMethod(String name, String wordUpdateFormat) {
+        var method = MethodSpec.methodBuilder(name)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(maskType)
+                .addParameter(enumType, "field")
+                .addStatement("checkMutable()")
+                .addStatement("int ordinal = field.ordinal()");
+
+        if (wordCount == 1) {
+            method.addStatement(wordUpdateFormat, word(0));
+        } else {
+            method.beginControlFlow("switch (ordinal >>> 6)");
+            forEachWord(i -> method.addStatement("case $L -> $L", i, CodeBlock.of(wordUpdateFormat, word(i))));
+            method.endControlFlow();
+        }
+
+        return method.addStatement("return this").build();
+    }
+
+    private MethodSpec createMaskUpdateMethod(String name, String wordUpdateFormat) {
+        var method = MethodSpec.methodBuilder(name)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(maskType)
+                .addParameter(maskType, "other")
+                .addStatement("checkMutable()");
+        forEachWord(i -> method.addStatement(wordUpdateFormat, word(i)));
+        return method.addStatement("return this").build();
+    }
+
+    private MethodSpec createMaskQueryMethod(String name, String wordFormat, String separator) {
+        return MethodSpec.methodBuilder(name)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN)
+                .addParameter(maskType, "other")
+                .addStatement("return $L", joinWords(i -> CodeBlock.of(wordFormat, word(i)), separator))
+                .build();
+    }
+
+    /**
+     * Returns the ordinal of the first field in this mask at or after {@code fromOrdinal}, or -1, like
+     * {@link java.util.BitSet#nextSetBit(int)}. Also like it, a negative {@code fromOrdinal} throws
+     * {@link IndexOutOfBoundsException}, as the shift would only use its low six bits.
+     */
+    private MethodSpec createNextOrdinalMethod() {
+        var method = MethodSpec.methodBuilder("nextOrdinal")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addParameter(TypeName.INT, "fromOrdinal")
+                .beginControlFlow("if (fromOrdinal < 0)")
+                .addStatement("throw new $T($S + fromOrdinal)", IndexOutOfBoundsException.class, "fromOrdinal < 0: ")
+                .endControlFlow();
+
+        forEachWord(i -> {
+            int wordEnd = (i + 1) * Long.SIZE;
+            method.beginControlFlow("if (fromOrdinal < $L)", wordEnd)
+                    .addStatement("long bits = $L & (-1L << fromOrdinal)", word(i))
+                    .beginControlFlow("if (bits != 0L)")
+                    .addStatement("return $L$T.numberOfTrailingZeros(bits)", i == 0 ? "" : i * Long.SIZE + " + ", Long.class)
+                    .endControlFlow();
+            if (i < wordCount - 1) {
+                method.addStatement("fromOrdinal = $L", wordEnd);
+            }
+            method.endControlFlow();
+        });
+
+        return method.addStatement("return -1").build();
+    }
+
+    private MethodSpec createEqualsMethod() {
+        return MethodSpec.methodBuilder("equals")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN)
+                .addParameter(Object.class, "o")
+                .beginControlFlow("if (this == o)")
+                .addStatement("return true")
+                .endControlFlow()
+                .beginControlFlow("if (!(o instanceof $T other))", maskType)
+                .addStatement("return false")
+                .endControlFlow()
+                .addStatement("return $L", joinWords(i -> CodeBlock.of("$1L == other.$1L", word(i)), " && "))
+                .build();
+    }
+
+    private MethodSpec createHashCodeMethod() {
+        var method = MethodSpec.methodBuilder("hashCode")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT);
+        if (wordCount == 1) {
+            return method.addStatement("return $T.hashCode($L)", Long.class, word(0)).build();
+        }
+
+        method.addStatement("int result = $T.hashCode($L)", Long.class, word(0));
+        IntStream.range(1, wordCount)
+                .forEach(i -> method.addStatement("result = 31 * result + $T.hashCode($L)", Long.class, word(i)));
+        return method.addStatement("return result").build();
+    }
+
+    private CodeBlock getAllWordValue(int wordIndex) {
+        int bits = Math.min(Long.SIZE, Math.max(0, fieldCount - wordIndex * Long.SIZE));
+        if (bits == 0) {
+            return CodeBlock.of("0L");
+        }
+        if (bits == Long.SIZE) {
+            return CodeBlock.of("-1L");
+        }
+        return CodeBlock.of("-1L >>> $L", Long.SIZE - bits);
+    }
+
+    private CodeBlock joinWords(IntFunction<CodeBlock> wordCode) {
+        return joinWords(wordCode, ", ");
+    }
+
+    private CodeBlock joinWords(IntFunction<CodeBlock> wordCode, String separator) {
+        return IntStream.range(0, wordCount)
+                .mapToObj(wordCode)
+                .collect(CodeBlock.joining(separator));
+    }
+
+    private void forEachWord(IntConsumer action) {
+        IntStream.range(0, wordCount).forEach(action);
+    }
+
+    private static String word(int index) {
+        return "word" + index;
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.emick.codegen.fieldenum;
 
+import com.github.emick.codegen.common.GeneratedFieldAccess;
 import com.github.emick.codegen.common.GeneratedVisibility;
 
 import java.lang.annotation.ElementType;
@@ -20,10 +21,45 @@ import java.lang.annotation.Target;
  * to require explicit handling of each enum value in a switch expression, this
  * ensures that each field is handled and if the annotated class is changed in a way
  * such as field is added, removed or renamed, the IDE will signal an error to be fixed.
+ *
+ * <p> Each enum value has {@code getFieldName()}, {@code Class<?> getType()} returning the erased type of the field
+ * and {@code isPrimitive()}, and its ordinal is the declaration index of the field. Types which the enum cannot
+ * refer to, e.g. private nested classes, are resolved from the field with reflection when the enum is initialized.
+ * The static {@code MyClassFields fromFieldName(String)} looks up an enum value with a switch on the field name,
+ * returning {@code null} for unknown names, and {@code List<MyClassFields> valueList()} returns a cached
+ * unmodifiable list of the enum values, which unlike {@code values()} does not copy them.
+ *
+ * <p> With {@link #accessors()}, each enum value can also read and write its field of a given instance:
+ * {@code Object get(MyClass)} and {@code void set(MyClass, Object)}, plus non-boxing {@code getInt},
+ * {@code setInt}, {@code getLong} and {@code setLong} which throw {@link UnsupportedOperationException}
+ * for fields of other types. Records are immutable, so only the getters are generated for them.
+ * Non-private fields are accessed directly and private fields according to {@link #fieldAccess()}.
+ *
+ * <p> With {@link #mask()}, a set type {@code MyClassFieldMask} of the enum values is generated too. It stores
+ * the set as bits in {@code long} fields, one per 64 enum values, and its operations such as {@code add},
+ * {@code union} and {@code intersect} modify the mask in place so that tracking e.g. dirty or selected
+ * fields does not allocate. The shared {@code ALL} and {@code NONE} masks cannot be modified.
+ *
+ * <p> With {@link #csv()}, a CSV codec {@code MyClassCsv} is generated too. Its columns are the enum values given
+ * to its constructor, all of them in declaration order by default, or read from a header row with
+ * {@code fromHeader(CsvReader)}. {@code write(MyClass, Writer)} writes a row through reused buffers, formatting
+ * primitives without boxing, and {@code read(CsvReader)} reads the next row, see
+ * {@link com.github.emick.codegen.util.CsvReader}. Supported field types are primitives, boxed primitives,
+ * {@link String} and enums. Instances of the codec are not thread-safe.
+ *
+ * <p> With {@link #columns()}, a struct-of-arrays container {@code MyClassColumns} is generated too. It stores each
+ * field in its own array, in the order of the enum values, and has {@code add(MyClass)}, {@code get(index)} creating
+ * an instance, and typed {@code getMyField(index)} and {@code setMyField(index, value)} accessors per field. The
+ * arrays grow as rows are added. Instances of the container are not thread-safe.
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.SOURCE)
 public @interface GenerateFieldEnum {
     String generatedName() default "";
     GeneratedVisibility visibility() default GeneratedVisibility.PUBLIC;
+    boolean accessors() default false;
+    boolean mask() default false;
+    boolean csv() default false;
+    boolean columns() default false;
+    GeneratedFieldAccess fieldAccess() default GeneratedFieldAccess.REFLECTION;
 }
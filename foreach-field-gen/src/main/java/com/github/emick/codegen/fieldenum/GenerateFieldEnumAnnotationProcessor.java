@@ -1,50 +1,325 @@
 package com.github.emick.codegen.fieldenum;
 
 import com.github.emick.codegen.common.AbstractFieldProcessor;
-import com.google.auto.service.AutoService;
+import com.github.emick.codegen.common.BinaryFieldEncoding;
+import com.github.emick.codegen.common.FieldTypeModel;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
 
-import javax.annotation.processing.Processor;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Annotation processor for {@link GenerateFieldEnum}.
  */
-@AutoService(Processor.class)
 public class GenerateFieldEnumAnnotationProcessor extends AbstractFieldProcessor {
 
+    private static final String ACCESSORS_PROPERTY = "accessors";
+    private static final String MASK_PROPERTY = "mask";
+    private static final String CSV_PROPERTY = "csv";
+    private static final String COLUMNS_PROPERTY = "columns";
+
     public GenerateFieldEnumAnnotationProcessor() {
         super(GenerateFieldEnum.class);
     }
 
     @Override
-    protected TypeSpec.Builder process(Element element, List<Element> sourceFields) {
-        String generatedTypeName = getGeneratedTypeName(element, element.getSimpleName() + "Fields");
+    protected List<TypeSpec.Builder> processAll(FieldTypeModel type) {
+        boolean csv = getBooleanAnnotationValue(type, CSV_PROPERTY, false);
+        if (csv && !validateCsvFields(type)) {
+            return List.of();
+        }
+
+        if (getBooleanAnnotationValue(type, ACCESSORS_PROPERTY, false)
+                && !validateVarHandleNames(type, getFieldAccess(type))) {
+            return List.of();
+        }
+
+        TypeSpec.Builder fieldsEnumBuilder = process(type);
+        List<TypeSpec.Builder> builders = new ArrayList<>(List.of(fieldsEnumBuilder));
+        var enumType = ClassName.get(type.packageName(), fieldsEnumBuilder.build().name);
+
+        if (getBooleanAnnotationValue(type, MASK_PROPERTY, false)) {
+            var maskType = ClassName.get(type.packageName(), type.element().getSimpleName() + "FieldMask");
+            builders.add(new FieldMaskGenerator(maskType, enumType, type.members().size()).create());
+        }
+
+        if (csv) {
+            builders.add(createCsv(type, enumType));
+        }
+
+        if (getBooleanAnnotationValue(type, COLUMNS_PROPERTY, false)) {
+            builders.add(createColumns(type));
+        }
+
+        if (isPublicGeneratedType(type)) {
+            builders.subList(1, builders.size()).forEach(b -> b.addModifiers(Modifier.PUBLIC));
+        }
+
+        return builders;
+    }
+
+    private boolean validateCsvFields(FieldTypeModel type) {
+        boolean valid = true;
+        for (Element f : type.members()) {
+            if (!BinaryFieldEncoding.isSupported(f.asType())) {
+                error(f, "Type " + f.asType() + " is not supported by @" + GenerateFieldEnum.class.getSimpleName()
+                        + "(csv = true)");
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private TypeSpec.Builder createCsv(FieldTypeModel type, ClassName enumType) {
+        Element element = type.element();
+        var fieldAccess = getFieldAccess(type);
+
+        List<FieldCsvGenerator.Column> columns = type.members().stream()
+                .map(f -> new FieldCsvGenerator.Column(
+                        getConstantName(f),
+                        "value" + capitalize(getMemberName(f)),
+                        f.asType(),
+                        getReadExpression("value", f, fieldAccess),
+                        value -> getFieldWriteExpression("target", f, value, fieldAccess),
+                        getDefaultValue(TypeName.get(f.asType()))))
+                .toList();
+
+        var csvType = ClassName.get(type.packageName(), element.getSimpleName() + "Csv");
+        TypeSpec.Builder csvBuilder = new FieldCsvGenerator(csvType, enumType, TypeName.get(element.asType()), columns)
+                .create(element.getKind() == ElementKind.RECORD, isInstantiable((TypeElement) element));
+        addVarHandleFields(csvBuilder, element, type.members(), fieldAccess);
+
+        return csvBuilder;
+    }
+
+    private TypeSpec.Builder createColumns(FieldTypeModel type) {
+        Element element = type.element();
+        var fieldAccess = getFieldAccess(type);
+
+        List<FieldColumnsGenerator.Column> columns = type.members().stream()
+                .map(f -> new FieldColumnsGenerator.Column(
+                        getMemberName(f),
+                        capitalize(getMemberName(f)),
+                        TypeName.get(f.asType()),
+                        getReadExpression("value", f, fieldAccess),
+                        value -> getFieldWriteExpression("target", f, value, fieldAccess)))
+                .toList();
+
+        var columnsType = ClassName.get(type.packageName(), element.getSimpleName() + "Columns");
+        var elementType = TypeName.get(element.asType());
+        TypeSpec.Builder columnsBuilder = new FieldColumnsGenerator(columnsType, elementType, columns)
+                .create(element.getKind() == ElementKind.RECORD, isInstantiable((TypeElement) element));
+        addVarHandleFields(columnsBuilder, element, type.members(), fieldAccess);
+
+        return columnsBuilder;
+    }
+
+    @Override
+    protected TypeSpec.Builder process(FieldTypeModel type) {
+        String generatedTypeName = getGeneratedTypeName(type, type.element().getSimpleName() + "Fields");
         TypeSpec.Builder fieldsEnumBuilder = TypeSpec.enumBuilder(generatedTypeName);
-        if (isPublicGeneratedType(element)) {
+        if (isPublicGeneratedType(type)) {
             fieldsEnumBuilder.addModifiers(Modifier.PUBLIC);
         }
 
-        sourceFields.forEach(f -> fieldsEnumBuilder.addEnumConstant(
+        type.members().forEach(f -> fieldsEnumBuilder.addEnumConstant(
                 EnumUtil.fieldNameToEnumName(f.getSimpleName().toString()),
-                TypeSpec.anonymousClassBuilder("$S", getMemberName(f)).build()
+                TypeSpec.anonymousClassBuilder("$S, $L", getMemberName(f), getFieldTypeExpression(type, f)).build()
         ));
 
+        var enumType = ClassName.get(type.packageName(), generatedTypeName);
+        var classType = ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class));
+        var listType = ParameterizedTypeName.get(ClassName.get(List.class), enumType);
+
+        // These fields are in lower camel case, so they cannot clash with the constants
+        fieldsEnumBuilder.addField(FieldSpec.builder(listType, "valueList", Modifier.PRIVATE, Modifier.STATIC,
+                        Modifier.FINAL)
+                .initializer("$T.of(values())", List.class)
+                .build());
         fieldsEnumBuilder.addField(FieldSpec.builder(String.class, "fieldName", Modifier.PRIVATE, Modifier.FINAL).build());
+        fieldsEnumBuilder.addField(FieldSpec.builder(classType, "type", Modifier.PRIVATE, Modifier.FINAL).build());
         fieldsEnumBuilder.addMethod(MethodSpec.constructorBuilder()
                 .addParameter(String.class, "fieldName")
+                .addParameter(classType, "type")
                 .addStatement("this.fieldName = fieldName")
+                .addStatement("this.type = type")
                 .build());
         fieldsEnumBuilder.addMethod(MethodSpec.methodBuilder("getFieldName")
                 .addModifiers(Modifier.PUBLIC)
                 .returns(String.class)
                 .addStatement("return fieldName")
                 .build());
+        fieldsEnumBuilder.addMethod(MethodSpec.methodBuilder("getType")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(classType)
+                .addStatement("return type")
+                .build());
+        fieldsEnumBuilder.addMethod(MethodSpec.methodBuilder("isPrimitive")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN)
+                .addStatement("return type.isPrimitive()")
+                .build());
+        fieldsEnumBuilder.addMethod(createFromFieldNameMethod(enumType, type.members()));
+        fieldsEnumBuilder.addMethod(MethodSpec.methodBuilder("valueList")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(listType)
+                .addStatement("return valueList")
+                .build());
+
+        if (getBooleanAnnotationValue(type, ACCESSORS_PROPERTY, false)) {
+            addAccessors(fieldsEnumBuilder, type);
+        }
 
         return fieldsEnumBuilder;
     }
+
+    /**
+     * Looks up constants by field name, which differs from the constant name taken by {@code valueOf}. A switch on
+     * strings compiles to a switch on the hash code of the name followed by {@code equals}.
+     */
+    private static MethodSpec createFromFieldNameMethod(ClassName enumType, List<Element> fields) {
+        var method = MethodSpec.methodBuilder("fromFieldName")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(enumType)
+                .addParameter(String.class, "fieldName")
+                .beginControlFlow("if (fieldName == null)")
+                .addStatement("return null")
+                .endControlFlow()
+                .addCode("return switch (fieldName) {\n$>");
+        fields.forEach(f -> method.addCode("case $S -> $L;\n", getMemberName(f), getConstantName(f)));
+        return method.addCode("default -> null;\n")
+                .addCode("$<};\n")
+                .build();
+    }
+
+    private void addAccessors(TypeSpec.Builder fieldsEnumBuilder, FieldTypeModel type) {
+        Element element = type.element();
+        List<Element> sourceFields = type.members();
+        var elementType = TypeName.get(element.asType());
+        var fieldAccess = getFieldAccess(type);
+        boolean writable = element.getKind() != ElementKind.RECORD;
+
+        addVarHandleFields(fieldsEnumBuilder, element, sourceFields, fieldAccess);
+
+        // A switch over the constants of an enum without constants cannot be exhaustive
+        if (!sourceFields.isEmpty()) {
+            fieldsEnumBuilder.addMethod(createGetMethod(elementType, sourceFields, fieldAccess));
+            if (writable) {
+                fieldsEnumBuilder.addMethod(createSetMethod(elementType, sourceFields, fieldAccess));
+            }
+        }
+
+        for (TypeName primitiveType : List.of(TypeName.INT, TypeName.LONG)) {
+            List<Element> primitiveFields = sourceFields.stream()
+                    .filter(f -> TypeName.get(f.asType()).equals(primitiveType))
+                    .toList();
+
+            fieldsEnumBuilder.addMethod(createPrimitiveGetMethod(elementType, primitiveType, primitiveFields, fieldAccess));
+            if (writable) {
+                fieldsEnumBuilder.addMethod(createPrimitiveSetMethod(elementType, primitiveType, primitiveFields, fieldAccess));
+            }
+        }
+    }
+
+    private static MethodSpec createGetMethod(TypeName elementType, List<Element> fields,
+                                              GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("get")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(Object.class)
+                .addParameter(elementType, "instance")
+                .addCode("return switch (this) {\n$>");
+
+        fields.forEach(f -> method.addCode("case $L -> $L;\n", getConstantName(f), getReadExpression("instance", f, fieldAccess)));
+
+        return method.addCode("$<};\n").build();
+    }
+
+    private static MethodSpec createSetMethod(TypeName elementType, List<Element> fields,
+                                              GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("set")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(elementType, "instance")
+                .addParameter(Object.class, "value");
+
+        // Casting the value to a parameterized field type is unchecked
+        if (fields.stream().anyMatch(f -> TypeName.get(f.asType()) instanceof ParameterizedTypeName)) {
+            method.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build());
+        }
+
+        method.beginControlFlow("switch (this)");
+
+        fields.forEach(f -> method.addStatement("case $L -> $L", getConstantName(f),
+                getFieldWriteExpression("instance", f, CodeBlock.of("($T) value", TypeName.get(f.asType())), fieldAccess)));
+
+        return method.endControlFlow().build();
+    }
+
+    private static MethodSpec createPrimitiveGetMethod(TypeName elementType, TypeName primitiveType,
+                                                       List<Element> fields, GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("get" + capitalize(primitiveType.toString()))
+                .addModifiers(Modifier.PUBLIC)
+                .returns(primitiveType)
+                .addParameter(elementType, "instance");
+
+        if (fields.isEmpty()) {
+            return method.addStatement(createUnsupportedTypeThrow(primitiveType)).build();
+        }
+
+        method.addCode("return switch (this) {\n$>");
+        fields.forEach(f -> method.addCode("case $L -> $L;\n", getConstantName(f), getReadExpression("instance", f, fieldAccess)));
+        method.addCode("default -> $L;\n", createUnsupportedTypeThrow(primitiveType));
+
+        return method.addCode("$<};\n").build();
+    }
+
+    private static MethodSpec createPrimitiveSetMethod(TypeName elementType, TypeName primitiveType,
+                                                       List<Element> fields, GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("set" + capitalize(primitiveType.toString()))
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(elementType, "instance")
+                .addParameter(primitiveType, "value");
+
+        if (fields.isEmpty()) {
+            return method.addStatement(createUnsupportedTypeThrow(primitiveType)).build();
+        }
+
+        method.beginControlFlow("switch (this)");
+        fields.forEach(f -> method.addStatement("case $L -> $L", getConstantName(f),
+                getFieldWriteExpression("instance", f, CodeBlock.of("value"), fieldAccess)));
+        method.addStatement("default -> $L", createUnsupportedTypeThrow(primitiveType));
+
+        return method.endControlFlow().build();
+    }
+
+    private static CodeBlock createUnsupportedTypeThrow(TypeName primitiveType) {
+        return CodeBlock.of("throw new $T(fieldName + $S)", UnsupportedOperationException.class,
+                " is not of type " + primitiveType);
+    }
+
+    private static CodeBlock getReadExpression(String instanceName, Element field, GeneratedFieldAccess fieldAccess) {
+        if (isRecordComponentMember(field)) {
+            return CodeBlock.of("$L.$L()", instanceName, getMemberName(field));
+        }
+
+        return getFieldReadExpression(instanceName, field, fieldAccess);
+    }
+
+    private static String getConstantName(Element field) {
+        return EnumUtil.fieldNameToEnumName(getMemberName(field));
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.emick.codegen.fieldnames;
 
+import com.github.emick.codegen.common.GeneratedFieldAccess;
 import com.github.emick.codegen.common.GeneratedVisibility;
 
 import java.lang.annotation.ElementType;
@@ -20,10 +21,22 @@ import java.lang.annotation.Target;
  * <p> The intention of this is to provide compiler-safe way to refer to field/component
  * names in reflection usage. Whenever a field name changes, this generated interface also
  * changes and anything referring to these generated constants will break and notify developer.
+ *
+ * <p> With {@link #patcher()}, a class {@code MyClassPatcher} is generated too, for applying partial updates keyed
+ * by field name without reflection lookups. {@code boolean apply(MyClass target, String name, Object value)}
+ * switches on the name, checks that the value is an instance of the field type, or a non-null instance of the boxed
+ * type for primitive fields, and assigns the field. It returns {@code false} for unknown and {@code null} names and
+ * throws {@link IllegalArgumentException} for values of other types. {@code List<String> apply(MyClass target,
+ * Map<String, ?> patch)} applies all entries and returns the unknown names, an empty list if there are none.
+ * Non-private fields are assigned directly and private fields through a {@link java.lang.invoke.VarHandle}, or with
+ * reflection if {@link #fieldAccess()} is {@code REFLECTION}. Records are immutable and cannot be patched.
+ * A custom {@link #generatedName()} also renames the patcher, e.g. {@code MyNames} to {@code MyNamesPatcher}.
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.SOURCE)
 public @interface GenerateFieldNames {
     String generatedName() default "";
     GeneratedVisibility visibility() default GeneratedVisibility.PUBLIC;
+    boolean patcher() default false;
+    GeneratedFieldAccess fieldAccess() default GeneratedFieldAccess.VAR_HANDLE;
 }
@@ -1,34 +1,69 @@
 package com.github.emick.codegen.fieldnames;
 
 import com.github.emick.codegen.common.AbstractFieldProcessor;
-import com.google.auto.service.AutoService;
+import com.github.emick.codegen.common.FieldTypeModel;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
 
-import javax.annotation.processing.Processor;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Annotation processor for {@link GenerateFieldNames}.
  */
-@AutoService(Processor.class)
 public class GenerateFieldNamesAnnotationProcessor extends AbstractFieldProcessor {
 
+    private static final String PATCHER_PROPERTY = "patcher";
+    private static final String FIELDS_SUFFIX = "Fields";
+
     public GenerateFieldNamesAnnotationProcessor() {
         super(GenerateFieldNames.class);
     }
 
     @Override
-    protected TypeSpec.Builder process(Element element, List<Element> sourceFields) {
-        String generatedTypeName = getGeneratedTypeName(element, element.getSimpleName() + "Fields");
+    protected List<TypeSpec.Builder> processAll(FieldTypeModel type) {
+        boolean patcher = getBooleanAnnotationValue(type, PATCHER_PROPERTY, false);
+        if (patcher && type.element().getKind() == ElementKind.RECORD) {
+            error(type.element(), "Records are immutable and cannot be patched, remove patcher = true from @"
+                    + GenerateFieldNames.class.getSimpleName());
+            return List.of();
+        }
+
+        TypeSpec.Builder fieldsBuilder = process(type);
+        if (!patcher) {
+            return List.of(fieldsBuilder);
+        }
+
+        var fieldsType = ClassName.get(type.packageName(), fieldsBuilder.build().name);
+        TypeSpec.Builder patcherBuilder = createPatcher(type, fieldsType);
+        if (isPublicGeneratedType(type)) {
+            patcherBuilder.addModifiers(Modifier.PUBLIC);
+        }
+
+        return List.of(fieldsBuilder, patcherBuilder);
+    }
+
+    @Override
+    protected TypeSpec.Builder process(FieldTypeModel type) {
+        String generatedTypeName = getGeneratedTypeName(type, type.element().getSimpleName() + "Fields");
         TypeSpec.Builder fieldsEnumBuilder = TypeSpec.interfaceBuilder(generatedTypeName);
-        if (isPublicGeneratedType(element)) {
+        if (isPublicGeneratedType(type)) {
             fieldsEnumBuilder.addModifiers(Modifier.PUBLIC);
         }
 
-        sourceFields.forEach(f -> fieldsEnumBuilder.addField(createField(f)));
+        type.members().forEach(f -> fieldsEnumBuilder.addField(createField(f)));
 
         return fieldsEnumBuilder;
     }
@@ -39,4 +74,123 @@ public class GenerateFieldNamesAnnotationProcessor extends AbstractFieldProcesso
                 .initializer("$S", fieldName)
                 .build();
     }
+
+    private TypeSpec.Builder createPatcher(FieldTypeModel type, ClassName fieldsType) {
+        Element element = type.element();
+        var elementType = TypeName.get(element.asType());
+        var fieldAccess = getFieldAccess(type);
+
+        TypeSpec.Builder patcherBuilder = TypeSpec.classBuilder(getPatcherName(fieldsType))
+                .addModifiers(Modifier.FINAL);
+        addVarHandleFields(patcherBuilder, element, type.members(), fieldAccess);
+
+        patcherBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .build());
+        patcherBuilder.addMethod(createApplyAllMethod(elementType));
+        patcherBuilder.addMethod(createApplyMethod(elementType, type.members(), fieldsType, fieldAccess));
+        patcherBuilder.addMethod(MethodSpec.methodBuilder("invalidValue")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(IllegalArgumentException.class)
+                .addParameter(String.class, "name")
+                .addParameter(Object.class, "value")
+                .addStatement("$T type = value == null ? null : value.getClass().getName()", String.class)
+                .addStatement("return new $T($S + name + $S + type)", IllegalArgumentException.class,
+                        "Invalid value for field ", ": ")
+                .build());
+
+        return patcherBuilder;
+    }
+
+    /**
+     * The patcher is named after the generated fields interface, so that a custom {@code generatedName} also
+     * renames the patcher, e.g. {@code OrderFields} to {@code OrderPatcher} and {@code OrderNames} to
+     * {@code OrderNamesPatcher}.
+     */
+    private static String getPatcherName(ClassName fieldsType) {
+        String fieldsName = fieldsType.simpleName();
+        String baseName = fieldsName.endsWith(FIELDS_SUFFIX)
+                ? fieldsName.substring(0, fieldsName.length() - FIELDS_SUFFIX.length())
+                : fieldsName;
+        return baseName + "Patcher";
+    }
+
+    /**
+     * The list of unknown names is allocated only when the patch contains one.
+     */
+    private MethodSpec createApplyAllMethod(TypeName elementType) {
+        var namesType = ParameterizedTypeName.get(List.class, String.class);
+        return MethodSpec.methodBuilder("apply")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(namesType)
+                .addParameter(elementType, "target")
+                .addParameter(ParameterizedTypeName.get(ClassName.get(Map.class), ClassName.get(String.class),
+                        WildcardTypeName.subtypeOf(Object.class)), "patch")
+                .addStatement("$T unknownNames = $T.of()", namesType, List.class)
+                .beginControlFlow("for ($T<$T, ?> entry : patch.entrySet())", Map.Entry.class, String.class)
+                .beginControlFlow("if (!apply(target, entry.getKey(), entry.getValue()))")
+                .beginControlFlow("if (unknownNames.isEmpty())")
+                .addStatement("unknownNames = new $T<>()", ArrayList.class)
+                .endControlFlow()
+                .addStatement("unknownNames.add(entry.getKey())")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return unknownNames")
+                .build();
+    }
+
+    /**
+     * A switch on strings compiles to a switch on the hash code of the name followed by {@code equals}, so
+     * dispatching does not depend on the number of fields.
+     */
+    private MethodSpec createApplyMethod(TypeName elementType, List<Element> fields, ClassName fieldsType,
+                                         GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("apply")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(TypeName.BOOLEAN)
+                .addParameter(elementType, "target")
+                .addParameter(String.class, "name")
+                .addParameter(Object.class, "value")
+                .beginControlFlow("if (name == null)")
+                .addStatement("return false")
+                .endControlFlow()
+                .beginControlFlow("switch (name)");
+
+        boolean unchecked = false;
+        for (Element f : fields) {
+            TypeName fieldType = TypeName.get(f.asType());
+            TypeName checkedType = TypeName.get(processingEnv.getTypeUtils().erasure(f.asType()));
+            unchecked |= !checkedType.equals(fieldType);
+
+            method.beginControlFlow("case $T.$L ->", fieldsType, getMemberName(f));
+            if (fieldType.isPrimitive()) {
+                method.beginControlFlow("if (!(value instanceof $T))", fieldType.box());
+            } else if (!checkedType.equals(TypeName.OBJECT)) {
+                method.beginControlFlow("if (value != null && !(value instanceof $T))", checkedType);
+            }
+            if (fieldType.isPrimitive() || !checkedType.equals(TypeName.OBJECT)) {
+                method.addStatement("throw invalidValue(name, value)")
+                        .endControlFlow();
+            }
+            CodeBlock value = fieldType.equals(TypeName.OBJECT)
+                    ? CodeBlock.of("value")
+                    : CodeBlock.of("($T) value", fieldType);
+            method.addStatement("$L", getFieldWriteExpression("target", f, value, fieldAccess))
+                    .endControlFlow();
+        }
+
+        method.beginControlFlow("default ->")
+                .addStatement("return false")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("return true");
+
+        if (unchecked) {
+            method.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build());
+        }
+
+        return method.build();
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.emick.codegen.fieldvisitor;
 
+import com.github.emick.codegen.common.GeneratedFieldAccess;
 import com.github.emick.codegen.common.GeneratedVisibility;
 
 import java.lang.annotation.ElementType;
@@ -23,10 +24,30 @@ import java.lang.annotation.Target;
  * class is automatically reflected in the generated class and thus any changes
  * such as adding, renaming or removing fields will trigger compilation errors,
  * signalling the developer to fix those.
+ *
+ * <p> The generated type is placed in the package of the annotated type, so non-private
+ * fields are accessed directly. Only private fields (and writes to final fields) fall back
+ * to {@link #fieldAccess()}.
+ *
+ * <p> With {@link #stateless()}, the generated class instead has type parameters {@code <C, R>} for a
+ * caller-supplied context and the visiting result. It has no state, so a single instance can be shared
+ * between threads: {@code R visitAll(MyClass instance, C context)} calls
+ * {@code visitDate(MyClass instance, C context, Date value)} per field and returns
+ * {@code complete(instance, context)}.
+ *
+ * <p> With {@link #selective()}, the generated class can also visit a subset of the fields, reading only
+ * those: {@code visit(int fieldOrdinal)} visits a single field through a switch over the ordinals, and
+ * {@code visitOnly(int...)} and {@code visitOnly(BitSet)} visit the given fields in the given or ascending
+ * order. Field ordinals follow the declaration order, the same as the ordinals of the
+ * {@link com.github.emick.codegen.fieldenum.GenerateFieldEnum} enum values. Stateless visitors take the
+ * instance and context as the first parameters and {@code visitOnly} returns {@code complete(instance, context)}.
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.SOURCE)
 public @interface GenerateFieldVisitor {
     String generatedName() default "";
     GeneratedVisibility visibility() default GeneratedVisibility.PUBLIC;
+    GeneratedFieldAccess fieldAccess() default GeneratedFieldAccess.REFLECTION;
+    boolean stateless() default false;
+    boolean selective() default false;
 }
@@ -1,38 +1,70 @@
 package com.github.emick.codegen.fieldvisitor;
 
 import com.github.emick.codegen.common.AbstractFieldProcessor;
-import com.github.emick.codegen.util.FieldGenReflectionUtil;
-import com.google.auto.service.AutoService;
+import com.github.emick.codegen.common.FieldTypeModel;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
 
-import javax.annotation.processing.Processor;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.Modifier;
+import java.util.BitSet;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Annotation processor for {@link GenerateFieldVisitor}.
  */
-@AutoService(Processor.class)
 public class GenerateFieldVisitorAnnotationProcessor extends AbstractFieldProcessor {
+
+    private static final String STATELESS_PROPERTY = "stateless";
+    private static final String SELECTIVE_PROPERTY = "selective";
+    private static final TypeVariableName CONTEXT_TYPE = TypeVariableName.get("C");
+    private static final TypeVariableName RESULT_TYPE = TypeVariableName.get("R");
 
     public GenerateFieldVisitorAnnotationProcessor() {
         super(GenerateFieldVisitor.class);
     }
 
     @Override
-    protected TypeSpec.Builder process(Element element, List<Element> sourceFields) {
-        String generatedTypeName = getGeneratedTypeName(element, element.getSimpleName() + "FieldVisitor");
+    protected TypeSpec.Builder process(FieldTypeModel type) {
+        Element element = type.element();
+        List<Element> sourceFields = type.members();
+
+        String generatedTypeName = getGeneratedTypeName(type, element.getSimpleName() + "FieldVisitor");
         TypeSpec.Builder fieldVisitorBuilder = TypeSpec.classBuilder(generatedTypeName)
                 .addModifiers(Modifier.ABSTRACT);
-        if (isPublicGeneratedType(element)) {
+        if (isPublicGeneratedType(type)) {
             fieldVisitorBuilder.addModifiers(Modifier.PUBLIC);
         }
 
         var elementType = TypeName.get(element.asType());
+        var fieldAccess = getFieldAccess(type);
+
+        addVarHandleFields(fieldVisitorBuilder, element, sourceFields, fieldAccess);
+
+        boolean selective = getBooleanAnnotationValue(type, SELECTIVE_PROPERTY, false);
+        if (getBooleanAnnotationValue(type, STATELESS_PROPERTY, false)) {
+            fieldVisitorBuilder.addTypeVariable(CONTEXT_TYPE);
+            fieldVisitorBuilder.addTypeVariable(RESULT_TYPE);
+
+            sourceFields.forEach(f -> fieldVisitorBuilder.addMethod(createStatelessFieldVisitMethod(elementType, f)));
+
+            fieldVisitorBuilder.addMethod(createCompleteMethod(elementType));
+            fieldVisitorBuilder.addMethod(createStatelessVisitAllMethod(elementType, sourceFields, fieldAccess));
+
+            if (selective) {
+                fieldVisitorBuilder.addMethod(createStatelessVisitMethod(elementType, sourceFields, fieldAccess));
+                fieldVisitorBuilder.addMethod(createStatelessVisitOnlyMethod(elementType, TypeName.get(int[].class)));
+                fieldVisitorBuilder.addMethod(createStatelessVisitOnlyMethod(elementType, TypeName.get(BitSet.class)));
+            }
+
+            return fieldVisitorBuilder;
+        }
 
         fieldVisitorBuilder.addField(elementType, "instance", Modifier.PRIVATE);
         fieldVisitorBuilder.addMethod(MethodSpec.constructorBuilder()
@@ -42,34 +74,126 @@ public class GenerateFieldVisitorAnnotationProcessor extends AbstractFieldProces
 
         sourceFields.forEach(f -> fieldVisitorBuilder.addMethod(createFieldVisitMethod(f)));
 
-        fieldVisitorBuilder.addMethod(createVisitAllMethod(sourceFields));
+        fieldVisitorBuilder.addMethod(createVisitAllMethod(sourceFields, fieldAccess));
+
+        if (selective) {
+            fieldVisitorBuilder.addMethod(createVisitMethod(sourceFields, fieldAccess));
+            fieldVisitorBuilder.addMethod(createVisitOnlyMethod(TypeName.get(int[].class)));
+            fieldVisitorBuilder.addMethod(createVisitOnlyMethod(TypeName.get(BitSet.class)));
+        }
 
         return fieldVisitorBuilder;
     }
 
 
-    private static MethodSpec createVisitAllMethod(List<Element> fields) {
+    private static MethodSpec createVisitAllMethod(List<Element> fields, GeneratedFieldAccess fieldAccess) {
         var method = MethodSpec.methodBuilder("visitAll")
                 .addModifiers(Modifier.PUBLIC);
 
-        fields.forEach(f -> {
-            if (isRecordComponentMember(f) || isRecordMember(f)) {
-                method.addStatement("$L($L)",
-                        getVisitorMethodName(f),
-                        getSourceValueExpression("instance", f));
-                return;
-            }
+        fields.forEach(f -> method.addStatement("$L($L)",
+                getVisitorMethodName(f),
+                getValueExpression("instance", f, fieldAccess)));
 
-            method.addStatement("$L(($T)$L.getFieldValue(instance, $S))",
-                    getVisitorMethodName(f),
-                    TypeName.get(f.asType()),
-                    FieldGenReflectionUtil.class.getCanonicalName(),
-                    getMemberName(f));
-        });
+        return method.build();
+    }
+
+    private static MethodSpec createStatelessVisitAllMethod(TypeName elementType, List<Element> fields,
+                                                            GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("visitAll")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(RESULT_TYPE)
+                .addParameter(elementType, "instance")
+                .addParameter(CONTEXT_TYPE, "context");
+
+        fields.forEach(f -> method.addStatement("$L(instance, context, $L)",
+                getVisitorMethodName(f),
+                getValueExpression("instance", f, fieldAccess)));
+
+        method.addStatement("return complete(instance, context)");
+        return method.build();
+    }
+
+    /**
+     * Creates {@code visit(int fieldOrdinal)}, which dispatches to the visit method of a single field. The
+     * ordinals are dense, so javac compiles the switch to a {@code tableswitch}.
+     */
+    private static MethodSpec createVisitMethod(List<Element> fields, GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("visit")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "fieldOrdinal");
+
+        addFieldOrdinalSwitch(method, fields, f -> CodeBlock.of("$L($L)",
+                getVisitorMethodName(f),
+                getValueExpression("instance", f, fieldAccess)));
 
         return method.build();
     }
 
+    private static MethodSpec createStatelessVisitMethod(TypeName elementType, List<Element> fields,
+                                                         GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("visit")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(elementType, "instance")
+                .addParameter(CONTEXT_TYPE, "context")
+                .addParameter(TypeName.INT, "fieldOrdinal");
+
+        addFieldOrdinalSwitch(method, fields, f -> CodeBlock.of("$L(instance, context, $L)",
+                getVisitorMethodName(f),
+                getValueExpression("instance", f, fieldAccess)));
+
+        return method.build();
+    }
+
+    private static void addFieldOrdinalSwitch(MethodSpec.Builder method, List<Element> fields,
+                                              Function<Element, CodeBlock> visitStatement) {
+        method.beginControlFlow("switch (fieldOrdinal)");
+        for (int i = 0; i < fields.size(); i++) {
+            method.addStatement("case $L -> $L", i, visitStatement.apply(fields.get(i)));
+        }
+        method.addStatement("default -> throw new $T(fieldOrdinal)", IndexOutOfBoundsException.class);
+        method.endControlFlow();
+    }
+
+    /**
+     * Creates {@code visitOnly} for either {@code int...} ordinals or a {@link BitSet} of ordinals, which
+     * reads and visits only the given fields.
+     */
+    private static MethodSpec createVisitOnlyMethod(TypeName fieldsType) {
+        var method = MethodSpec.methodBuilder("visitOnly")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(fieldsType, "fieldOrdinals");
+
+        addFieldOrdinalLoop(method, fieldsType, "visit(fieldOrdinal)");
+
+        return method.build();
+    }
+
+    private static MethodSpec createStatelessVisitOnlyMethod(TypeName elementType, TypeName fieldsType) {
+        var method = MethodSpec.methodBuilder("visitOnly")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(RESULT_TYPE)
+                .addParameter(elementType, "instance")
+                .addParameter(CONTEXT_TYPE, "context")
+                .addParameter(fieldsType, "fieldOrdinals");
+
+        addFieldOrdinalLoop(method, fieldsType, "visit(instance, context, fieldOrdinal)");
+
+        method.addStatement("return complete(instance, context)");
+        return method.build();
+    }
+
+    private static void addFieldOrdinalLoop(MethodSpec.Builder method, TypeName fieldsType, String visitStatement) {
+        if (fieldsType.equals(TypeName.get(BitSet.class))) {
+            method.beginControlFlow("for (int fieldOrdinal = fieldOrdinals.nextSetBit(0); fieldOrdinal >= 0; "
+                    + "fieldOrdinal = fieldOrdinals.nextSetBit(fieldOrdinal + 1))");
+        } else {
+            method.varargs();
+            method.beginControlFlow("for (int fieldOrdinal : fieldOrdinals)");
+        }
+        method.addStatement(visitStatement);
+        method.endControlFlow();
+    }
+
     private MethodSpec createFieldVisitMethod(Element f) {
         return MethodSpec.methodBuilder(getVisitorMethodName(f))
                 .addModifiers(Modifier.ABSTRACT, Modifier.PROTECTED)
@@ -78,13 +202,31 @@ public class GenerateFieldVisitorAnnotationProcessor extends AbstractFieldProces
                 .build();
     }
 
+    private MethodSpec createStatelessFieldVisitMethod(TypeName elementType, Element f) {
+        return MethodSpec.methodBuilder(getVisitorMethodName(f))
+                .addModifiers(Modifier.ABSTRACT, Modifier.PROTECTED)
+                .addParameter(elementType, "instance")
+                .addParameter(CONTEXT_TYPE, "context")
+                .addParameter(ParameterSpec.builder(TypeName.get(f.asType()), "value")
+                        .build())
+                .build();
+    }
+
+    /**
+     * Creates the method producing the result of a stateless {@code visitAll} after all fields have been visited.
+     */
+    private static MethodSpec createCompleteMethod(TypeName elementType) {
+        return MethodSpec.methodBuilder("complete")
+                .addModifiers(Modifier.ABSTRACT, Modifier.PROTECTED)
+                .returns(RESULT_TYPE)
+                .addParameter(elementType, "instance")
+                .addParameter(CONTEXT_TYPE, "context")
+                .build();
+    }
+
     private static String getVisitorMethodName(Element element) {
         String fieldName = getMemberName(element);
         String capitalizedName = capitalize(fieldName);
         return "visit" + capitalizedName;
     }
-
-    private static String getSourceValueExpression(String instanceName, Element member) {
-        return instanceName + "." + member.getSimpleName() + "()";
-    }
 }
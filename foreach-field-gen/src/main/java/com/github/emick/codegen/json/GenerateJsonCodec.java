@@ -0,0 +1,37 @@
+package com.github.emick.codegen.json;
+
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.common.GeneratedVisibility;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * For each class or record annotated with this annotation, a class with type name
+ * postfixed with "JsonCodec" is generated. The generated class writes an instance as a JSON object
+ * and reads it back with a {@link com.github.emick.codegen.util.JsonReader}, without reflection for
+ * non-private fields and record components and without an intermediate tree. Private fields are accessed through a
+ * {@link java.lang.invoke.VarHandle} unless {@link #fieldAccess()} is {@code REFLECTION}.
+ *
+ * <p> E.g. for class {@code MyClass}, {@code void write(MyClass value, OutputStream out)} writes the fields
+ * in declaration order as UTF-8, with the member names pre-encoded as byte arrays, and
+ * {@code void write(MyClass value, Appendable out)} writes the same JSON as characters.
+ * {@code void read(JsonReader reader, MyClass target)} assigns the members present in the object to an existing
+ * instance, dispatching on the member name with a string switch and skipping unknown members, and, if
+ * {@code MyClass} has a non-private no-argument constructor, {@code MyClass read(JsonReader reader)} creates a new
+ * instance. For records, {@code MyRecord read(JsonReader reader)} calls the canonical constructor with default
+ * values for the missing components.
+ *
+ * <p> Supported field types are primitives, boxed primitives, {@link String}, enums, written by name, and types
+ * annotated with this annotation in the same compilation, which are written as nested objects by their own
+ * generated codec.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateJsonCodec {
+    String generatedName() default "";
+    GeneratedVisibility visibility() default GeneratedVisibility.PUBLIC;
+    GeneratedFieldAccess fieldAccess() default GeneratedFieldAccess.VAR_HANDLE;
+}
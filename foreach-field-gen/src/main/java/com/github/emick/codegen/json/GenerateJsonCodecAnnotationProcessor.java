@@ -0,0 +1,296 @@
+package com.github.emick.codegen.json;
+
+import com.github.emick.codegen.common.AbstractFieldProcessor;
+import com.github.emick.codegen.common.BinaryFieldEncoding;
+import com.github.emick.codegen.common.FieldTypeModel;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.fieldenum.EnumUtil;
+import com.github.emick.codegen.util.JsonCodecUtil;
+import com.github.emick.codegen.util.JsonReader;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Annotation processor for {@link GenerateJsonCodec}.
+ */
+public class GenerateJsonCodecAnnotationProcessor extends AbstractFieldProcessor {
+
+    private static final Map<TypeName, String> WRITE_METHODS = Map.of(
+            TypeName.BOOLEAN, "writeBoolean",
+            TypeName.BYTE, "writeLong",
+            TypeName.CHAR, "writeChar",
+            TypeName.SHORT, "writeLong",
+            TypeName.INT, "writeLong",
+            TypeName.LONG, "writeLong",
+            TypeName.FLOAT, "writeFloat",
+            TypeName.DOUBLE, "writeDouble");
+
+    public GenerateJsonCodecAnnotationProcessor() {
+        super(GenerateJsonCodec.class);
+    }
+
+    @Override
+    protected List<TypeSpec.Builder> processAll(FieldTypeModel type) {
+        boolean valid = true;
+        for (Element f : type.members()) {
+            TypeElement nestedType = getNestedCodecType(f.asType());
+            if (nestedType != null && !isInstantiable(nestedType)) {
+                error(f, "Type " + f.asType() + " must be a record or have a non-private no-argument constructor "
+                        + "to be read by @" + GenerateJsonCodec.class.getSimpleName());
+                valid = false;
+            } else if (nestedType == null && !BinaryFieldEncoding.isSupported(f.asType())) {
+                error(f, "Type " + f.asType() + " is not supported by @" + GenerateJsonCodec.class.getSimpleName());
+                valid = false;
+            }
+        }
+
+        return valid ? super.processAll(type) : List.of();
+    }
+
+    @Override
+    protected TypeSpec.Builder process(FieldTypeModel type) {
+        Element element = type.element();
+        List<Element> sourceFields = type.members();
+
+        String generatedTypeName = getGeneratedTypeName(type, element.getSimpleName() + "JsonCodec");
+        TypeSpec.Builder codecBuilder = TypeSpec.classBuilder(generatedTypeName)
+                .addModifiers(Modifier.FINAL);
+        if (isPublicGeneratedType(type)) {
+            codecBuilder.addModifiers(Modifier.PUBLIC);
+        }
+
+        var elementType = TypeName.get(element.asType());
+        var fieldAccess = getFieldAccess(type);
+
+        // The opening brace or separating comma is part of the pre-encoded key of each member
+        for (int i = 0; i < sourceFields.size(); i++) {
+            codecBuilder.addField(FieldSpec.builder(ArrayTypeName.of(TypeName.BYTE),
+                            getKeyConstantName(sourceFields.get(i)), Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$S.getBytes($T.UTF_8)", getKey(sourceFields, i), StandardCharsets.class)
+                    .build());
+        }
+
+        addVarHandleFields(codecBuilder, element, sourceFields, fieldAccess);
+
+        codecBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PRIVATE)
+                .build());
+        codecBuilder.addMethod(createOutputStreamWriteMethod(elementType, sourceFields, fieldAccess));
+        codecBuilder.addMethod(createAppendableWriteMethod(elementType, sourceFields, fieldAccess));
+
+        if (element.getKind() == ElementKind.RECORD) {
+            codecBuilder.addMethod(createRecordReadMethod(elementType, sourceFields));
+        } else {
+            if (isInstantiable((TypeElement) element)) {
+                codecBuilder.addMethod(MethodSpec.methodBuilder("read")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(elementType)
+                        .addParameter(JsonReader.class, "reader")
+                        .addException(IOException.class)
+                        .addStatement("$1T value = new $1T()", elementType)
+                        .addStatement("read(reader, value)")
+                        .addStatement("return value")
+                        .build());
+            }
+            codecBuilder.addMethod(createReadIntoMethod(elementType, sourceFields, fieldAccess));
+        }
+
+        return codecBuilder;
+    }
+
+    private MethodSpec createOutputStreamWriteMethod(TypeName elementType, List<Element> fields,
+                                                     GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("write")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(elementType, "value")
+                .addParameter(OutputStream.class, "out")
+                .addException(IOException.class);
+
+        if (fields.isEmpty()) {
+            method.addStatement("out.write('{')");
+        }
+        fields.forEach(f -> method.addStatement("out.write($L)", getKeyConstantName(f))
+                .addCode(getWriteStatements(f, getValueExpression("value", f, fieldAccess))));
+        method.addStatement("out.write('}')");
+
+        return method.build();
+    }
+
+    private MethodSpec createAppendableWriteMethod(TypeName elementType, List<Element> fields,
+                                                   GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("write")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(elementType, "value")
+                .addParameter(Appendable.class, "out")
+                .addException(IOException.class);
+
+        if (fields.isEmpty()) {
+            method.addStatement("out.append('{')");
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            Element f = fields.get(i);
+            method.addStatement("out.append($S)", getKey(fields, i))
+                    .addCode(getWriteStatements(f, getValueExpression("value", f, fieldAccess)));
+        }
+        method.addStatement("out.append('}')");
+
+        return method.build();
+    }
+
+    private MethodSpec createReadIntoMethod(TypeName elementType, List<Element> fields, GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("read")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(JsonReader.class, "reader")
+                .addParameter(elementType, "target")
+                .addException(IOException.class);
+
+        addReadLoop(method, fields, f -> getFieldWriteExpression("target", f, getReadExpression(f.asType()),
+                fieldAccess));
+
+        return method.build();
+    }
+
+    /**
+     * Components missing from the object get the default value of their type, like the fields of a class
+     * created with its no-argument constructor.
+     */
+    private MethodSpec createRecordReadMethod(TypeName elementType, List<Element> fields) {
+        var method = MethodSpec.methodBuilder("read")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(elementType)
+                .addParameter(JsonReader.class, "reader")
+                .addException(IOException.class);
+
+        fields.forEach(f -> method.addStatement("$T $L = $L", TypeName.get(f.asType()), getLocalName(f),
+                getDefaultValue(TypeName.get(f.asType()))));
+        addReadLoop(method, fields, f -> CodeBlock.of("$L = $L", getLocalName(f), getReadExpression(f.asType())));
+
+        CodeBlock arguments = fields.stream()
+                .map(f -> CodeBlock.of("$L", getLocalName(f)))
+                .collect(CodeBlock.joining(", "));
+        method.addStatement("return new $T($L)", elementType, arguments);
+
+        return method.build();
+    }
+
+    private static void addReadLoop(MethodSpec.Builder method, List<Element> fields,
+                                    Function<Element, CodeBlock> readStatement) {
+        method.addStatement("reader.beginObject()")
+                .beginControlFlow("while (reader.hasNext())")
+                .beginControlFlow("switch (reader.nextName())");
+        fields.forEach(f -> method.addStatement("case $S -> $L", getMemberName(f), readStatement.apply(f)));
+        method.addStatement("default -> reader.skipValue()")
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("reader.endObject()");
+    }
+
+    private CodeBlock getWriteStatements(Element field, CodeBlock value) {
+        TypeMirror type = field.asType();
+        TypeName typeName = TypeName.get(type);
+        if (typeName.isPrimitive()) {
+            return CodeBlock.builder()
+                    .addStatement("$T.$L(out, $L)", JsonCodecUtil.class, WRITE_METHODS.get(typeName), value)
+                    .build();
+        }
+
+        if (typeName.equals(TypeName.get(String.class))) {
+            return CodeBlock.builder()
+                    .addStatement("$T.writeString(out, $L)", JsonCodecUtil.class, value)
+                    .build();
+        }
+
+        if (BinaryFieldEncoding.isEnum(type)) {
+            return CodeBlock.builder()
+                    .addStatement("$T.writeEnum(out, $L)", JsonCodecUtil.class, value)
+                    .build();
+        }
+
+        String valueName = "value" + capitalize(getMemberName(field));
+        TypeElement nestedType = getNestedCodecType(type);
+        CodeBlock nonNullWrite = nestedType != null
+                ? CodeBlock.of("$T.write($L, out)", getCodecClassName(nestedType), valueName)
+                : CodeBlock.of("$T.$L(out, $L)", JsonCodecUtil.class, WRITE_METHODS.get(typeName.unbox()), valueName);
+
+        return CodeBlock.builder()
+                .addStatement("$T $L = $L", typeName, valueName, value)
+                .beginControlFlow("if ($L == null)", valueName)
+                .addStatement("$T.writeNull(out)", JsonCodecUtil.class)
+                .nextControlFlow("else")
+                .addStatement(nonNullWrite)
+                .endControlFlow()
+                .build();
+    }
+
+    private CodeBlock getReadExpression(TypeMirror type) {
+        TypeName typeName = TypeName.get(type);
+        if (typeName.isPrimitive()) {
+            return getPrimitiveReadExpression(typeName);
+        }
+
+        if (typeName.isBoxedPrimitive()) {
+            return CodeBlock.of("reader.nextNull() ? null : $L", getPrimitiveReadExpression(typeName.unbox()));
+        }
+
+        if (typeName.equals(TypeName.get(String.class))) {
+            return CodeBlock.of("reader.nextString()");
+        }
+
+        if (BinaryFieldEncoding.isEnum(type)) {
+            return CodeBlock.of("reader.nextNull() ? null : $T.valueOf(reader.nextString())", typeName);
+        }
+
+        return CodeBlock.of("reader.nextNull() ? null : $T.read(reader)", getCodecClassName(getNestedCodecType(type)));
+    }
+
+    private static CodeBlock getPrimitiveReadExpression(TypeName primitiveType) {
+        if (primitiveType.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("reader.nextBoolean()");
+        }
+        if (primitiveType.equals(TypeName.CHAR)) {
+            return CodeBlock.of("reader.nextChar()");
+        }
+        if (primitiveType.equals(TypeName.FLOAT)) {
+            return CodeBlock.of("(float) reader.nextDouble()");
+        }
+        return CodeBlock.of("reader.next$L()", capitalize(primitiveType.toString()));
+    }
+
+    private static TypeElement getNestedCodecType(TypeMirror type) {
+        return getAnnotatedTypeElement(type, GenerateJsonCodec.class);
+    }
+
+    private static ClassName getCodecClassName(TypeElement nestedType) {
+        return getGeneratedClassName(nestedType, nestedType.getAnnotation(GenerateJsonCodec.class).generatedName(),
+                "JsonCodec");
+    }
+
+    private static String getKey(List<Element> fields, int index) {
+        return (index == 0 ? "{" : ",") + "\"" + getMemberName(fields.get(index)) + "\":";
+    }
+
+    private static String getKeyConstantName(Element field) {
+        return EnumUtil.fieldNameToEnumName(getMemberName(field)) + "_KEY";
+    }
+
+    private static String getLocalName(Element field) {
+        return "value" + capitalize(getMemberName(field));
+    }
+}
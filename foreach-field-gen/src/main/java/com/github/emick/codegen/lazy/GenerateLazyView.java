@@ -0,0 +1,36 @@
+package com.github.emick.codegen.lazy;
+
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.common.GeneratedVisibility;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * For each class or record annotated with this annotation, a class with type name
+ * postfixed with "LazyView" is generated. The generated class writes an instance as a table of field offsets
+ * followed by the fields, and reads single fields of written bytes without decoding the other fields.
+ *
+ * <p> E.g. for class {@code MyClass}, {@code static void write(MyClass value, ByteBuffer buffer)} writes an
+ * {@code int} offset per field relative to the start of the written bytes, and then the fields in declaration
+ * order encoded like in {@link com.github.emick.codegen.binary.GenerateBinaryCodec}. {@code wrap(byte[] bytes)}
+ * and {@code wrap(ByteBuffer buffer, int offset)} position the view at written bytes, {@code int getMyField()}
+ * decodes a field at its offset, and {@code MyClass materialize()} decodes all fields into a new instance, for
+ * classes only if {@code MyClass} has a non-private no-argument constructor.
+ *
+ * <p> Supported field types are primitives, boxed primitives, {@link String} and enums, see
+ * {@link com.github.emick.codegen.common.BinaryFieldEncoding}. The bytes must be read in the byte order they were
+ * written in, which is the big-endian order of {@code wrap(byte[] bytes)} unless the buffers are configured
+ * otherwise. Views read with absolute {@code get} methods and do not change the buffer, but are not thread-safe.
+ * {@code write} and {@code materialize} access private fields through a {@link java.lang.invoke.VarHandle} unless
+ * {@link #fieldAccess()} is {@code REFLECTION}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateLazyView {
+    String generatedName() default "";
+    GeneratedVisibility visibility() default GeneratedVisibility.PUBLIC;
+    GeneratedFieldAccess fieldAccess() default GeneratedFieldAccess.VAR_HANDLE;
+}
@@ -0,0 +1,164 @@
+package com.github.emick.codegen.lazy;
+
+import com.github.emick.codegen.common.AbstractFieldProcessor;
+import com.github.emick.codegen.common.BinaryFieldEncoding;
+import com.github.emick.codegen.common.FieldTypeModel;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.fieldenum.EnumUtil;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Annotation processor for {@link GenerateLazyView}.
+ */
+public class GenerateLazyViewAnnotationProcessor extends AbstractFieldProcessor {
+
+    public GenerateLazyViewAnnotationProcessor() {
+        super(GenerateLazyView.class);
+    }
+
+    @Override
+    protected List<TypeSpec.Builder> processAll(FieldTypeModel type) {
+        boolean valid = true;
+        for (Element f : type.members()) {
+            if (!BinaryFieldEncoding.isSupported(f.asType())) {
+                error(f, "Type " + f.asType() + " is not supported by @" + GenerateLazyView.class.getSimpleName());
+                valid = false;
+            }
+        }
+
+        return valid ? super.processAll(type) : List.of();
+    }
+
+    @Override
+    protected TypeSpec.Builder process(FieldTypeModel type) {
+        Element element = type.element();
+        List<Element> sourceFields = type.members();
+
+        String generatedTypeName = getGeneratedTypeName(type, element.getSimpleName() + "LazyView");
+        var viewType = ClassName.get(type.packageName(), generatedTypeName);
+        TypeSpec.Builder viewBuilder = TypeSpec.classBuilder(viewType)
+                .addModifiers(Modifier.FINAL);
+        if (isPublicGeneratedType(type)) {
+            viewBuilder.addModifiers(Modifier.PUBLIC);
+        }
+
+        var elementType = TypeName.get(element.asType());
+        var fieldAccess = getFieldAccess(type);
+
+        viewBuilder.addField(FieldSpec.builder(TypeName.INT, "TABLE_SIZE", Modifier.PRIVATE, Modifier.STATIC,
+                        Modifier.FINAL)
+                .initializer("$L", sourceFields.size() * Integer.BYTES)
+                .build());
+        for (int i = 0; i < sourceFields.size(); i++) {
+            viewBuilder.addField(FieldSpec.builder(TypeName.INT, getEntryName(sourceFields.get(i)),
+                            Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                    .initializer("$L", i * Integer.BYTES)
+                    .build());
+        }
+
+        addVarHandleFields(viewBuilder, element, sourceFields, fieldAccess);
+
+        viewBuilder.addField(ByteBuffer.class, "buffer", Modifier.PRIVATE);
+        viewBuilder.addField(TypeName.INT, "offset", Modifier.PRIVATE);
+
+        viewBuilder.addMethod(createWriteMethod(elementType, sourceFields, fieldAccess));
+        viewBuilder.addMethod(MethodSpec.methodBuilder("wrap")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(viewType)
+                .addParameter(ArrayTypeName.of(TypeName.BYTE), "bytes")
+                .addStatement("return wrap($T.wrap(bytes), 0)", ByteBuffer.class)
+                .build());
+        viewBuilder.addMethod(MethodSpec.methodBuilder("wrap")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(viewType)
+                .addParameter(ByteBuffer.class, "buffer")
+                .addParameter(TypeName.INT, "offset")
+                .addStatement("$T.checkFromIndexSize(offset, TABLE_SIZE, buffer.limit())", Objects.class)
+                .addStatement("this.buffer = buffer")
+                .addStatement("this.offset = offset")
+                .addStatement("return this")
+                .build());
+
+        sourceFields.forEach(f -> viewBuilder.addMethod(MethodSpec.methodBuilder(getGetterName(f))
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.get(f.asType()))
+                .addStatement("int index = offset + buffer.getInt(offset + $L)", getEntryName(f))
+                .addStatement("return $L", BinaryFieldEncoding.getReadExpression(f.asType(), "buffer", "index"))
+                .build()));
+
+        if (element.getKind() == ElementKind.RECORD) {
+            CodeBlock arguments = sourceFields.stream()
+                    .map(f -> CodeBlock.of("$L()", getGetterName(f)))
+                    .collect(CodeBlock.joining(", "));
+            viewBuilder.addMethod(MethodSpec.methodBuilder("materialize")
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(elementType)
+                    .addStatement("return new $T($L)", elementType, arguments)
+                    .build());
+        } else {
+            if (isInstantiable((TypeElement) element)) {
+                viewBuilder.addMethod(MethodSpec.methodBuilder("materialize")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(elementType)
+                        .addStatement("$1T value = new $1T()", elementType)
+                        .addStatement("materialize(value)")
+                        .addStatement("return value")
+                        .build());
+            }
+            var materializeInto = MethodSpec.methodBuilder("materialize")
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(elementType, "target");
+            sourceFields.forEach(f -> materializeInto.addStatement("$L", getFieldWriteExpression("target", f,
+                    CodeBlock.of("$L()", getGetterName(f)), fieldAccess)));
+            viewBuilder.addMethod(materializeInto.build());
+        }
+
+        return viewBuilder;
+    }
+
+    /**
+     * The offset table is skipped first and each entry is filled in just before its field is written, so the
+     * fields are written in a single pass.
+     */
+    private static MethodSpec createWriteMethod(TypeName elementType, List<Element> fields,
+                                                GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("write")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(elementType, "value")
+                .addParameter(ByteBuffer.class, "buffer")
+                .addStatement("int start = buffer.position()")
+                .addStatement("buffer.position(start + TABLE_SIZE)");
+
+        fields.forEach(f -> {
+            String valueName = "value" + capitalize(getMemberName(f));
+            method.addStatement("buffer.putInt(start + $L, buffer.position() - start)", getEntryName(f))
+                    .addStatement("$T $L = $L", TypeName.get(f.asType()), valueName,
+                            getValueExpression("value", f, fieldAccess))
+                    .addCode(BinaryFieldEncoding.getWriteStatements(f.asType(), "buffer", valueName));
+        });
+
+        return method.build();
+    }
+
+    private static String getGetterName(Element field) {
+        return "get" + capitalize(getMemberName(field));
+    }
+
+    private static String getEntryName(Element field) {
+        return EnumUtil.fieldNameToEnumName(getMemberName(field)) + "_ENTRY";
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.emick.codegen.offheap;
+
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.common.GeneratedVisibility;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * For each class or record annotated with this annotation, a flyweight class with type name postfixed with "View"
+ * and a store class with type name postfixed with "Store" are generated. Together they keep instances as
+ * fixed-width records in a direct {@link java.nio.ByteBuffer}, outside the garbage collected heap.
+ *
+ * <p> E.g. for class {@code MyClass}, {@code MyClassView} has a {@code SIZE} constant with the width of a record
+ * and reads and writes each field at a fixed offset from the record it is positioned at with
+ * {@code wrap(ByteBuffer buffer, int offset)}, e.g. {@code int getMyField()} and {@code void setMyField(int value)}.
+ * {@code void set(MyClass value)} copies all fields of an instance to the record, and {@code MyClass get()} creates
+ * an instance from it, for classes only if {@code MyClass} has a non-private no-argument constructor.
+ * {@code MyClassStore} allocates a buffer for a fixed number of records and positions views at them by index.
+ *
+ * <p> Only primitive and enum fields are supported, other fields fail the compilation. Enums are stored by
+ * ordinal, with -1 for {@code null}. Fields are laid out from the widest to the narrowest so that each is aligned
+ * to its width. Views and stores are not thread-safe. {@code set} and {@code get} access private fields through a
+ * {@link java.lang.invoke.VarHandle} unless {@link #fieldAccess()} is {@code REFLECTION}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface GenerateOffHeapView {
+    GeneratedVisibility visibility() default GeneratedVisibility.PUBLIC;
+    GeneratedFieldAccess fieldAccess() default GeneratedFieldAccess.VAR_HANDLE;
+}
@@ -0,0 +1,325 @@
+package com.github.emick.codegen.offheap;
+
+import com.github.emick.codegen.common.AbstractFieldProcessor;
+import com.github.emick.codegen.common.BinaryFieldEncoding;
+import com.github.emick.codegen.common.FieldTypeModel;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.fieldenum.EnumUtil;
+import com.squareup.javapoet.ArrayTypeName;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Annotation processor for {@link GenerateOffHeapView}.
+ */
+public class GenerateOffHeapViewAnnotationProcessor extends AbstractFieldProcessor {
+
+    /**
+     * A member of the annotated type at a fixed offset of a record. Enums are stored by ordinal in a field of
+     * {@code storedType}.
+     */
+    private record Slot(Element member, TypeName storedType, int width, int offset) {
+    }
+
+    public GenerateOffHeapViewAnnotationProcessor() {
+        super(GenerateOffHeapView.class);
+    }
+
+    @Override
+    protected List<TypeSpec.Builder> processAll(FieldTypeModel type) {
+        boolean valid = true;
+        for (Element f : type.members()) {
+            if (!f.asType().getKind().isPrimitive() && !BinaryFieldEncoding.isEnum(f.asType())) {
+                error(f, "Type " + f.asType() + " is not supported by @" + GenerateOffHeapView.class.getSimpleName()
+                        + ", only primitive and enum fields can be stored off-heap");
+                valid = false;
+            }
+        }
+        if (!valid) {
+            return List.of();
+        }
+
+        TypeSpec.Builder viewBuilder = process(type);
+        var viewType = ClassName.get(type.packageName(), type.element().getSimpleName() + "View");
+        var storeType = ClassName.get(type.packageName(), type.element().getSimpleName() + "Store");
+        TypeSpec.Builder storeBuilder = createStore(type, viewType, storeType, getLayout(type.members()));
+        if (isPublicGeneratedType(type)) {
+            storeBuilder.addModifiers(Modifier.PUBLIC);
+        }
+
+        return List.of(viewBuilder, storeBuilder);
+    }
+
+    @Override
+    protected TypeSpec.Builder process(FieldTypeModel type) {
+        Element element = type.element();
+        List<Element> sourceFields = type.members();
+
+        var viewType = ClassName.get(type.packageName(), element.getSimpleName() + "View");
+        TypeSpec.Builder viewBuilder = TypeSpec.classBuilder(viewType)
+                .addModifiers(Modifier.FINAL);
+        if (isPublicGeneratedType(type)) {
+            viewBuilder.addModifiers(Modifier.PUBLIC);
+        }
+
+        var elementType = TypeName.get(element.asType());
+        var fieldAccess = getFieldAccess(type);
+        List<Slot> layout = getLayout(sourceFields);
+
+        viewBuilder.addField(FieldSpec.builder(TypeName.INT, "SIZE", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", getRecordSize(layout))
+                .build());
+        layout.forEach(s -> viewBuilder.addField(FieldSpec.builder(TypeName.INT, getOffsetName(s.member()),
+                        Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", s.offset())
+                .build()));
+        layout.stream()
+                .filter(s -> BinaryFieldEncoding.isEnum(s.member().asType()))
+                .forEach(s -> viewBuilder.addField(FieldSpec.builder(
+                                ArrayTypeName.of(TypeName.get(s.member().asType())), getEnumValuesName(s.member()),
+                                Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$T.values()", TypeName.get(s.member().asType()))
+                        .build()));
+
+        addVarHandleFields(viewBuilder, element, sourceFields, fieldAccess);
+
+        viewBuilder.addField(ByteBuffer.class, "buffer", Modifier.PRIVATE);
+        viewBuilder.addField(TypeName.INT, "offset", Modifier.PRIVATE);
+
+        viewBuilder.addMethod(MethodSpec.methodBuilder("wrap")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(viewType)
+                .addParameter(ByteBuffer.class, "buffer")
+                .addParameter(TypeName.INT, "offset")
+                .addStatement("$T.checkFromIndexSize(offset, SIZE, buffer.limit())", Objects.class)
+                .addStatement("this.buffer = buffer")
+                .addStatement("this.offset = offset")
+                .addStatement("return this")
+                .build());
+
+        // Getters and setters in declaration order, although the fields are laid out by width
+        sourceFields.forEach(f -> {
+            Slot slot = layout.stream().filter(s -> s.member() == f).findFirst().orElseThrow();
+            viewBuilder.addMethod(createGetMethod(slot));
+            viewBuilder.addMethod(createSetMethod(slot));
+        });
+
+        var set = MethodSpec.methodBuilder("set")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(elementType, "value");
+        sourceFields.forEach(f -> set.addStatement("set$L($L)", capitalize(getMemberName(f)),
+                getValueExpression("value", f, fieldAccess)));
+        viewBuilder.addMethod(set.build());
+
+        if (element.getKind() == ElementKind.RECORD) {
+            CodeBlock arguments = sourceFields.stream()
+                    .map(f -> CodeBlock.of("get$L()", capitalize(getMemberName(f))))
+                    .collect(CodeBlock.joining(", "));
+            viewBuilder.addMethod(MethodSpec.methodBuilder("get")
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(elementType)
+                    .addStatement("return new $T($L)", elementType, arguments)
+                    .build());
+        } else {
+            if (isInstantiable((TypeElement) element)) {
+                viewBuilder.addMethod(MethodSpec.methodBuilder("get")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(elementType)
+                        .addStatement("$1T value = new $1T()", elementType)
+                        .addStatement("get(value)")
+                        .addStatement("return value")
+                        .build());
+            }
+            viewBuilder.addMethod(createGetIntoMethod(elementType, sourceFields, fieldAccess));
+        }
+
+        return viewBuilder;
+    }
+
+    private TypeSpec.Builder createStore(FieldTypeModel type, ClassName viewType, ClassName storeType,
+                                         List<Slot> layout) {
+        var elementType = TypeName.get(type.element().asType());
+        // The largest capacity whose size in bytes fits in an int
+        int maxCapacity = Integer.MAX_VALUE / Math.max(1, getRecordSize(layout));
+
+        TypeSpec.Builder storeBuilder = TypeSpec.classBuilder(storeType)
+                .addModifiers(Modifier.FINAL);
+
+        storeBuilder.addField(ByteBuffer.class, "buffer", Modifier.PRIVATE, Modifier.FINAL);
+        storeBuilder.addField(TypeName.INT, "capacity", Modifier.PRIVATE, Modifier.FINAL);
+        storeBuilder.addField(FieldSpec.builder(viewType, "cursor", Modifier.PRIVATE, Modifier.FINAL)
+                .initializer("new $T()", viewType)
+                .build());
+
+        storeBuilder.addMethod(MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "capacity")
+                .beginControlFlow("if (capacity < 0 || capacity > $L)", maxCapacity)
+                .addStatement("throw new $T($S + capacity)", IllegalArgumentException.class, "Invalid capacity: ")
+                .endControlFlow()
+                .addStatement("this.buffer = $T.allocateDirect(capacity * $T.SIZE).order($T.nativeOrder())",
+                        ByteBuffer.class, viewType, ByteOrder.class)
+                .addStatement("this.capacity = capacity")
+                .build());
+
+        storeBuilder.addMethod(MethodSpec.methodBuilder("capacity")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addStatement("return capacity")
+                .build());
+        storeBuilder.addMethod(MethodSpec.methodBuilder("view")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(viewType)
+                .addParameter(TypeName.INT, "index")
+                .addStatement("return view(index, new $T())", viewType)
+                .build());
+        storeBuilder.addMethod(MethodSpec.methodBuilder("view")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(viewType)
+                .addParameter(TypeName.INT, "index")
+                .addParameter(viewType, "view")
+                .addStatement("$T.checkIndex(index, capacity)", Objects.class)
+                .addStatement("return view.wrap(buffer, index * $T.SIZE)", viewType)
+                .build());
+        storeBuilder.addMethod(MethodSpec.methodBuilder("set")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(TypeName.INT, "index")
+                .addParameter(elementType, "value")
+                .addStatement("view(index, cursor).set(value)")
+                .build());
+
+        Element element = type.element();
+        if (element.getKind() == ElementKind.RECORD || isInstantiable((TypeElement) element)) {
+            storeBuilder.addMethod(MethodSpec.methodBuilder("get")
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(elementType)
+                    .addParameter(TypeName.INT, "index")
+                    .addStatement("return view(index, cursor).get()")
+                    .build());
+        }
+        if (element.getKind() != ElementKind.RECORD) {
+            storeBuilder.addMethod(MethodSpec.methodBuilder("get")
+                    .addModifiers(Modifier.PUBLIC)
+                    .addParameter(TypeName.INT, "index")
+                    .addParameter(elementType, "target")
+                    .addStatement("view(index, cursor).get(target)")
+                    .build());
+        }
+
+        return storeBuilder;
+    }
+
+    private MethodSpec createGetMethod(Slot slot) {
+        TypeName memberType = TypeName.get(slot.member().asType());
+        var method = MethodSpec.methodBuilder("get" + capitalize(getMemberName(slot.member())))
+                .addModifiers(Modifier.PUBLIC)
+                .returns(memberType);
+
+        CodeBlock index = CodeBlock.of("offset + $L", getOffsetName(slot.member()));
+        CodeBlock read = CodeBlock.of("buffer.get$L($L)", BinaryFieldEncoding.getBufferMethodSuffix(slot.storedType()),
+                index);
+        if (BinaryFieldEncoding.isEnum(slot.member().asType())) {
+            return method.addStatement("int ordinal = $L", read)
+                    .addStatement("return ordinal < 0 ? null : $L[ordinal]", getEnumValuesName(slot.member()))
+                    .build();
+        }
+        if (memberType.equals(TypeName.BOOLEAN)) {
+            return method.addStatement("return $L != 0", read).build();
+        }
+        return method.addStatement("return $L", read).build();
+    }
+
+    private MethodSpec createSetMethod(Slot slot) {
+        TypeName memberType = TypeName.get(slot.member().asType());
+        var method = MethodSpec.methodBuilder("set" + capitalize(getMemberName(slot.member())))
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(memberType, "value");
+
+        CodeBlock value;
+        if (BinaryFieldEncoding.isEnum(slot.member().asType())) {
+            value = slot.storedType().equals(TypeName.INT)
+                    ? CodeBlock.of("value == null ? -1 : value.ordinal()")
+                    : CodeBlock.of("($T) (value == null ? -1 : value.ordinal())", slot.storedType());
+        } else if (memberType.equals(TypeName.BOOLEAN)) {
+            value = CodeBlock.of("(byte) (value ? 1 : 0)");
+        } else {
+            value = CodeBlock.of("value");
+        }
+
+        return method.addStatement("buffer.put$L(offset + $L, $L)",
+                        BinaryFieldEncoding.getBufferMethodSuffix(slot.storedType()), getOffsetName(slot.member()),
+                        value)
+                .build();
+    }
+
+    private static MethodSpec createGetIntoMethod(TypeName elementType, List<Element> fields,
+                                                  GeneratedFieldAccess fieldAccess) {
+        var method = MethodSpec.methodBuilder("get")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(elementType, "target");
+
+        fields.forEach(f -> method.addStatement("$L", getFieldWriteExpression("target", f,
+                CodeBlock.of("get$L()", capitalize(getMemberName(f))), fieldAccess)));
+
+        return method.build();
+    }
+
+    /**
+     * Lays out the members from the widest to the narrowest, keeping the declaration order between members of
+     * the same width, so that each member is aligned to its width when the record is aligned to the widest.
+     */
+    private static List<Slot> getLayout(List<Element> members) {
+        List<Element> sorted = new ArrayList<>(members);
+        sorted.sort(Comparator.comparingInt((Element f) -> getStoredWidth(f.asType())).reversed());
+
+        List<Slot> layout = new ArrayList<>();
+        int offset = 0;
+        for (Element f : sorted) {
+            int width = getStoredWidth(f.asType());
+            layout.add(new Slot(f, getStoredType(f.asType()), width, offset));
+            offset += width;
+        }
+        return layout;
+    }
+
+    /**
+     * Pads the record to a multiple of its widest member, so that consecutive records stay aligned.
+     */
+    private static int getRecordSize(List<Slot> layout) {
+        int size = layout.stream().mapToInt(Slot::width).sum();
+        int alignment = layout.stream().mapToInt(Slot::width).max().orElse(1);
+        return (size + alignment - 1) / alignment * alignment;
+    }
+
+    private static TypeName getStoredType(TypeMirror type) {
+        return BinaryFieldEncoding.isEnum(type) ? getOrdinalType(type) : TypeName.get(type);
+    }
+
+    private static int getStoredWidth(TypeMirror type) {
+        return BinaryFieldEncoding.getWidth(getStoredType(type));
+    }
+
+    private static String getOffsetName(Element member) {
+        return EnumUtil.fieldNameToEnumName(getMemberName(member)) + "_OFFSET";
+    }
+
+    private static String getEnumValuesName(Element member) {
+        return EnumUtil.fieldNameToEnumName(getMemberName(member)) + "_VALUES";
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.emick.codegen.transform;
 
+import com.github.emick.codegen.common.GeneratedFieldAccess;
 import com.github.emick.codegen.common.GeneratedVisibility;
 
 import java.lang.annotation.ElementType;
@@ -16,12 +17,24 @@ import java.lang.annotation.Target;
  * <p> E.g. for a class {@code MyClass} with a field {@code date}, a class
  * {@code MyClassFieldMapper} will be generated, containing an abstract method
  * {@code setDate(MyClass source, Date sourceFieldValue, Consumer<Date> setter)}
- * which can be implemented in extending class for custom mapping logic.
+ * which can be implemented in extending class for custom mapping logic. Primitive fields
+ * get a primitive-specialized setter such as {@link java.util.function.IntConsumer}.
+ * With {@link MappingStyle#RETURN_VALUE}, the method is instead
+ * {@code Date mapDate(MyClass source, Date sourceFieldValue)} returning the mapped value, which avoids
+ * allocating a setter per field on each mapping.
  *
  * <p> The intention of this is to provide a way to type-safely map each field/component
  * with customized logic. E.g. when creating a return shipment from the original shipment,
  * sender and receiver are swapped, many fields are copied as is, some are set to null
  * (e.g. handling statuses) and some are set to default values (e.g. type = RETURN_SHIPMENT).
+ *
+ * <p> The generated type is placed in the package of the annotated type, so non-private
+ * fields are accessed directly. Only private fields (and writes to final fields) fall back
+ * to {@link #fieldAccess()}.
+ *
+ * <p> With {@link #stateless()}, the source is not stored in the mapper but passed to
+ * {@code mapAllTo(MyClass source, MyClass target)} (or {@code mapAll(MyRecord source)} for records),
+ * so a single mapper instance can be shared between threads.
  */
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.SOURCE)
@@ -29,4 +42,10 @@ public @interface GenerateTransformMapper {
     String generatedName() default "";
 
     GeneratedVisibility visibility() default GeneratedVisibility.PUBLIC;
+
+    GeneratedFieldAccess fieldAccess() default GeneratedFieldAccess.REFLECTION;
+
+    MappingStyle mappingStyle() default MappingStyle.SETTER;
+
+    boolean stateless() default false;
 }
@@ -1,64 +1,101 @@
 package com.github.emick.codegen.transform;
 
 import com.github.emick.codegen.common.AbstractFieldProcessor;
+import com.github.emick.codegen.common.FieldTypeModel;
+import com.github.emick.codegen.common.GeneratedFieldAccess;
 import com.github.emick.codegen.util.FieldGenReflectionUtil;
-import com.google.auto.service.AutoService;
+import com.github.emick.codegen.util.function.BooleanConsumer;
+import com.github.emick.codegen.util.function.ByteConsumer;
+import com.github.emick.codegen.util.function.CharConsumer;
+import com.github.emick.codegen.util.function.FloatConsumer;
+import com.github.emick.codegen.util.function.ShortConsumer;
 import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 
-import javax.annotation.processing.Processor;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
 
 /**
  * Annotation processor for {@link GenerateTransformMapper}.
  */
-@AutoService(Processor.class)
 public class GenerateTransformMapperAnnotationProcessor extends AbstractFieldProcessor {
+
+    private static final String MAPPING_STYLE_PROPERTY = "mappingStyle";
+    private static final String STATELESS_PROPERTY = "stateless";
+
+    private static final Map<TypeName, Class<?>> PRIMITIVE_SETTER_TYPES = Map.of(
+            TypeName.BOOLEAN, BooleanConsumer.class,
+            TypeName.BYTE, ByteConsumer.class,
+            TypeName.CHAR, CharConsumer.class,
+            TypeName.SHORT, ShortConsumer.class,
+            TypeName.INT, IntConsumer.class,
+            TypeName.LONG, LongConsumer.class,
+            TypeName.FLOAT, FloatConsumer.class,
+            TypeName.DOUBLE, DoubleConsumer.class);
 
     public GenerateTransformMapperAnnotationProcessor() {
         super(GenerateTransformMapper.class);
     }
 
     @Override
-    protected TypeSpec.Builder process(Element element, List<Element> sourceFields) {
-        String generatedTypeName = getGeneratedTypeName(element, element.getSimpleName() + "FieldMapper");
+    protected TypeSpec.Builder process(FieldTypeModel type) {
+        Element element = type.element();
+        List<Element> sourceFields = type.members();
+
+        String generatedTypeName = getGeneratedTypeName(type, element.getSimpleName() + "FieldMapper");
         TypeSpec.Builder mapperBuilder = TypeSpec.classBuilder(generatedTypeName)
                 .addModifiers(Modifier.ABSTRACT);
-        if (isPublicGeneratedType(element)) {
+        if (isPublicGeneratedType(type)) {
             mapperBuilder.addModifiers(Modifier.PUBLIC);
         }
 
         var elementType = TypeName.get(element.asType());
+        var fieldAccess = getFieldAccess(type);
 
-        mapperBuilder.addField(elementType, "source", Modifier.PRIVATE);
-        mapperBuilder.addMethod(MethodSpec.constructorBuilder()
-                .addParameter(ParameterSpec.builder(elementType, "source").build())
-                .addStatement("this.source = source")
-                .build());
+        addVarHandleFields(mapperBuilder, element, sourceFields, fieldAccess);
+
+        // Stateless mappers take the source as a parameter of the mapping method instead
+        boolean stateless = getBooleanAnnotationValue(type, STATELESS_PROPERTY, false);
+        if (!stateless) {
+            mapperBuilder.addField(elementType, "source", Modifier.PRIVATE);
+            mapperBuilder.addMethod(MethodSpec.constructorBuilder()
+                    .addParameter(ParameterSpec.builder(elementType, "source").build())
+                    .addStatement("this.source = source")
+                    .build());
+        }
+
+        var mappingStyle = getEnumAnnotationValue(type, MAPPING_STYLE_PROPERTY, MappingStyle.class, MappingStyle.SETTER);
 
         if (element.getKind() == ElementKind.RECORD) {
-            sourceFields.forEach(f -> mapperBuilder.addMethod(createRecordFieldMappingMethod(elementType, f)));
-            mapperBuilder.addMethod(createRecordMapAllMethod(elementType, sourceFields));
+            sourceFields.forEach(f -> mapperBuilder.addMethod(createValueMappingMethod(elementType, f)));
+            mapperBuilder.addMethod(createRecordMapAllMethod(elementType, sourceFields, stateless));
+        } else if (mappingStyle == MappingStyle.RETURN_VALUE) {
+            sourceFields.forEach(f -> mapperBuilder.addMethod(createValueMappingMethod(elementType, f)));
+            mapperBuilder.addMethod(createValueMapAllToMethod(elementType, sourceFields, fieldAccess, stateless));
         } else {
             sourceFields.forEach(f -> mapperBuilder.addMethod(createFieldMappingMethod(elementType, f)));
-            mapperBuilder.addMethod(createMapAllToMethod(elementType, sourceFields));
+            mapperBuilder.addMethod(createMapAllToMethod(elementType, sourceFields, fieldAccess, stateless));
         }
 
         return mapperBuilder;
     }
 
-    private static MethodSpec createMapAllToMethod(TypeName elementType, List<Element> sourceFields) {
-        var method = MethodSpec.methodBuilder("mapAllTo")
-                .addModifiers(Modifier.PUBLIC)
+    private static MethodSpec createMapAllToMethod(TypeName elementType, List<Element> sourceFields,
+                                                   GeneratedFieldAccess fieldAccess, boolean stateless) {
+        var method = createMapAllMethodBuilder("mapAllTo", elementType, stateless)
                 .addParameter(ParameterSpec.builder(elementType, "target").build());
 
         sourceFields.forEach(f -> {
@@ -70,35 +107,57 @@ public class GenerateTransformMapperAnnotationProcessor extends AbstractFieldPro
                 return;
             }
 
-            method.addStatement("$L(source, ($T)$L.getFieldValue(source, $S), value -> $L.setFieldValue(target, $S, value))",
+            method.addStatement("$L(source, $L, value -> $L)",
                     getSettingMethodName(f),
-                    TypeName.get(f.asType()),
-                    FieldGenReflectionUtil.class.getCanonicalName(),
-                    getMemberName(f),
-                    FieldGenReflectionUtil.class.getCanonicalName(),
-                    getMemberName(f));
+                    getFieldReadExpression("source", f, fieldAccess),
+                    getFieldWriteExpression("target", f, CodeBlock.of("value"), fieldAccess));
         });
 
         return method.build();
 
     }
 
-    private static MethodSpec createRecordMapAllMethod(TypeName elementType, List<Element> sourceFields) {
-        var method = MethodSpec.methodBuilder("mapAll")
-                .addModifiers(Modifier.PUBLIC)
+    private static MethodSpec createValueMapAllToMethod(TypeName elementType, List<Element> sourceFields,
+                                                        GeneratedFieldAccess fieldAccess, boolean stateless) {
+        var method = createMapAllMethodBuilder("mapAllTo", elementType, stateless)
+                .addParameter(ParameterSpec.builder(elementType, "target").build());
+
+        sourceFields.forEach(f -> {
+            CodeBlock mappedValue = CodeBlock.of("$L(source, $L)",
+                    getValueMappingMethodName(f),
+                    getFieldReadExpression("source", f, fieldAccess));
+            method.addStatement("$L", getFieldWriteExpression("target", f, mappedValue, fieldAccess));
+        });
+
+        return method.build();
+    }
+
+    private static MethodSpec createRecordMapAllMethod(TypeName elementType, List<Element> sourceFields,
+                                                       boolean stateless) {
+        var method = createMapAllMethodBuilder("mapAll", elementType, stateless)
                 .returns(elementType);
 
         String constructorArgs = sourceFields.stream()
-                .map(f -> getRecordMappingMethodName(f) + "(source, " + getSourceValueExpression("source", f) + ")")
+                .map(f -> getValueMappingMethodName(f) + "(source, " + getSourceValueExpression("source", f) + ")")
                 .collect(Collectors.joining(", "));
 
         method.addStatement("return new $T($L)", elementType, constructorArgs);
         return method.build();
     }
 
+    private static MethodSpec.Builder createMapAllMethodBuilder(String methodName, TypeName elementType,
+                                                                boolean stateless) {
+        var method = MethodSpec.methodBuilder(methodName)
+                .addModifiers(Modifier.PUBLIC);
+        if (stateless) {
+            method.addParameter(ParameterSpec.builder(elementType, "source").build());
+        }
+        return method;
+    }
+
     private MethodSpec createFieldMappingMethod(TypeName elementType, Element field) {
         TypeName memberType = TypeName.get(field.asType());
-        ParameterizedTypeName setterType = ParameterizedTypeName.get(ClassName.get(Consumer.class), memberType.box());
+        TypeName setterType = getSetterType(memberType);
 
         return MethodSpec.methodBuilder(getSettingMethodName(field))
                 .addModifiers(Modifier.ABSTRACT, Modifier.PROTECTED)
@@ -109,10 +168,10 @@ public class GenerateTransformMapperAnnotationProcessor extends AbstractFieldPro
                 .build();
     }
 
-    private MethodSpec createRecordFieldMappingMethod(TypeName elementType, Element field) {
+    private MethodSpec createValueMappingMethod(TypeName elementType, Element field) {
         TypeName memberType = TypeName.get(field.asType());
 
-        return MethodSpec.methodBuilder(getRecordMappingMethodName(field))
+        return MethodSpec.methodBuilder(getValueMappingMethodName(field))
                 .addModifiers(Modifier.ABSTRACT, Modifier.PROTECTED)
                 .returns(memberType)
                 .addParameter(elementType, "source")
@@ -121,13 +180,24 @@ public class GenerateTransformMapperAnnotationProcessor extends AbstractFieldPro
                 .build();
     }
 
+    /**
+     * Primitive fields get a primitive-specialized consumer so that mapped values are not boxed.
+     */
+    private static TypeName getSetterType(TypeName memberType) {
+        if (memberType.isPrimitive()) {
+            return ClassName.get(PRIMITIVE_SETTER_TYPES.get(memberType));
+        }
+
+        return ParameterizedTypeName.get(ClassName.get(Consumer.class), memberType);
+    }
+
     private static String getSettingMethodName(Element element) {
         String fieldName = getMemberName(element);
         String capitalizedName = capitalize(fieldName);
         return "set" + capitalizedName;
     }
 
-    private static String getRecordMappingMethodName(Element element) {
+    private static String getValueMappingMethodName(Element element) {
         String fieldName = getMemberName(element);
         String capitalizedName = capitalize(fieldName);
         return "map" + capitalizedName;
@@ -0,0 +1,18 @@
+package com.github.emick.codegen.transform;
+
+/**
+ * Shape of the per-field methods generated by {@link GenerateTransformMapper} for classes.
+ * Records are always mapped with methods returning the mapped value.
+ */
+public enum MappingStyle {
+    /**
+     * Each field is mapped with {@code setX(source, sourceFieldValue, setter)}, where the setter writes
+     * the mapped value to the target.
+     */
+    SETTER,
+    /**
+     * Each field is mapped with {@code mapX(source, sourceFieldValue)} returning the mapped value, which
+     * the generated {@code mapAllTo(target)} writes directly to the target without allocating setters.
+     */
+    RETURN_VALUE
+}
@@ -0,0 +1,145 @@
+package com.github.emick.codegen.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encoding of the non-primitive values written by generated binary codecs.
+ * <p>
+ * Strings are written as their UTF-8 length as an {@code int} followed by the UTF-8 bytes, and enums as their
+ * ordinal as an {@code int}. {@code null} is written as length or ordinal -1.
+ */
+@SuppressWarnings("unused") // Methods are used from generated classes.
+public class BinaryCodecUtil {
+
+    private static final int NULL = -1;
+
+    // Enum#values() and Class#getEnumConstants() return a new array on each call
+    private static final ClassValue<Object[]> ENUM_CONSTANTS = new ClassValue<>() {
+        @Override
+        protected Object[] computeValue(Class<?> type) {
+            return type.getEnumConstants();
+        }
+    };
+
+    public static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putInt(NULL);
+            return;
+        }
+
+        // Encoded directly into the buffer instead of through String#getBytes, which would copy the bytes
+        buffer.putInt(getUtf8Length(value));
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (!Character.isSurrogate(c)) {
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (isSurrogatePair(value, i)) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | codePoint >> 18));
+                buffer.put((byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | codePoint & 0x3F));
+            } else {
+                // Unpaired surrogates are replaced like String#getBytes does
+                buffer.put((byte) '?');
+            }
+        }
+    }
+
+    public static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL) {
+            return null;
+        }
+
+        // Heap buffers can be decoded without copying the bytes first
+        if (buffer.hasArray()) {
+            int position = buffer.position();
+            String value = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+            buffer.position(position + length);
+            return value;
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a string starting at the given index, without changing the position of the buffer.
+     */
+    public static String getString(ByteBuffer buffer, int index) {
+        int length = buffer.getInt(index);
+        if (length == NULL) {
+            return null;
+        }
+
+        int start = index + Integer.BYTES;
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int getUtf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (!Character.isSurrogate(c)) {
+                length += 3;
+            } else if (isSurrogatePair(value, i)) {
+                length += 4;
+                i++;
+            } else {
+                length++;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isSurrogatePair(String value, int index) {
+        return Character.isHighSurrogate(value.charAt(index))
+                && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+
+    public static void putEnum(ByteBuffer buffer, Enum<?> value) {
+        buffer.putInt(value == null ? NULL : value.ordinal());
+    }
+
+    public static <E extends Enum<E>> E getEnum(ByteBuffer buffer, Class<E> enumType) {
+        int ordinal = buffer.getInt();
+        if (ordinal == NULL) {
+            return null;
+        }
+
+        return enumType.cast(ENUM_CONSTANTS.get(enumType)[ordinal]);
+    }
+
+    /**
+     * Reads an enum starting at the given index, without changing the position of the buffer.
+     */
+    public static <E extends Enum<E>> E getEnum(ByteBuffer buffer, int index, Class<E> enumType) {
+        int ordinal = buffer.getInt(index);
+        if (ordinal == NULL) {
+            return null;
+        }
+
+        return enumType.cast(ENUM_CONSTANTS.get(enumType)[ordinal]);
+    }
+}
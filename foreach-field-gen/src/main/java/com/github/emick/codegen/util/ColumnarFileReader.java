@@ -0,0 +1,113 @@
+package com.github.emick.codegen.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reader of the columnar files written by {@link ColumnarFileWriter}, used by generated columnar file classes.
+ * <p>
+ * Each segment is mapped into memory with {@link FileChannel#map}, so opening a file reads only its header, and
+ * the pages of a segment are loaded by the operating system when they are first accessed. The mapped buffers stay
+ * valid after the file is closed. Values are read from the buffers with absolute {@code get} methods, so the
+ * buffers may be shared between threads.
+ */
+@SuppressWarnings("unused") // Methods are used from generated classes.
+public class ColumnarFileReader {
+
+    private final int rowCount;
+    private final ByteBuffer[] segments;
+
+    private ColumnarFileReader(int rowCount, ByteBuffer[] segments) {
+        this.rowCount = rowCount;
+        this.segments = segments;
+    }
+
+    /**
+     * Opens a file written with the given schema hash and segments, failing if the file was written for another
+     * schema, its writing did not finish or a segment is too short for the row count. Each segment must hold
+     * {@code segmentWidths[i]} bytes per row, a width of 0 is used for the variable width segments of string bytes.
+     */
+    public static ColumnarFileReader open(Path path, int schema, int[] segmentWidths) throws IOException {
+        int segmentCount = segmentWidths.length;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, 0, ColumnarFileWriter.HEADER_SIZE);
+            if (header.getInt() != ColumnarFileWriter.MAGIC) {
+                throw new IOException("Not a complete columnar file: " + path);
+            }
+            int version = header.getInt();
+            if (version != ColumnarFileWriter.VERSION) {
+                throw new IOException("Unsupported columnar file version " + version + ": " + path);
+            }
+            if (header.getInt() != schema || header.getInt() != segmentCount) {
+                throw new IOException("Columnar file was written for another version of the type: " + path);
+            }
+            long rowCount = header.getLong();
+            if (rowCount < 0 || rowCount > Integer.MAX_VALUE) {
+                throw new IOException("Invalid row count " + rowCount + ": " + path);
+            }
+
+            ByteBuffer segmentTable = read(channel, ColumnarFileWriter.HEADER_SIZE, segmentCount * 2 * Long.BYTES);
+            ByteBuffer[] segments = new ByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long offset = segmentTable.getLong();
+                long length = segmentTable.getLong();
+                if (offset < 0 || length < 0 || length > Integer.MAX_VALUE || offset + length > channel.size()) {
+                    throw new IOException("Invalid segment " + i + ": " + path);
+                }
+                if (length < rowCount * segmentWidths[i]) {
+                    throw new IOException("Segment " + i + " is too short for " + rowCount + " rows: " + path);
+                }
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                segments[i] = segment.order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            return new ColumnarFileReader((int) rowCount, segments);
+        }
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the mapped buffer of a segment, in little-endian byte order.
+     */
+    public ByteBuffer segment(int index) {
+        return segments[index];
+    }
+
+    /**
+     * Reads the string of a row from the segment of UTF-8 bytes and the segment of end offsets following it.
+     */
+    public static String getString(ByteBuffer bytes, ByteBuffer ends, int row) {
+        long end = ends.getLong(row * Long.BYTES);
+        if (end < 0) {
+            return null;
+        }
+
+        long start = row == 0 ? 0 : ends.getLong((row - 1) * Long.BYTES);
+        if (start < 0) {
+            start = ~start;
+        }
+
+        byte[] value = new byte[(int) (end - start)];
+        bytes.get((int) start, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of columnar file");
+            }
+        }
+        return buffer.flip();
+    }
+}
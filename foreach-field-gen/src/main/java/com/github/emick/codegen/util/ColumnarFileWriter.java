@@ -0,0 +1,216 @@
+package com.github.emick.codegen.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Writer of the columnar files read by {@link ColumnarFileReader}, used by generated columnar file classes.
+ * <p>
+ * A file starts with a header of the magic number, the format version, the schema hash of the written type, the
+ * number of segments and the number of rows, followed by the offset and length of each segment. The segments
+ * follow the header, each aligned to 8 bytes. All values are little-endian.
+ * <p>
+ * Each segment is written with the {@code put} methods after {@link #beginSegment()}. Strings take two segments:
+ * the UTF-8 bytes of all values written with {@link #putString(String)}, and then the end offset of each value
+ * in the first segment written with {@link #putStringEnds()}, complemented for {@code null}. The header is written
+ * by {@link #finish()}, so a file whose writing failed is rejected by the reader. Instances are not thread-safe.
+ */
+@SuppressWarnings("unused") // Methods are used from generated classes.
+public class ColumnarFileWriter implements Closeable {
+
+    static final int MAGIC = 0x46434746; // "FGCF" in little-endian
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final int ALIGNMENT = 8;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+    private final int schema;
+    private final long rowCount;
+    private final long[] segmentOffsets;
+    private final long[] segmentLengths;
+    private int segmentCount;
+    private long position;
+
+    private long[] stringEnds = new long[16];
+    private int stringCount;
+
+    public ColumnarFileWriter(Path path, int schema, long rowCount, int segmentCount) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        this.schema = schema;
+        this.rowCount = rowCount;
+        this.segmentOffsets = new long[segmentCount];
+        this.segmentLengths = new long[segmentCount];
+
+        // The header is written last, and left empty until then
+        int headerSize = HEADER_SIZE + segmentCount * 2 * Long.BYTES;
+        for (int i = 0; i < headerSize; i++) {
+            put((byte) 0);
+        }
+    }
+
+    /**
+     * Ends the current segment, if any, and starts the next one.
+     */
+    public void beginSegment() throws IOException {
+        endSegment();
+        if (segmentCount == segmentOffsets.length) {
+            throw new IllegalStateException("All " + segmentOffsets.length + " segments are already written");
+        }
+
+        while (position % ALIGNMENT != 0) {
+            put((byte) 0);
+        }
+        segmentOffsets[segmentCount++] = position;
+    }
+
+    public void put(byte value) throws IOException {
+        ensureRemaining(Byte.BYTES);
+        buffer.put(value);
+        position += Byte.BYTES;
+    }
+
+    public void putBoolean(boolean value) throws IOException {
+        put((byte) (value ? 1 : 0));
+    }
+
+    public void putChar(char value) throws IOException {
+        ensureRemaining(Character.BYTES);
+        buffer.putChar(value);
+        position += Character.BYTES;
+    }
+
+    public void putShort(short value) throws IOException {
+        ensureRemaining(Short.BYTES);
+        buffer.putShort(value);
+        position += Short.BYTES;
+    }
+
+    public void putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+        position += Integer.BYTES;
+    }
+
+    public void putLong(long value) throws IOException {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+        position += Long.BYTES;
+    }
+
+    public void putFloat(float value) throws IOException {
+        ensureRemaining(Float.BYTES);
+        buffer.putFloat(value);
+        position += Float.BYTES;
+    }
+
+    public void putDouble(double value) throws IOException {
+        ensureRemaining(Double.BYTES);
+        buffer.putDouble(value);
+        position += Double.BYTES;
+    }
+
+    /**
+     * Writes the UTF-8 bytes of a string to the current segment and records where they end.
+     */
+    public void putString(String value) throws IOException {
+        if (stringCount == stringEnds.length) {
+            stringEnds = Arrays.copyOf(stringEnds, stringCount * 2);
+        }
+
+        long segmentPosition = position - segmentOffsets[segmentCount - 1];
+        if (value == null) {
+            stringEnds[stringCount++] = ~segmentPosition;
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int written = 0;
+        while (written < bytes.length) {
+            ensureRemaining(1);
+            int length = Math.min(buffer.remaining(), bytes.length - written);
+            buffer.put(bytes, written, length);
+            written += length;
+        }
+        position += bytes.length;
+        stringEnds[stringCount++] = segmentPosition + bytes.length;
+    }
+
+    /**
+     * Writes the end offsets of the strings written since the previous call as a new segment.
+     */
+    public void putStringEnds() throws IOException {
+        beginSegment();
+        for (int i = 0; i < stringCount; i++) {
+            putLong(stringEnds[i]);
+        }
+        stringCount = 0;
+    }
+
+    /**
+     * Ends the last segment and writes the header. Fails if some of the segments were not written.
+     */
+    public void finish() throws IOException {
+        endSegment();
+        if (segmentCount != segmentOffsets.length) {
+            throw new IllegalStateException("Only " + segmentCount + " of " + segmentOffsets.length
+                    + " segments were written");
+        }
+        flush();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + segmentCount * 2 * Long.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(schema)
+                .putInt(segmentCount)
+                .putLong(rowCount);
+        for (int i = 0; i < segmentCount; i++) {
+            header.putLong(segmentOffsets[i]).putLong(segmentLengths[i]);
+        }
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void endSegment() throws IOException {
+        if (segmentCount == 0) {
+            return;
+        }
+
+        long length = position - segmentOffsets[segmentCount - 1];
+        // Segments are mapped into a single buffer, whose size is limited to an int
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Segment " + (segmentCount - 1) + " exceeds the maximum size of 2 GB");
+        }
+        segmentLengths[segmentCount - 1] = length;
+    }
+
+    private void ensureRemaining(int length) throws IOException {
+        if (buffer.remaining() < length) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,60 @@
+package com.github.emick.codegen.util;
+
+/**
+ * Formatting of CSV values by generated CSV codecs.
+ * <p>
+ * {@code null} is written as an empty field and an empty string as {@code ""}, so that {@link CsvReader} can tell
+ * them apart. Values containing a comma, a quote or a line break are quoted, doubling the quotes inside.
+ */
+@SuppressWarnings("unused") // Methods are used from generated classes.
+public class CsvCodecUtil {
+
+    public static void appendString(StringBuilder row, String value) {
+        if (value == null) {
+            return;
+        }
+
+        if (value.isEmpty() || needsQuotes(value)) {
+            row.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    row.append('"');
+                }
+                row.append(c);
+            }
+            row.append('"');
+        } else {
+            row.append(value);
+        }
+    }
+
+    public static void appendChar(StringBuilder row, char value) {
+        if (value == '"') {
+            row.append("\"\"\"\"");
+        } else if (isSpecial(value)) {
+            row.append('"').append(value).append('"');
+        } else {
+            row.append(value);
+        }
+    }
+
+    public static void appendEnum(StringBuilder row, Enum<?> value) {
+        if (value != null) {
+            row.append(value.name());
+        }
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (isSpecial(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSpecial(char c) {
+        return c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+}
@@ -0,0 +1,227 @@
+package com.github.emick.codegen.util;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming reader of CSV rows used by generated CSV codecs.
+ * <p>
+ * Reads from a {@link Reader} through an internal buffer, so the reader does not need to be buffered. Each field
+ * is read into a reused buffer, and numbers are parsed from it without creating strings, except for floating
+ * point numbers. Rows end with {@code \n} or {@code \r\n}, and quoted fields may contain commas, quotes
+ * (doubled) and line breaks.
+ * <p>
+ * E.g. reading rows of two numbers:
+ * <pre>{@code
+ * while (reader.nextRow()) {
+ *     reader.nextField();
+ *     long first = reader.longValue();
+ *     reader.nextField();
+ *     long second = reader.longValue();
+ * }
+ * }</pre>
+ * An unquoted empty field is {@code null} and a quoted empty field an empty string. Malformed input fails with an
+ * {@link IOException}. Instances are not thread-safe.
+ */
+public class CsvReader {
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    private final StringBuilder field = new StringBuilder();
+    private boolean quoted;
+    private boolean rowEnded = true;
+    private long row;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Skips the unread fields of the current row and moves to the next row. Returns {@code false} at the end of
+     * input.
+     */
+    public boolean nextRow() throws IOException {
+        while (!rowEnded) {
+            nextField();
+        }
+
+        if (position == limit && !fill()) {
+            return false;
+        }
+
+        rowEnded = false;
+        row++;
+        return true;
+    }
+
+    /**
+     * Reads the next field of the current row. Returns {@code false} when the row has no more fields.
+     */
+    public boolean nextField() throws IOException {
+        if (rowEnded) {
+            return false;
+        }
+
+        field.setLength(0);
+        quoted = peek() == '"';
+        if (quoted) {
+            position++;
+            readQuoted();
+        }
+
+        while (true) {
+            int c = read();
+            if (c == ',') {
+                return true;
+            }
+            if (c == '\n' || c == -1) {
+                rowEnded = true;
+                return true;
+            }
+            if (c == '\r') {
+                if (peek() == '\n') {
+                    position++;
+                }
+                rowEnded = true;
+                return true;
+            }
+            if (quoted) {
+                throw error("Unexpected character after quoted field");
+            }
+            field.append((char) c);
+        }
+    }
+
+    /**
+     * Returns an exception with the number of the current row, e.g. on a missing field.
+     */
+    public IOException error(String message) {
+        return new IOException(message + " in row " + row);
+    }
+
+    public boolean isNull() {
+        return !quoted && field.isEmpty();
+    }
+
+    public String stringValue() {
+        return isNull() ? null : field.toString();
+    }
+
+    public char charValue() throws IOException {
+        if (field.length() != 1) {
+            throw error("Expected a single character but was '" + field + "'");
+        }
+        return field.charAt(0);
+    }
+
+    public boolean booleanValue() throws IOException {
+        if ("true".contentEquals(field)) {
+            return true;
+        }
+        if ("false".contentEquals(field)) {
+            return false;
+        }
+        throw error("Expected a boolean but was '" + field + "'");
+    }
+
+    public byte byteValue() throws IOException {
+        return (byte) intValue(Byte.MIN_VALUE, Byte.MAX_VALUE, "Expected a byte");
+    }
+
+    public short shortValue() throws IOException {
+        return (short) intValue(Short.MIN_VALUE, Short.MAX_VALUE, "Expected a short");
+    }
+
+    public int intValue() throws IOException {
+        return intValue(Integer.MIN_VALUE, Integer.MAX_VALUE, "Expected an int");
+    }
+
+    public long longValue() throws IOException {
+        try {
+            return Long.parseLong(field, 0, field.length(), 10);
+        } catch (NumberFormatException e) {
+            throw error("Expected a long but was '" + field + "'");
+        }
+    }
+
+    public float floatValue() throws IOException {
+        try {
+            return Float.parseFloat(field.toString());
+        } catch (NumberFormatException e) {
+            throw error("Expected a number but was '" + field + "'");
+        }
+    }
+
+    public double doubleValue() throws IOException {
+        try {
+            return Double.parseDouble(field.toString());
+        } catch (NumberFormatException e) {
+            throw error("Expected a number but was '" + field + "'");
+        }
+    }
+
+    private int intValue(int min, int max, String expected) throws IOException {
+        int value;
+        try {
+            value = Integer.parseInt(field, 0, field.length(), 10);
+        } catch (NumberFormatException e) {
+            throw error(expected + " but was '" + field + "'");
+        }
+        if (value < min || value > max) {
+            throw error(expected + " but was '" + field + "'");
+        }
+        return value;
+    }
+
+    /**
+     * Reads the rest of a quoted field whose opening quote has been consumed.
+     */
+    private void readQuoted() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw error("Unterminated quoted field");
+            }
+            if (c == '"') {
+                if (peek() != '"') {
+                    return;
+                }
+                position++;
+            }
+            field.append((char) c);
+        }
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        position = 0;
+        limit = 0;
+
+        int count;
+        do {
+            count = in.read(buffer);
+        } while (count == 0);
+
+        if (count < 0) {
+            return false;
+        }
+        limit = count;
+        return true;
+    }
+}
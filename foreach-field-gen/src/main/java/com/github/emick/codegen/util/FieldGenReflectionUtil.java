@@ -1,73 +1,263 @@
 package com.github.emick.codegen.util;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Reflection utilities for this library's usage.
  * <p>
- * WARNING: these are not usable in general. E.g. these methods do not handle fields in parent classes.
+ * WARNING: these are not usable in general. Fields are looked up by name in the class of the object, then in the
+ * interfaces it directly implements, then in its superclass and its interfaces and so on. Superinterfaces of
+ * interfaces are not searched, and a name declared both in an interface and in a superclass resolves to the field
+ * of the interface, where Java would report an ambiguous reference.
+ * <p>
+ * Fields are resolved once per class and cached in a {@link ClassValue}. The cached {@link Field} instances
+ * are made accessible when they are resolved and are never toggled back, so accessing them afterwards is a
+ * single map lookup plus {@link Field#get(Object)} or {@link Field#set(Object, Object)}, and is safe to use
+ * from multiple threads.
  */
 @SuppressWarnings("unused") // Methods are used from generated classes.
 public class FieldGenReflectionUtil {
 
+    private static final ClassValue<Map<String, Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected Map<String, Field> computeValue(Class<?> type) {
+            return resolveFields(type);
+        }
+    };
+
     public static void setFieldValue(Object object, String fieldName, Object value) {
         Field field = getDeclaredField(object, fieldName);
-        doPreservingAccessible(field, object, () -> {
+        try {
             field.set(object, value);
-            return null;
-        });
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     public static Object getFieldValue(Object object, String fieldName) {
         Field field = getDeclaredField(object, fieldName);
-        return doPreservingAccessible(field, object, () -> field.get(object));
+        try {
+            return field.get(object);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
     }
 
-    private static <T> T doPreservingAccessible(Field field, Object targetObject, ThrowingSupplier<T> runnable) {
-        Object accessTarget = Modifier.isStatic(field.getModifiers()) ? null : targetObject;
-        boolean mustOpen = !field.canAccess(accessTarget);
+    // Primitive variants read and write through Field.getXxx/setXxx so that values are not boxed.
 
+    public static boolean getBooleanFieldValue(Object object, String fieldName) {
+        Field field = getDeclaredField(object, fieldName);
         try {
-            if (mustOpen) {
-                field.setAccessible(true);
-            }
-            return runnable.get();
+            return field.getBoolean(object);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void setBooleanFieldValue(Object object, String fieldName, boolean value) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            field.setBoolean(object, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static byte getByteFieldValue(Object object, String fieldName) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            return field.getByte(object);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void setByteFieldValue(Object object, String fieldName, byte value) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            field.setByte(object, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static char getCharFieldValue(Object object, String fieldName) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            return field.getChar(object);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void setCharFieldValue(Object object, String fieldName, char value) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            field.setChar(object, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static short getShortFieldValue(Object object, String fieldName) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            return field.getShort(object);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void setShortFieldValue(Object object, String fieldName, short value) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            field.setShort(object, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static int getIntFieldValue(Object object, String fieldName) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            return field.getInt(object);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void setIntFieldValue(Object object, String fieldName, int value) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            field.setInt(object, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static long getLongFieldValue(Object object, String fieldName) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            return field.getLong(object);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void setLongFieldValue(Object object, String fieldName, long value) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            field.setLong(object, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static float getFloatFieldValue(Object object, String fieldName) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            return field.getFloat(object);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void setFloatFieldValue(Object object, String fieldName, float value) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            field.setFloat(object, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static double getDoubleFieldValue(Object object, String fieldName) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            return field.getDouble(object);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static void setDoubleFieldValue(Object object, String fieldName, double value) {
+        Field field = getDeclaredField(object, fieldName);
+        try {
+            field.setDouble(object, value);
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Resolves a {@link VarHandle} for a field declared in {@code declaringClass}, including private fields.
+     * The given lookup must originate from the generated class so that access is checked against its module.
+     */
+    public static VarHandle findVarHandle(MethodHandles.Lookup lookup, Class<?> declaringClass, String fieldName,
+                                          Class<?> fieldType) {
+        try {
+            return MethodHandles.privateLookupIn(declaringClass, lookup)
+                    .findVarHandle(declaringClass, fieldName, fieldType);
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException(e);
-        } finally {
-            if (mustOpen) {
-                field.setAccessible(false);
-            }
         }
     }
 
+    /**
+     * Returns the type of a field of {@code type}, for generated code which cannot refer to the type itself,
+     * e.g. a private nested class.
+     */
+    public static Class<?> getFieldType(Class<?> type, String fieldName) {
+        return getDeclaredField(type, fieldName).getType();
+    }
+
     private static Field getDeclaredField(Object obj, String fieldName) {
-        Class<?> current = obj.getClass();
+        return getDeclaredField(obj.getClass(), fieldName);
+    }
+
+    private static Field getDeclaredField(Class<?> type, String fieldName) {
+        Field field = FIELDS.get(type).get(fieldName);
+        if (field == null) {
+            throw new RuntimeException(new NoSuchFieldException(fieldName));
+        }
+        return field;
+    }
+
+    /**
+     * Collects the fields visible by name from the given type. Fields declared in the type itself take
+     * precedence over fields of its directly implemented interfaces, which in turn take precedence over
+     * fields of its parent types.
+     */
+    private static Map<String, Field> resolveFields(Class<?> type) {
+        Map<String, Field> fields = new HashMap<>();
+        Class<?> current = type;
 
         while (current != null) {
-            try {
-                return current.getDeclaredField(fieldName);
-            } catch (final NoSuchFieldException ignored) {
-                // Keep searching in parent types and interfaces
-            }
+            addFields(fields, current);
 
             for (Class<?> iface : current.getInterfaces()) {
-                try {
-                    return iface.getDeclaredField(fieldName);
-                } catch (NoSuchFieldException ignored) {
-                    // Keep searching
-                }
+                addFields(fields, iface);
             }
 
             current = current.getSuperclass();
         }
 
-        throw new RuntimeException(new NoSuchFieldException(fieldName));
+        return Map.copyOf(fields);
     }
 
-    @FunctionalInterface
-    private interface ThrowingSupplier<T> {
-        T get() throws ReflectiveOperationException;
+    private static void addFields(Map<String, Field> fields, Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            if (fields.containsKey(field.getName())) {
+                continue;
+            }
+
+            // Fields that cannot be opened (e.g. in non-open modules) fail later with IllegalAccessException
+            field.trySetAccessible();
+            fields.put(field.getName(), field);
+        }
     }
 }
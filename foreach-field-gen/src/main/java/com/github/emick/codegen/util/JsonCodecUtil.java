@@ -0,0 +1,223 @@
+package com.github.emick.codegen.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writing of JSON values by generated JSON codecs, to either an {@link OutputStream} as UTF-8 or an
+ * {@link Appendable}.
+ * <p>
+ * Values are written character by character without intermediate strings or byte arrays, except for floating
+ * point numbers which are formatted with {@link Double#toString(double)} and {@link Float#toString(float)}. Unbuffered
+ * streams should therefore be wrapped in a {@link java.io.BufferedOutputStream}.
+ */
+@SuppressWarnings("unused") // Methods are used from generated classes.
+public class JsonCodecUtil {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    public static void writeNull(OutputStream out) throws IOException {
+        writeAscii(out, "null");
+    }
+
+    public static void writeNull(Appendable out) throws IOException {
+        out.append("null");
+    }
+
+    public static void writeBoolean(OutputStream out, boolean value) throws IOException {
+        writeAscii(out, value ? "true" : "false");
+    }
+
+    public static void writeBoolean(Appendable out, boolean value) throws IOException {
+        out.append(value ? "true" : "false");
+    }
+
+    public static void writeLong(OutputStream out, long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(out, "-9223372036854775808");
+            return;
+        }
+
+        if (value < 0) {
+            out.write('-');
+            value = -value;
+        }
+
+        for (long divisor = getLargestPowerOfTen(value); divisor > 0; divisor /= 10) {
+            out.write((int) ('0' + value / divisor % 10));
+        }
+    }
+
+    public static void writeLong(Appendable out, long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.append("-9223372036854775808");
+            return;
+        }
+
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+
+        for (long divisor = getLargestPowerOfTen(value); divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    public static void writeDouble(OutputStream out, double value) throws IOException {
+        writeAscii(out, formatDouble(value));
+    }
+
+    public static void writeDouble(Appendable out, double value) throws IOException {
+        out.append(formatDouble(value));
+    }
+
+    public static void writeFloat(OutputStream out, float value) throws IOException {
+        writeAscii(out, formatFloat(value));
+    }
+
+    public static void writeFloat(Appendable out, float value) throws IOException {
+        out.append(formatFloat(value));
+    }
+
+    public static void writeChar(OutputStream out, char value) throws IOException {
+        out.write('"');
+        writeEscaped(out, value);
+        out.write('"');
+    }
+
+    public static void writeChar(Appendable out, char value) throws IOException {
+        out.append('"');
+        writeEscaped(out, value);
+        out.append('"');
+    }
+
+    public static void writeEnum(OutputStream out, Enum<?> value) throws IOException {
+        writeString(out, value == null ? null : value.name());
+    }
+
+    public static void writeEnum(Appendable out, Enum<?> value) throws IOException {
+        writeString(out, value == null ? null : value.name());
+    }
+
+    public static void writeString(OutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+            return;
+        }
+
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                writeEscaped(out, c);
+            } else if (c < 0x800) {
+                out.write(0xC0 | c >> 6);
+                out.write(0x80 | c & 0x3F);
+            } else if (!Character.isSurrogate(c)) {
+                out.write(0xE0 | c >> 12);
+                out.write(0x80 | c >> 6 & 0x3F);
+                out.write(0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.write(0xF0 | codePoint >> 18);
+                out.write(0x80 | codePoint >> 12 & 0x3F);
+                out.write(0x80 | codePoint >> 6 & 0x3F);
+                out.write(0x80 | codePoint & 0x3F);
+            } else {
+                // Unpaired surrogates cannot be encoded as UTF-8, so they are written as escapes
+                writeUnicodeEscape(out, c);
+            }
+        }
+        out.write('"');
+    }
+
+    public static void writeString(Appendable out, String value) throws IOException {
+        if (value == null) {
+            writeNull(out);
+            return;
+        }
+
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            writeEscaped(out, value.charAt(i));
+        }
+        out.append('"');
+    }
+
+    private static void writeEscaped(OutputStream out, char c) throws IOException {
+        switch (c) {
+            case '"' -> writeAscii(out, "\\\"");
+            case '\\' -> writeAscii(out, "\\\\");
+            case '\n' -> writeAscii(out, "\\n");
+            case '\r' -> writeAscii(out, "\\r");
+            case '\t' -> writeAscii(out, "\\t");
+            case '\b' -> writeAscii(out, "\\b");
+            case '\f' -> writeAscii(out, "\\f");
+            default -> {
+                if (c < 0x20) {
+                    writeUnicodeEscape(out, c);
+                } else {
+                    out.write(c);
+                }
+            }
+        }
+    }
+
+    private static void writeEscaped(Appendable out, char c) throws IOException {
+        switch (c) {
+            case '"' -> out.append("\\\"");
+            case '\\' -> out.append("\\\\");
+            case '\n' -> out.append("\\n");
+            case '\r' -> out.append("\\r");
+            case '\t' -> out.append("\\t");
+            case '\b' -> out.append("\\b");
+            case '\f' -> out.append("\\f");
+            default -> {
+                if (c < 0x20) {
+                    out.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+                } else {
+                    out.append(c);
+                }
+            }
+        }
+    }
+
+    private static void writeUnicodeEscape(OutputStream out, char c) throws IOException {
+        out.write('\\');
+        out.write('u');
+        out.write(HEX_DIGITS[c >> 12]);
+        out.write(HEX_DIGITS[c >> 8 & 0xF]);
+        out.write(HEX_DIGITS[c >> 4 & 0xF]);
+        out.write(HEX_DIGITS[c & 0xF]);
+    }
+
+    private static void writeAscii(OutputStream out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            out.write(value.charAt(i));
+        }
+    }
+
+    private static long getLargestPowerOfTen(long value) {
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        return divisor;
+    }
+
+    private static String formatDouble(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("JSON does not support number " + value);
+        }
+        return Double.toString(value);
+    }
+
+    private static String formatFloat(float value) {
+        if (!Float.isFinite(value)) {
+            throw new IllegalArgumentException("JSON does not support number " + value);
+        }
+        return Float.toString(value);
+    }
+}
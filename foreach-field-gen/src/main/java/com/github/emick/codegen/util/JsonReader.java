@@ -0,0 +1,367 @@
+package com.github.emick.codegen.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Pull reader of JSON objects used by generated JSON codecs.
+ * <p>
+ * Reads from a {@link Reader} through an internal buffer, so the reader does not need to be buffered. Object
+ * names are returned from a small cache when the same name was read before, so reading many documents of the
+ * same types allocates strings only for string values.
+ * <p>
+ * E.g. reading object {@code {"id": 1}}:
+ * <pre>{@code
+ * reader.beginObject();
+ * while (reader.hasNext()) {
+ *     switch (reader.nextName()) {
+ *         case "id" -> id = reader.nextLong();
+ *         default -> reader.skipValue();
+ *     }
+ * }
+ * reader.endObject();
+ * }</pre>
+ * Malformed input fails with an {@link IOException}. Instances are not thread-safe.
+ */
+public class JsonReader {
+
+    private static final int NAME_CACHE_SIZE = 256;
+
+    private final Reader in;
+    private final char[] buffer = new char[1024];
+    private int position;
+    private int limit;
+    private long bufferOffset;
+
+    // Whether each open object already has a member, which must then be followed by a comma
+    private boolean[] nonEmpty = new boolean[16];
+    private int depth;
+    private boolean memberPending;
+
+    private final StringBuilder text = new StringBuilder();
+    private final String[] names = new String[NAME_CACHE_SIZE];
+
+    public JsonReader(Reader in) {
+        this.in = in;
+    }
+
+    public void beginObject() throws IOException {
+        expect('{');
+        if (depth == nonEmpty.length) {
+            nonEmpty = Arrays.copyOf(nonEmpty, depth * 2);
+        }
+        nonEmpty[depth++] = false;
+    }
+
+    public void endObject() throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("Not reading an object");
+        }
+
+        expect('}');
+        depth--;
+        memberPending = false;
+    }
+
+    /**
+     * Returns whether the current object has another member, which is then read with {@link #nextName()} and
+     * one of the value methods.
+     */
+    public boolean hasNext() throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("Not reading an object");
+        }
+
+        if (memberPending) {
+            return true;
+        }
+
+        int c = peek();
+        if (c == '}') {
+            return false;
+        }
+
+        if (nonEmpty[depth - 1]) {
+            if (c != ',') {
+                throw syntaxError("Expected ',' or '}'");
+            }
+            position++;
+        }
+
+        nonEmpty[depth - 1] = true;
+        memberPending = true;
+        return true;
+    }
+
+    public String nextName() throws IOException {
+        if (!hasNext()) {
+            throw syntaxError("Expected a name");
+        }
+
+        expect('"');
+        int hash = readString();
+        expect(':');
+        memberPending = false;
+
+        int index = hash & (NAME_CACHE_SIZE - 1);
+        String name = names[index];
+        if (name == null || !name.contentEquals(text)) {
+            name = text.toString();
+            names[index] = name;
+        }
+        return name;
+    }
+
+    /**
+     * Consumes a {@code null} value and returns {@code true} if the next value is {@code null}, otherwise
+     * consumes nothing and returns {@code false}.
+     */
+    public boolean nextNull() throws IOException {
+        if (peek() != 'n') {
+            return false;
+        }
+
+        expectLiteral("null");
+        return true;
+    }
+
+    public String nextString() throws IOException {
+        if (nextNull()) {
+            return null;
+        }
+
+        expect('"');
+        readString();
+        return text.toString();
+    }
+
+    public char nextChar() throws IOException {
+        expect('"');
+        readString();
+        if (text.length() != 1) {
+            throw syntaxError("Expected a single character");
+        }
+        return text.charAt(0);
+    }
+
+    public boolean nextBoolean() throws IOException {
+        int c = peek();
+        if (c == 't') {
+            expectLiteral("true");
+            return true;
+        }
+        if (c == 'f') {
+            expectLiteral("false");
+            return false;
+        }
+        throw syntaxError("Expected a boolean");
+    }
+
+    public byte nextByte() throws IOException {
+        return (byte) nextInt(Byte.MIN_VALUE, Byte.MAX_VALUE, "Expected a byte");
+    }
+
+    public short nextShort() throws IOException {
+        return (short) nextInt(Short.MIN_VALUE, Short.MAX_VALUE, "Expected a short");
+    }
+
+    public int nextInt() throws IOException {
+        return nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE, "Expected an int");
+    }
+
+    public long nextLong() throws IOException {
+        readNumber();
+        try {
+            return Long.parseLong(text, 0, text.length(), 10);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected a long");
+        }
+    }
+
+    public double nextDouble() throws IOException {
+        readNumber();
+        try {
+            return Double.parseDouble(text.toString());
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected a number");
+        }
+    }
+
+    /**
+     * Skips the next value, e.g. of a member unknown to the generated codec, including nested objects and
+     * arrays.
+     */
+    public void skipValue() throws IOException {
+        int nesting = 0;
+        do {
+            int c = peek();
+            switch (c) {
+                case '{', '[' -> {
+                    position++;
+                    nesting++;
+                }
+                case '}', ']' -> {
+                    position++;
+                    nesting--;
+                }
+                case ',', ':' -> position++;
+                case '"' -> {
+                    position++;
+                    readString();
+                }
+                case 't' -> expectLiteral("true");
+                case 'f' -> expectLiteral("false");
+                case 'n' -> expectLiteral("null");
+                case -1 -> throw syntaxError("Unexpected end of input");
+                default -> readNumber();
+            }
+        } while (nesting > 0);
+    }
+
+    /**
+     * Reads a decimal integer, failing with {@code expected} unless it lies within {@code min} and {@code max}.
+     */
+    private int nextInt(int min, int max, String expected) throws IOException {
+        readNumber();
+        int value;
+        try {
+            value = Integer.parseInt(text, 0, text.length(), 10);
+        } catch (NumberFormatException e) {
+            throw syntaxError(expected);
+        }
+        if (value < min || value > max) {
+            throw syntaxError(expected);
+        }
+        return value;
+    }
+
+    /**
+     * Reads the rest of a string whose opening quote has been consumed into {@link #text} and returns its hash.
+     */
+    private int readString() throws IOException {
+        text.setLength(0);
+        int hash = 0;
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return hash;
+            }
+            if (c == -1) {
+                throw syntaxError("Unterminated string");
+            }
+            if (c == '\\') {
+                c = readEscaped();
+            } else if (c < 0x20) {
+                throw syntaxError("Unescaped control character in string");
+            }
+            text.append((char) c);
+            hash = 31 * hash + c;
+        }
+    }
+
+    private char readEscaped() throws IOException {
+        int c = read();
+        return switch (c) {
+            case '"', '\\', '/' -> (char) c;
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'u' -> {
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Invalid unicode escape");
+                    }
+                    value = value << 4 | digit;
+                }
+                yield (char) value;
+            }
+            default -> throw syntaxError("Invalid escape");
+        };
+    }
+
+    private void readNumber() throws IOException {
+        peek();
+        text.setLength(0);
+        while (true) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            char c = buffer[position];
+            if ((c < '0' || c > '9') && c != '-' && c != '+' && c != '.' && c != 'e' && c != 'E') {
+                break;
+            }
+            text.append(c);
+            position++;
+        }
+
+        if (text.isEmpty()) {
+            throw syntaxError("Expected a value");
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (peek() != expected) {
+            throw syntaxError("Expected '" + expected + "'");
+        }
+        position++;
+    }
+
+    private void expectLiteral(String literal) throws IOException {
+        peek();
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw syntaxError("Expected " + literal);
+            }
+        }
+    }
+
+    /**
+     * Skips whitespace and returns the next character without consuming it, or -1 at the end of input.
+     */
+    private int peek() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+
+            char c = buffer[position];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+            position++;
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        bufferOffset += limit;
+        position = 0;
+        limit = 0;
+
+        int count;
+        do {
+            count = in.read(buffer);
+        } while (count == 0);
+
+        if (count < 0) {
+            return false;
+        }
+        limit = count;
+        return true;
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException(message + " at offset " + (bufferOffset + position));
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.emick.codegen.util.function;
+
+/**
+ * Represents an operation that accepts a single {@code float}-valued argument and returns no result.
+ * This is the {@code float}-consuming primitive specialization of {@link java.util.function.Consumer},
+ * complementing {@link java.util.function.IntConsumer} and friends for primitive types the JDK does not cover.
+ */
+@FunctionalInterface
+public interface FloatConsumer {
+    void accept(float value);
+}
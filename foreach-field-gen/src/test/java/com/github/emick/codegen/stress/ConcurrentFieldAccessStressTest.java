@@ -0,0 +1,341 @@
+package com.github.emick.codegen.stress;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs generated visitors and mappers from many threads at once. Each thread checks that it observes exactly
+ * the values it expects, so any interference between threads in the runtime access layer (e.g. accessibility
+ * of a shared {@link java.lang.reflect.Field} being reset by another thread) fails the test.
+ * <p>
+ * Tagged {@code stress}, so it is not run by the {@code test} task but with {@code ./gradlew stressTest}.
+ */
+@Tag("stress")
+public class ConcurrentFieldAccessStressTest {
+
+    private static final int THREADS = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int ITERATIONS = 50_000;
+    private static final long TIMEOUT_SECONDS = 120;
+
+    @Test
+    public void shouldVisitAndMapPrivateFieldsThroughReflectionConcurrently() throws Exception {
+        runConcurrently((thread, iteration) -> {
+            var source = new ReflectionAccessModel(name(thread), iteration, version(thread, iteration));
+            var visitor = new ReflectionVisitor(source);
+            visitor.visitAll();
+            assertEquals(name(thread), visitor.name);
+            assertEquals(iteration, visitor.quantity);
+            assertEquals(version(thread, iteration), visitor.version);
+        });
+
+        runConcurrently((thread, iteration) -> {
+            var source = new ReflectionAccessModel(name(thread), iteration, version(thread, iteration));
+            var target = new ReflectionAccessModel();
+            new ReflectionMapper(source).mapAllTo(target);
+            assertEquals(name(thread), target.getName());
+            assertEquals(iteration + 1, target.getQuantity());
+            assertEquals(version(thread, iteration), target.getVersion());
+        });
+    }
+
+    @Test
+    public void shouldVisitAndMapPrivateFieldsThroughVarHandlesConcurrently() throws Exception {
+        runConcurrently((thread, iteration) -> {
+            var source = new VarHandleAccessModel(name(thread), iteration, version(thread, iteration));
+            var visitor = new VarHandleVisitor(source);
+            visitor.visitAll();
+            assertEquals(name(thread), visitor.name);
+            assertEquals(iteration, visitor.quantity);
+            assertEquals(version(thread, iteration), visitor.version);
+        });
+
+        runConcurrently((thread, iteration) -> {
+            var source = new VarHandleAccessModel(name(thread), iteration, version(thread, iteration));
+            var target = new VarHandleAccessModel();
+            new VarHandleMapper(source).mapAllTo(target);
+            assertEquals(name(thread), target.getName());
+            assertEquals(iteration + 1, target.getQuantity());
+            assertEquals(version(thread, iteration), target.getVersion());
+        });
+    }
+
+    @Test
+    public void shouldVisitAndMapDirectlyAccessibleFieldsConcurrently() throws Exception {
+        runConcurrently((thread, iteration) -> {
+            var source = new DirectAccessModel();
+            source.name = name(thread);
+            source.quantity = iteration;
+            source.version = version(thread, iteration);
+
+            var visitor = new DirectVisitor(source);
+            visitor.visitAll();
+            assertEquals(name(thread), visitor.name);
+            assertEquals(iteration, visitor.quantity);
+
+            var target = new DirectAccessModel();
+            new DirectMapper(source).mapAllTo(target);
+            assertEquals(name(thread), target.name);
+            assertEquals(iteration + 1, target.quantity);
+            assertEquals(version(thread, iteration), target.version);
+        });
+    }
+
+    @Test
+    public void shouldVisitSharedInstanceConcurrently() throws Exception {
+        var shared = new ReflectionAccessModel("shared", 7, 11L);
+
+        runConcurrently((thread, iteration) -> {
+            var visitor = new ReflectionVisitor(shared);
+            visitor.visitAll();
+            assertEquals("shared", visitor.name);
+            assertEquals(7, visitor.quantity);
+            assertEquals(11L, visitor.version);
+        });
+    }
+
+    @Test
+    public void shouldShareStatelessVisitorAndMapperBetweenThreads() throws Exception {
+        var visitor = new StatelessVisitor();
+        var mapper = new StatelessMapper();
+
+        runConcurrently((thread, iteration) -> {
+            var source = new StatelessAccessModel(name(thread), iteration, version(thread, iteration));
+            long checksum = visitor.visitAll(source, new long[1]);
+            assertEquals(name(thread).length() + iteration + version(thread, iteration), checksum);
+
+            var target = new StatelessAccessModel();
+            mapper.mapAllTo(source, target);
+            assertEquals(name(thread), target.getName());
+            assertEquals(iteration + 1, target.getQuantity());
+            assertEquals(version(thread, iteration), target.version);
+        });
+    }
+
+    private static void runConcurrently(StressTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        task.run(thread, i);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (Future<?> future : futures) {
+                // Rethrows assertion errors and access failures from worker threads
+                future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String name(int thread) {
+        return "thread-" + thread;
+    }
+
+    private static long version(int thread, int iteration) {
+        return ((long) thread << 32) | iteration;
+    }
+
+    @FunctionalInterface
+    private interface StressTask {
+        void run(int thread, int iteration);
+    }
+
+    private static final class ReflectionVisitor extends ReflectionAccessModelFieldVisitor {
+        String name;
+        int quantity;
+        long version;
+
+        private ReflectionVisitor(ReflectionAccessModel instance) {
+            super(instance);
+        }
+
+        @Override
+        protected void visitName(String value) {
+            name = value;
+        }
+
+        @Override
+        protected void visitQuantity(int value) {
+            quantity = value;
+        }
+
+        @Override
+        protected void visitVersion(long value) {
+            version = value;
+        }
+    }
+
+    private static final class ReflectionMapper extends ReflectionAccessModelFieldMapper {
+        private ReflectionMapper(ReflectionAccessModel source) {
+            super(source);
+        }
+
+        @Override
+        protected void setName(ReflectionAccessModel source, String sourceFieldValue, Consumer<String> setter) {
+            setter.accept(sourceFieldValue);
+        }
+
+        @Override
+        protected void setQuantity(ReflectionAccessModel source, int sourceFieldValue, IntConsumer setter) {
+            setter.accept(sourceFieldValue + 1);
+        }
+
+        @Override
+        protected void setVersion(ReflectionAccessModel source, long sourceFieldValue, LongConsumer setter) {
+            setter.accept(sourceFieldValue);
+        }
+    }
+
+    private static final class VarHandleVisitor extends VarHandleAccessModelFieldVisitor {
+        String name;
+        int quantity;
+        long version;
+
+        private VarHandleVisitor(VarHandleAccessModel instance) {
+            super(instance);
+        }
+
+        @Override
+        protected void visitName(String value) {
+            name = value;
+        }
+
+        @Override
+        protected void visitQuantity(int value) {
+            quantity = value;
+        }
+
+        @Override
+        protected void visitVersion(long value) {
+            version = value;
+        }
+    }
+
+    private static final class VarHandleMapper extends VarHandleAccessModelFieldMapper {
+        private VarHandleMapper(VarHandleAccessModel source) {
+            super(source);
+        }
+
+        @Override
+        protected void setName(VarHandleAccessModel source, String sourceFieldValue, Consumer<String> setter) {
+            setter.accept(sourceFieldValue);
+        }
+
+        @Override
+        protected void setQuantity(VarHandleAccessModel source, int sourceFieldValue, IntConsumer setter) {
+            setter.accept(sourceFieldValue + 1);
+        }
+
+        @Override
+        protected void setVersion(VarHandleAccessModel source, long sourceFieldValue, LongConsumer setter) {
+            setter.accept(sourceFieldValue);
+        }
+    }
+
+    private static final class DirectVisitor extends DirectAccessModelFieldVisitor {
+        String name;
+        int quantity;
+
+        private DirectVisitor(DirectAccessModel instance) {
+            super(instance);
+        }
+
+        @Override
+        protected void visitName(String value) {
+            name = value;
+        }
+
+        @Override
+        protected void visitQuantity(int value) {
+            quantity = value;
+        }
+
+        @Override
+        protected void visitVersion(long value) {
+        }
+    }
+
+    private static final class DirectMapper extends DirectAccessModelFieldMapper {
+        private DirectMapper(DirectAccessModel source) {
+            super(source);
+        }
+
+        @Override
+        protected void setName(DirectAccessModel source, String sourceFieldValue, Consumer<String> setter) {
+            setter.accept(sourceFieldValue);
+        }
+
+        @Override
+        protected void setQuantity(DirectAccessModel source, int sourceFieldValue, IntConsumer setter) {
+            setter.accept(sourceFieldValue + 1);
+        }
+
+        @Override
+        protected void setVersion(DirectAccessModel source, long sourceFieldValue, LongConsumer setter) {
+            setter.accept(sourceFieldValue);
+        }
+    }
+
+    private static final class StatelessVisitor extends StatelessAccessModelFieldVisitor<long[], Long> {
+        @Override
+        protected void visitName(StatelessAccessModel instance, long[] context, String value) {
+            context[0] += value.length();
+        }
+
+        @Override
+        protected void visitQuantity(StatelessAccessModel instance, long[] context, int value) {
+            context[0] += value;
+        }
+
+        @Override
+        protected void visitVersion(StatelessAccessModel instance, long[] context, long value) {
+            context[0] += value;
+        }
+
+        @Override
+        protected Long complete(StatelessAccessModel instance, long[] context) {
+            return context[0];
+        }
+    }
+
+    private static final class StatelessMapper extends StatelessAccessModelFieldMapper {
+        @Override
+        protected String mapName(StatelessAccessModel source, String sourceFieldValue) {
+            return sourceFieldValue;
+        }
+
+        @Override
+        protected int mapQuantity(StatelessAccessModel source, int sourceFieldValue) {
+            return sourceFieldValue + 1;
+        }
+
+        @Override
+        protected long mapVersion(StatelessAccessModel source, long sourceFieldValue) {
+            return sourceFieldValue;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.emick.codegen.stress;
+
+import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;
+import com.github.emick.codegen.transform.GenerateTransformMapper;
+
+@GenerateFieldVisitor
+@GenerateTransformMapper
+public class DirectAccessModel {
+    String name;
+    int quantity;
+    long version;
+}
@@ -0,0 +1,34 @@
+package com.github.emick.codegen.stress;
+
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;
+import com.github.emick.codegen.transform.GenerateTransformMapper;
+
+@GenerateFieldVisitor(fieldAccess = GeneratedFieldAccess.REFLECTION)
+@GenerateTransformMapper(fieldAccess = GeneratedFieldAccess.REFLECTION)
+public class ReflectionAccessModel {
+    private String name;
+    private int quantity;
+    private long version;
+
+    public ReflectionAccessModel() {
+    }
+
+    public ReflectionAccessModel(String name, int quantity, long version) {
+        this.name = name;
+        this.quantity = quantity;
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.emick.codegen.stress;
+
+import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;
+import com.github.emick.codegen.transform.GenerateTransformMapper;
+import com.github.emick.codegen.transform.MappingStyle;
+
+@GenerateFieldVisitor(stateless = true)
+@GenerateTransformMapper(stateless = true, mappingStyle = MappingStyle.RETURN_VALUE)
+public class StatelessAccessModel {
+    private String name;
+    private int quantity;
+    long version;
+
+    public StatelessAccessModel() {
+    }
+
+    public StatelessAccessModel(String name, int quantity, long version) {
+        this.name = name;
+        this.quantity = quantity;
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
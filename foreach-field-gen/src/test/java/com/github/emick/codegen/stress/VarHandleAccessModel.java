@@ -0,0 +1,34 @@
+package com.github.emick.codegen.stress;
+
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;
+import com.github.emick.codegen.transform.GenerateTransformMapper;
+
+@GenerateFieldVisitor(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+@GenerateTransformMapper(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+public class VarHandleAccessModel {
+    private String name;
+    private int quantity;
+    private long version;
+
+    public VarHandleAccessModel() {
+    }
+
+    public VarHandleAccessModel(String name, int quantity, long version) {
+        this.name = name;
+        this.quantity = quantity;
+        this.version = version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,143 @@
+package com.github.emick.codegen.test;
+
+import com.github.emick.codegen.common.FieldGenAnnotationProcessor;
+import com.github.emick.codegen.fieldenum.GenerateFieldEnum;
+import com.github.emick.codegen.fieldnames.GenerateFieldNames;
+import com.google.common.truth.Truth;
+import com.google.testing.compile.JavaFileObjects;
+import com.google.testing.compile.JavaSourcesSubjectFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.util.List;
+
+public class FieldGenAnnotationProcessorTest {
+
+    @Test
+    public void shouldProcessAllAnnotationsOfType() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import %s;
+
+                @%s
+                @%s(generatedName = "AFieldNames")
+                public class A {
+                    String myField;
+                }
+                """.formatted(
+                        GenerateFieldEnum.class.getCanonicalName(),
+                        GenerateFieldNames.class.getCanonicalName(),
+                        GenerateFieldEnum.class.getSimpleName(),
+                        GenerateFieldNames.class.getSimpleName())
+        );
+
+        JavaFileObject fieldEnumOutput = JavaFileObjects.forSourceString(
+                "com.example.AFields",
+                """
+                package com.example;
+
+                import java.lang.Class;
+                import java.lang.String;
+                import java.util.List;
+
+                public enum AFields {
+                  MY_FIELD("myField", String.class);
+
+                  private static final List<AFields> valueList = List.of(values());
+
+                  private final String fieldName;
+
+                  private final Class<?> type;
+
+                  AFields(String fieldName, Class<?> type) {
+                    this.fieldName = fieldName;
+                    this.type = type;
+                  }
+
+                  public String getFieldName() {
+                    return fieldName;
+                  }
+
+                  public Class<?> getType() {
+                    return type;
+                  }
+
+                  public boolean isPrimitive() {
+                    return type.isPrimitive();
+                  }
+
+                  public static AFields fromFieldName(String fieldName) {
+                    if (fieldName == null) {
+                      return null;
+                    }
+                    return switch (fieldName) {
+                      case "myField" -> MY_FIELD;
+                      default -> null;
+                    };
+                  }
+
+                  public static List<AFields> valueList() {
+                    return valueList;
+                  }
+                }
+                """
+        );
+
+        JavaFileObject fieldNamesOutput = JavaFileObjects.forSourceString(
+                "com.example.AFieldNames",
+                """
+                package com.example;
+
+                import java.lang.String;
+
+                public interface AFieldNames {
+                  String myField = "myField";
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new FieldGenAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(fieldEnumOutput, fieldNamesOutput);
+    }
+
+    @Test
+    public void shouldReportErrorsPerAnnotation() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import %s;
+
+                @%s
+                @%s
+                public class A {
+                    String myField;
+                    String MyField;
+                }
+                """.formatted(
+                        GenerateFieldEnum.class.getCanonicalName(),
+                        GenerateFieldNames.class.getCanonicalName(),
+                        GenerateFieldEnum.class.getSimpleName(),
+                        GenerateFieldNames.class.getSimpleName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new FieldGenAnnotationProcessor())
+                .failsToCompile()
+                .withErrorCount(2)
+                .withErrorContaining("Field names should not differ only by case");
+    }
+}
@@ -0,0 +1,260 @@
+package com.github.emick.codegen.test;
+
+import com.github.emick.codegen.binary.GenerateBinaryCodec;
+import com.github.emick.codegen.binary.GenerateBinaryCodecAnnotationProcessor;
+import com.github.emick.codegen.util.BinaryCodecUtil;
+import com.github.emick.codegen.util.FieldGenReflectionUtil;
+import com.google.common.truth.Truth;
+import com.google.testing.compile.JavaFileObjects;
+import com.google.testing.compile.JavaSourcesSubjectFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.util.List;
+
+public class GenerateBinaryCodecAnnotationProcessorTest {
+
+    private static final String REFLECTION_UTIL = FieldGenReflectionUtil.class.getCanonicalName();
+
+    @Test
+    public void shouldProcess() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public class A {
+                    String name;
+                    Integer count;
+                    private double price;
+                    B b;
+                }
+                """.formatted(
+                        GenerateBinaryCodec.class.getCanonicalName(),
+                        GenerateBinaryCodec.class.getSimpleName())
+        );
+
+        JavaFileObject nestedInput = JavaFileObjects.forSourceString(
+                "com.example.B",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public record B(boolean enabled) {
+                }
+                """.formatted(
+                        GenerateBinaryCodec.class.getCanonicalName(),
+                        GenerateBinaryCodec.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.ABinaryCodec",
+                """
+                package com.example;
+
+                import %1$s;
+                import java.lang.Integer;
+                import java.lang.String;
+                import java.lang.invoke.MethodHandles;
+                import java.lang.invoke.VarHandle;
+                import java.nio.ByteBuffer;
+
+                public final class ABinaryCodec {
+
+                  private static final VarHandle PRICE_HANDLE = %2$s.findVarHandle(MethodHandles.lookup(), A.class, "price", double.class);
+
+                  private ABinaryCodec() {
+                  }
+
+                  public static void write(A value, ByteBuffer buffer) {
+                    String valueName = value.name;
+                    BinaryCodecUtil.putString(buffer, valueName);
+                    Integer valueCount = value.count;
+                    if (valueCount == null) {
+                      buffer.put((byte) 0);
+                    } else {
+                      buffer.put((byte) 1);
+                      buffer.putInt(valueCount);
+                    }
+                    double valuePrice = (double)PRICE_HANDLE.get(value);
+                    buffer.putDouble(valuePrice);
+                    B valueB = value.b;
+                    if (valueB == null) {
+                      buffer.put((byte) 0);
+                    } else {
+                      buffer.put((byte) 1);
+                      BBinaryCodec.write(valueB, buffer);
+                    }
+                  }
+
+                  public static A read(ByteBuffer buffer) {
+                    A value = new A();
+                    read(buffer, value);
+                    return value;
+                  }
+
+                  public static void read(ByteBuffer buffer, A target) {
+                    target.name = BinaryCodecUtil.getString(buffer);
+                    target.count = buffer.get() == 0 ? null : buffer.getInt();
+                    PRICE_HANDLE.set(target, buffer.getDouble());
+                    target.b = buffer.get() == 0 ? null : BBinaryCodec.read(buffer);
+                  }
+                }
+                """.formatted(BinaryCodecUtil.class.getCanonicalName(), REFLECTION_UTIL)
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input, nestedInput))
+                .processedWith(new GenerateBinaryCodecAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldProcessRecord() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import java.util.concurrent.TimeUnit;
+
+                @%s
+                public record A(String name, int quantity, TimeUnit unit) {
+                }
+                """.formatted(
+                        GenerateBinaryCodec.class.getCanonicalName(),
+                        GenerateBinaryCodec.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.ABinaryCodec",
+                """
+                package com.example;
+
+                import %s;
+                import java.lang.String;
+                import java.nio.ByteBuffer;
+                import java.util.concurrent.TimeUnit;
+
+                public final class ABinaryCodec {
+                  private ABinaryCodec() {
+                  }
+
+                  public static void write(A value, ByteBuffer buffer) {
+                    String valueName = value.name();
+                    BinaryCodecUtil.putString(buffer, valueName);
+                    int valueQuantity = value.quantity();
+                    buffer.putInt(valueQuantity);
+                    TimeUnit valueUnit = value.unit();
+                    BinaryCodecUtil.putEnum(buffer, valueUnit);
+                  }
+
+                  public static A read(ByteBuffer buffer) {
+                    return new A(
+                        BinaryCodecUtil.getString(buffer),
+                        buffer.getInt(),
+                        BinaryCodecUtil.getEnum(buffer, TimeUnit.class));
+                  }
+                }
+                """.formatted(BinaryCodecUtil.class.getCanonicalName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateBinaryCodecAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldOnlyReadIntoTargetWithoutNoArgConstructor() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public class A {
+                    long id;
+
+                    public A(long id) {
+                        this.id = id;
+                    }
+                }
+                """.formatted(
+                        GenerateBinaryCodec.class.getCanonicalName(),
+                        GenerateBinaryCodec.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.ABinaryCodec",
+                """
+                package com.example;
+
+                import java.nio.ByteBuffer;
+
+                public final class ABinaryCodec {
+                  private ABinaryCodec() {
+                  }
+
+                  public static void write(A value, ByteBuffer buffer) {
+                    long valueId = value.id;
+                    buffer.putLong(valueId);
+                  }
+
+                  public static void read(ByteBuffer buffer, A target) {
+                    target.id = buffer.getLong();
+                  }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateBinaryCodecAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldFailOnUnsupportedFieldType() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import java.util.List;
+
+                @%s
+                public class A {
+                    List<String> names;
+                }
+                """.formatted(
+                        GenerateBinaryCodec.class.getCanonicalName(),
+                        GenerateBinaryCodec.class.getSimpleName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateBinaryCodecAnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("Type java.util.List<java.lang.String> is not supported by @GenerateBinaryCodec");
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.emick.codegen.test;
+
+import com.github.emick.codegen.columnar.GenerateColumnarFile;
+import com.github.emick.codegen.columnar.GenerateColumnarFileAnnotationProcessor;
+import com.google.common.truth.Truth;
+import com.google.testing.compile.JavaFileObjects;
+import com.google.testing.compile.JavaSourcesSubjectFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.util.List;
+
+public class GenerateColumnarFileAnnotationProcessorTest {
+
+    @Test
+    public void shouldProcessRecord() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public record A(long id, String name, State state, boolean active) {
+                    public enum State { OPEN, CLOSED }
+                }
+                """.formatted(
+                        GenerateColumnarFile.class.getCanonicalName(),
+                        GenerateColumnarFile.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AColumnarFile",
+                """
+                package com.example;
+
+                import com.github.emick.codegen.util.ColumnarFileReader;
+                import com.github.emick.codegen.util.ColumnarFileWriter;
+                import java.io.IOException;
+                import java.lang.String;
+                import java.nio.ByteBuffer;
+                import java.nio.file.Path;
+                import java.util.List;
+                import java.util.Objects;
+
+                public final class AColumnarFile {
+                    private static final int SCHEMA = -1319728216;
+
+                    private static final int[] SEGMENT_WIDTHS = {8, 0, 8, 1, 1};
+
+                    private static final A.State[] STATE_VALUES = A.State.values();
+
+                    private final int size;
+
+                    private final ByteBuffer idColumn;
+
+                    private final ByteBuffer nameColumn;
+
+                    private final ByteBuffer nameEnds;
+
+                    private final ByteBuffer stateColumn;
+
+                    private final ByteBuffer activeColumn;
+
+                    private AColumnarFile(ColumnarFileReader reader) {
+                        size = reader.rowCount();
+                        idColumn = reader.segment(0);
+                        nameColumn = reader.segment(1);
+                        nameEnds = reader.segment(2);
+                        stateColumn = reader.segment(3);
+                        activeColumn = reader.segment(4);
+                    }
+
+                    public static void write(Path path, List<? extends A> values) throws IOException {
+                        try (ColumnarFileWriter writer = new ColumnarFileWriter(path, SCHEMA, values.size(), SEGMENT_WIDTHS.length)) {
+                            writer.beginSegment();
+                            for (A value : values) {
+                                writer.putLong(value.id());
+                            }
+                            writer.beginSegment();
+                            for (A value : values) {
+                                writer.putString(value.name());
+                            }
+                            writer.putStringEnds();
+                            writer.beginSegment();
+                            for (A value : values) {
+                                A.State valueState = value.state();
+                                writer.put((byte) (valueState == null ? -1 : valueState.ordinal()));
+                            }
+                            writer.beginSegment();
+                            for (A value : values) {
+                                writer.putBoolean(value.active());
+                            }
+                            writer.finish();
+                        }
+                    }
+
+                    public static AColumnarFile open(Path path) throws IOException {
+                        return new AColumnarFile(ColumnarFileReader.open(path, SCHEMA, SEGMENT_WIDTHS));
+                    }
+
+                    public int size() {
+                        return size;
+                    }
+
+                    public long getId(int row) {
+                        Objects.checkIndex(row, size);
+                        return idColumn.getLong(row * 8);
+                    }
+
+                    public String getName(int row) {
+                        Objects.checkIndex(row, size);
+                        return ColumnarFileReader.getString(nameColumn, nameEnds, row);
+                    }
+
+                    public A.State getState(int row) {
+                        Objects.checkIndex(row, size);
+                        int ordinal = stateColumn.get(row);
+                        return ordinal < 0 ? null : STATE_VALUES[ordinal];
+                    }
+
+                    public boolean getActive(int row) {
+                        Objects.checkIndex(row, size);
+                        return activeColumn.get(row) != 0;
+                    }
+
+                    public A get(int row) {
+                        return new A(getId(row), getName(row), getState(row), getActive(row));
+                    }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateColumnarFileAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldFailOnUnsupportedFieldType() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import java.util.List;
+
+                @%s
+                public class A {
+                    long id;
+                    List<String> tags;
+                }
+                """.formatted(
+                        GenerateColumnarFile.class.getCanonicalName(),
+                        GenerateColumnarFile.class.getSimpleName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateColumnarFileAnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("Type java.util.List<java.lang.String> is not supported by @GenerateColumnarFile, "
+                        + "only primitive, String and enum fields can be stored in columnar files");
+    }
+}
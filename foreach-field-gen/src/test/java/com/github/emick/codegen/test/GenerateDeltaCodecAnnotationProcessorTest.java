@@ -0,0 +1,208 @@
+package com.github.emick.codegen.test;
+
+import com.github.emick.codegen.delta.GenerateDeltaCodec;
+import com.github.emick.codegen.delta.GenerateDeltaCodecAnnotationProcessor;
+import com.github.emick.codegen.util.BinaryCodecUtil;
+import com.github.emick.codegen.util.FieldGenReflectionUtil;
+import com.google.common.truth.Truth;
+import com.google.testing.compile.JavaFileObjects;
+import com.google.testing.compile.JavaSourcesSubjectFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.util.List;
+
+public class GenerateDeltaCodecAnnotationProcessorTest {
+
+    private static final String REFLECTION_UTIL = FieldGenReflectionUtil.class.getCanonicalName();
+
+    @Test
+    public void shouldProcess() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public class A {
+                    String name;
+                    Integer count;
+                    private double price;
+                }
+                """.formatted(
+                        GenerateDeltaCodec.class.getCanonicalName(),
+                        GenerateDeltaCodec.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.ADeltaCodec",
+                """
+                package com.example;
+
+                import %1$s;
+                import java.lang.Double;
+                import java.lang.Integer;
+                import java.lang.String;
+                import java.lang.invoke.MethodHandles;
+                import java.lang.invoke.VarHandle;
+                import java.nio.ByteBuffer;
+                import java.util.Objects;
+
+                public final class ADeltaCodec {
+
+                  private static final VarHandle PRICE_HANDLE = %2$s.findVarHandle(MethodHandles.lookup(), A.class, "price", double.class);
+
+                  private ADeltaCodec() {
+                  }
+
+                  public static long encode(A previous, A current, ByteBuffer buffer) {
+                    int headerPosition = buffer.position();
+                    buffer.position(headerPosition + 1);
+                    long changed = 0L;
+                    String currentName = current.name;
+                    if (!Objects.equals(previous.name, currentName)) {
+                      changed |= 1L << 0;
+                      BinaryCodecUtil.putString(buffer, currentName);
+                    }
+                    Integer currentCount = current.count;
+                    if (!Objects.equals(previous.count, currentCount)) {
+                      changed |= 1L << 1;
+                      if (currentCount == null) {
+                        buffer.put((byte) 0);
+                      } else {
+                        buffer.put((byte) 1);
+                        buffer.putInt(currentCount);
+                      }
+                    }
+                    double currentPrice = (double)PRICE_HANDLE.get(current);
+                    if (Double.compare((double)PRICE_HANDLE.get(previous), currentPrice) != 0) {
+                      changed |= 1L << 2;
+                      buffer.putDouble(currentPrice);
+                    }
+                    buffer.put(headerPosition, (byte) changed);
+                    return changed;
+                  }
+
+                  public static long decode(ByteBuffer buffer, A target) {
+                    long changed = buffer.get() & 0xFFL;
+                    if ((changed & (1L << 0)) != 0L) {
+                      target.name = BinaryCodecUtil.getString(buffer);
+                    }
+                    if ((changed & (1L << 1)) != 0L) {
+                      target.count = buffer.get() == 0 ? null : buffer.getInt();
+                    }
+                    if ((changed & (1L << 2)) != 0L) {
+                      PRICE_HANDLE.set(target, buffer.getDouble());
+                    }
+                    return changed;
+                  }
+                }
+                """.formatted(BinaryCodecUtil.class.getCanonicalName(), REFLECTION_UTIL)
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateDeltaCodecAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldProcessRecord() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public record A(String name, int quantity) {
+                }
+                """.formatted(
+                        GenerateDeltaCodec.class.getCanonicalName(),
+                        GenerateDeltaCodec.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.ADeltaCodec",
+                """
+                package com.example;
+
+                import %s;
+                import java.lang.String;
+                import java.nio.ByteBuffer;
+                import java.util.Objects;
+
+                public final class ADeltaCodec {
+                  private ADeltaCodec() {
+                  }
+
+                  public static long encode(A previous, A current, ByteBuffer buffer) {
+                    int headerPosition = buffer.position();
+                    buffer.position(headerPosition + 1);
+                    long changed = 0L;
+                    String currentName = current.name();
+                    if (!Objects.equals(previous.name(), currentName)) {
+                      changed |= 1L << 0;
+                      BinaryCodecUtil.putString(buffer, currentName);
+                    }
+                    int currentQuantity = current.quantity();
+                    if (previous.quantity() != currentQuantity) {
+                      changed |= 1L << 1;
+                      buffer.putInt(currentQuantity);
+                    }
+                    buffer.put(headerPosition, (byte) changed);
+                    return changed;
+                  }
+
+                  public static A decode(ByteBuffer buffer, A base) {
+                    long changed = buffer.get() & 0xFFL;
+                    return new A(
+                        (changed & (1L << 0)) != 0L ? (BinaryCodecUtil.getString(buffer)) : base.name(),
+                        (changed & (1L << 1)) != 0L ? (buffer.getInt()) : base.quantity());
+                  }
+                }
+                """.formatted(BinaryCodecUtil.class.getCanonicalName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateDeltaCodecAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldFailOnUnsupportedFieldType() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import java.util.List;
+
+                @%s
+                public class A {
+                    List<String> names;
+                }
+                """.formatted(
+                        GenerateDeltaCodec.class.getCanonicalName(),
+                        GenerateDeltaCodec.class.getSimpleName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateDeltaCodecAnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("Type java.util.List<java.lang.String> is not supported by @GenerateDeltaCodec");
+    }
+}
@@ -0,0 +1,243 @@
+package com.github.emick.codegen.test;
+
+import com.github.emick.codegen.common.GeneratedFieldAccess;
+import com.github.emick.codegen.fielddiff.GenerateFieldDiff;
+import com.github.emick.codegen.fielddiff.GenerateFieldDiffAnnotationProcessor;
+import com.google.common.truth.Truth;
+import com.google.testing.compile.JavaFileObjects;
+import com.google.testing.compile.JavaSourcesSubjectFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class GenerateFieldDiffAnnotationProcessorTest {
+
+    @Test
+    public void shouldProcess() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public class A {
+                    String name;
+                    int quantity;
+                    double price;
+                }
+                """.formatted(
+                        GenerateFieldDiff.class.getCanonicalName(),
+                        GenerateFieldDiff.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFieldDiff",
+                """
+                package com.example;
+
+                import java.lang.Double;
+                import java.lang.String;
+                import java.util.Objects;
+
+                public final class AFieldDiff {
+                  public static final long NAME = 1L << 0;
+
+                  public static final long QUANTITY = 1L << 1;
+
+                  public static final long PRICE = 1L << 2;
+
+                  private AFieldDiff() {
+                  }
+
+                  public static long diff(A a, A b) {
+                    long changed = 0L;
+                    if (!Objects.equals(a.name, b.name)) {
+                      changed |= NAME;
+                    }
+                    if (a.quantity != b.quantity) {
+                      changed |= QUANTITY;
+                    }
+                    if (Double.compare(a.price, b.price) != 0) {
+                      changed |= PRICE;
+                    }
+                    return changed;
+                  }
+
+                  public static long diff(A a, A b, Listener listener) {
+                    long changed = 0L;
+                    String oldName = a.name;
+                    String newName = b.name;
+                    if (!Objects.equals(oldName, newName)) {
+                      changed |= NAME;
+                      listener.nameChanged(oldName, newName);
+                    }
+                    int oldQuantity = a.quantity;
+                    int newQuantity = b.quantity;
+                    if (oldQuantity != newQuantity) {
+                      changed |= QUANTITY;
+                      listener.quantityChanged(oldQuantity, newQuantity);
+                    }
+                    double oldPrice = a.price;
+                    double newPrice = b.price;
+                    if (Double.compare(oldPrice, newPrice) != 0) {
+                      changed |= PRICE;
+                      listener.priceChanged(oldPrice, newPrice);
+                    }
+                    return changed;
+                  }
+
+                  public interface Listener {
+                    default void nameChanged(String oldValue, String newValue) {
+                    }
+
+                    default void quantityChanged(int oldValue, int newValue) {
+                    }
+
+                    default void priceChanged(double oldValue, double newValue) {
+                    }
+                  }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldDiffAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldProcessRecord() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public record A(String name) {
+                }
+                """.formatted(
+                        GenerateFieldDiff.class.getCanonicalName(),
+                        GenerateFieldDiff.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFieldDiff",
+                """
+                package com.example;
+
+                import java.lang.String;
+                import java.util.Objects;
+
+                public final class AFieldDiff {
+                  public static final long NAME = 1L << 0;
+
+                  private AFieldDiff() {
+                  }
+
+                  public static long diff(A a, A b) {
+                    long changed = 0L;
+                    if (!Objects.equals(a.name(), b.name())) {
+                      changed |= NAME;
+                    }
+                    return changed;
+                  }
+
+                  public static long diff(A a, A b, Listener listener) {
+                    long changed = 0L;
+                    String oldName = a.name();
+                    String newName = b.name();
+                    if (!Objects.equals(oldName, newName)) {
+                      changed |= NAME;
+                      listener.nameChanged(oldName, newName);
+                    }
+                    return changed;
+                  }
+
+                  public interface Listener {
+                    default void nameChanged(String oldValue, String newValue) {
+                    }
+                  }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldDiffAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldFailWithMoreThan64Fields() {
+        String fields = IntStream.range(0, 65)
+                .mapToObj(i -> "    int f" + i + ";")
+                .collect(Collectors.joining("\n"));
+
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public class A {
+                %s
+                }
+                """.formatted(
+                        GenerateFieldDiff.class.getCanonicalName(),
+                        GenerateFieldDiff.class.getSimpleName(),
+                        fields)
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldDiffAnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("@GenerateFieldDiff supports at most 64 fields");
+    }
+
+    @Test
+    public void shouldFailOnVarHandleNameClash() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import %s;
+
+                @%s(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+                public class A {
+                    private int x;
+                    private int xHandle;
+                }
+                """.formatted(
+                        GenerateFieldDiff.class.getCanonicalName(),
+                        GeneratedFieldAccess.class.getCanonicalName(),
+                        GenerateFieldDiff.class.getSimpleName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldDiffAnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("VarHandle constant X_HANDLE of field x clashes with the constant of field xHandle");
+    }
+}
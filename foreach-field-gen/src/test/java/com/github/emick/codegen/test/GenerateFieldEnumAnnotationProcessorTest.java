@@ -1,8 +1,12 @@
 package com.github.emick.codegen.test;
 
+import com.github.emick.codegen.common.GeneratedFieldAccess;
 import com.github.emick.codegen.common.GeneratedVisibility;
 import com.github.emick.codegen.fieldenum.GenerateFieldEnum;
 import com.github.emick.codegen.fieldenum.GenerateFieldEnumAnnotationProcessor;
+import com.github.emick.codegen.util.CsvCodecUtil;
+import com.github.emick.codegen.util.CsvReader;
+import com.github.emick.codegen.util.FieldGenReflectionUtil;
 import com.google.common.truth.Truth;
 import com.google.testing.compile.JavaFileObjects;
 import com.google.testing.compile.JavaSourcesSubjectFactory;
@@ -36,20 +40,49 @@ public class GenerateFieldEnumAnnotationProcessorTest {
                 """
                 package com.example;
 
+                import java.lang.Class;
                 import java.lang.String;
+                import java.util.List;
 
                 public enum AFields {
-                  MY_FIELD("myField");
+                  MY_FIELD("myField", String.class);
+
+                  private static final List<AFields> valueList = List.of(values());
 
                   private final String fieldName;
 
-                  AFields(String fieldName) {
+                  private final Class<?> type;
+
+                  AFields(String fieldName, Class<?> type) {
                     this.fieldName = fieldName;
+                    this.type = type;
                   }
 
                   public String getFieldName() {
                     return fieldName;
                   }
+
+                  public Class<?> getType() {
+                    return type;
+                  }
+
+                  public boolean isPrimitive() {
+                    return type.isPrimitive();
+                  }
+
+                  public static AFields fromFieldName(String fieldName) {
+                    if (fieldName == null) {
+                      return null;
+                    }
+                    return switch (fieldName) {
+                      case "myField" -> MY_FIELD;
+                      default -> null;
+                    };
+                  }
+
+                  public static List<AFields> valueList() {
+                    return valueList;
+                  }
                 }
                 """
         );
@@ -85,21 +118,51 @@ public class GenerateFieldEnumAnnotationProcessorTest {
                 """
                 package com.example;
 
+                import java.lang.Class;
                 import java.lang.String;
+                import java.util.List;
 
                 public enum AFields {
-                  NAME("name"),
-                  QUANTITY("quantity");
+                  NAME("name", String.class),
+                  QUANTITY("quantity", int.class);
+
+                  private static final List<AFields> valueList = List.of(values());
 
                   private final String fieldName;
 
-                  AFields(String fieldName) {
+                  private final Class<?> type;
+
+                  AFields(String fieldName, Class<?> type) {
                     this.fieldName = fieldName;
+                    this.type = type;
                   }
 
                   public String getFieldName() {
                     return fieldName;
                   }
+
+                  public Class<?> getType() {
+                    return type;
+                  }
+
+                  public boolean isPrimitive() {
+                    return type.isPrimitive();
+                  }
+
+                  public static AFields fromFieldName(String fieldName) {
+                    if (fieldName == null) {
+                      return null;
+                    }
+                    return switch (fieldName) {
+                      case "name" -> NAME;
+                      case "quantity" -> QUANTITY;
+                      default -> null;
+                    };
+                  }
+
+                  public static List<AFields> valueList() {
+                    return valueList;
+                  }
                 }
                 """
         );
@@ -113,6 +176,94 @@ public class GenerateFieldEnumAnnotationProcessorTest {
                 .generatesSources(output);
     }
 
+    @Test
+    public void shouldProcessPrivateNestedFieldType() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public class A {
+                    private Inner inner;
+                    Nested nested;
+
+                    private static class Inner {
+                    }
+
+                    static class Nested {
+                    }
+                }
+                """.formatted(
+                        GenerateFieldEnum.class.getCanonicalName(),
+                        GenerateFieldEnum.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFields",
+                """
+                package com.example;
+
+                import java.lang.Class;
+                import java.lang.String;
+                import java.util.List;
+
+                public enum AFields {
+                  INNER("inner", %s.getFieldType(A.class, "inner")),
+                  NESTED("nested", A.Nested.class);
+
+                  private static final List<AFields> valueList = List.of(values());
+
+                  private final String fieldName;
+
+                  private final Class<?> type;
+
+                  AFields(String fieldName, Class<?> type) {
+                    this.fieldName = fieldName;
+                    this.type = type;
+                  }
+
+                  public String getFieldName() {
+                    return fieldName;
+                  }
+
+                  public Class<?> getType() {
+                    return type;
+                  }
+
+                  public boolean isPrimitive() {
+                    return type.isPrimitive();
+                  }
+
+                  public static AFields fromFieldName(String fieldName) {
+                    if (fieldName == null) {
+                      return null;
+                    }
+                    return switch (fieldName) {
+                      case "inner" -> INNER;
+                      case "nested" -> NESTED;
+                      default -> null;
+                    };
+                  }
+
+                  public static List<AFields> valueList() {
+                    return valueList;
+                  }
+                }
+                """.formatted(FieldGenReflectionUtil.class.getCanonicalName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldEnumAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
     @Test
     public void shouldProcessWithCustomGeneratedNameAndPackagePrivateVisibility() {
         JavaFileObject input = JavaFileObjects.forSourceString(
@@ -138,20 +289,49 @@ public class GenerateFieldEnumAnnotationProcessorTest {
                 """
                 package com.example;
 
+                import java.lang.Class;
                 import java.lang.String;
+                import java.util.List;
 
                 enum CustomFieldEnum {
-                  MY_FIELD("myField");
+                  MY_FIELD("myField", String.class);
+
+                  private static final List<CustomFieldEnum> valueList = List.of(values());
 
                   private final String fieldName;
 
-                  CustomFieldEnum(String fieldName) {
+                  private final Class<?> type;
+
+                  CustomFieldEnum(String fieldName, Class<?> type) {
                     this.fieldName = fieldName;
+                    this.type = type;
                   }
 
                   public String getFieldName() {
                     return fieldName;
                   }
+
+                  public Class<?> getType() {
+                    return type;
+                  }
+
+                  public boolean isPrimitive() {
+                    return type.isPrimitive();
+                  }
+
+                  public static CustomFieldEnum fromFieldName(String fieldName) {
+                    if (fieldName == null) {
+                      return null;
+                    }
+                    return switch (fieldName) {
+                      case "myField" -> MY_FIELD;
+                      default -> null;
+                    };
+                  }
+
+                  public static List<CustomFieldEnum> valueList() {
+                    return valueList;
+                  }
                 }
                 """
         );
@@ -164,4 +344,748 @@ public class GenerateFieldEnumAnnotationProcessorTest {
                 .and()
                 .generatesSources(output);
     }
+
+    @Test
+    public void shouldProcessWithAccessors() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s(accessors = true)
+                public class A {
+                    String name;
+                    int quantity;
+                }
+                """.formatted(
+                        GenerateFieldEnum.class.getCanonicalName(),
+                        GenerateFieldEnum.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFields",
+                """
+                package com.example;
+
+                import java.lang.Class;
+                import java.lang.Object;
+                import java.lang.String;
+                import java.lang.UnsupportedOperationException;
+                import java.util.List;
+
+                public enum AFields {
+                  NAME("name", String.class),
+
+                  QUANTITY("quantity", int.class);
+
+                  private static final List<AFields> valueList = List.of(values());
+
+                  private final String fieldName;
+
+                  private final Class<?> type;
+
+                  AFields(String fieldName, Class<?> type) {
+                    this.fieldName = fieldName;
+                    this.type = type;
+                  }
+
+                  public String getFieldName() {
+                    return fieldName;
+                  }
+
+                  public Class<?> getType() {
+                    return type;
+                  }
+
+                  public boolean isPrimitive() {
+                    return type.isPrimitive();
+                  }
+
+                  public static AFields fromFieldName(String fieldName) {
+                    if (fieldName == null) {
+                      return null;
+                    }
+                    return switch (fieldName) {
+                      case "name" -> NAME;
+                      case "quantity" -> QUANTITY;
+                      default -> null;
+                    };
+                  }
+
+                  public static List<AFields> valueList() {
+                    return valueList;
+                  }
+
+                  public Object get(A instance) {
+                    return switch (this) {
+                      case NAME -> instance.name;
+                      case QUANTITY -> instance.quantity;
+                    };
+                  }
+
+                  public void set(A instance, Object value) {
+                    switch (this) {
+                      case NAME -> instance.name = (String) value;
+                      case QUANTITY -> instance.quantity = (int) value;
+                    }
+                  }
+
+                  public int getInt(A instance) {
+                    return switch (this) {
+                      case QUANTITY -> instance.quantity;
+                      default -> throw new UnsupportedOperationException(fieldName + " is not of type int");
+                    };
+                  }
+
+                  public void setInt(A instance, int value) {
+                    switch (this) {
+                      case QUANTITY -> instance.quantity = value;
+                      default -> throw new UnsupportedOperationException(fieldName + " is not of type int");
+                    }
+                  }
+
+                  public long getLong(A instance) {
+                    throw new UnsupportedOperationException(fieldName + " is not of type long");
+                  }
+
+                  public void setLong(A instance, long value) {
+                    throw new UnsupportedOperationException(fieldName + " is not of type long");
+                  }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldEnumAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldProcessWithMask() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s(mask = true)
+                public class A {
+                    String myField;
+                }
+                """.formatted(
+                        GenerateFieldEnum.class.getCanonicalName(),
+                        GenerateFieldEnum.class.getSimpleName())
+        );
+
+        JavaFileObject enumOutput = JavaFileObjects.forSourceString(
+                "com.example.AFields",
+                """
+                package com.example;
+
+                import java.lang.Class;
+                import java.lang.String;
+                import java.util.List;
+
+                public enum AFields {
+                  MY_FIELD("myField", String.class);
+
+                  private static final List<AFields> valueList = List.of(values());
+
+                  private final String fieldName;
+
+                  private final Class<?> type;
+
+                  AFields(String fieldName, Class<?> type) {
+                    this.fieldName = fieldName;
+                    this.type = type;
+                  }
+
+                  public String getFieldName() {
+                    return fieldName;
+                  }
+
+                  public Class<?> getType() {
+                    return type;
+                  }
+
+                  public boolean isPrimitive() {
+                    return type.isPrimitive();
+                  }
+
+                  public static AFields fromFieldName(String fieldName) {
+                    if (fieldName == null) {
+                      return null;
+                    }
+                    return switch (fieldName) {
+                      case "myField" -> MY_FIELD;
+                      default -> null;
+                    };
+                  }
+
+                  public static List<AFields> valueList() {
+                    return valueList;
+                  }
+                }
+                """
+        );
+
+        JavaFileObject maskOutput = JavaFileObjects.forSourceString(
+                "com.example.AFieldMask",
+                """
+                package com.example;
+
+                import java.lang.IndexOutOfBoundsException;
+                import java.lang.Long;
+                import java.lang.Object;
+                import java.lang.Override;
+                import java.lang.String;
+                import java.lang.UnsupportedOperationException;
+                import java.util.StringJoiner;
+                import java.util.function.Consumer;
+
+                public final class AFieldMask {
+                  public static final AFieldMask ALL = new AFieldMask(true, -1L >>> 63);
+
+                  public static final AFieldMask NONE = new AFieldMask(true, 0L);
+
+                  private static final AFields[] FIELDS = AFields.values();
+
+                  private final boolean frozen;
+
+                  private long word0;
+
+                  public AFieldMask() {
+                    this(false, 0L);
+                  }
+
+                  private AFieldMask(boolean frozen, long word0) {
+                    this.frozen = frozen;
+                    this.word0 = word0;
+                  }
+
+                  public static AFieldMask of(AFields... fields) {
+                    AFieldMask mask = new AFieldMask();
+                    for (AFields field : fields) {
+                      mask.add(field);
+                    }
+                    return mask;
+                  }
+
+                  public AFieldMask copy() {
+                    return new AFieldMask(false, word0);
+                  }
+
+                  public boolean contains(AFields field) {
+                    int ordinal = field.ordinal();
+                    return (word0 & (1L << ordinal)) != 0L;
+                  }
+
+                  public AFieldMask add(AFields field) {
+                    checkMutable();
+                    int ordinal = field.ordinal();
+                    word0 |= 1L << ordinal;
+                    return this;
+                  }
+
+                  public AFieldMask remove(AFields field) {
+                    checkMutable();
+                    int ordinal = field.ordinal();
+                    word0 &= ~(1L << ordinal);
+                    return this;
+                  }
+
+                  public AFieldMask union(AFieldMask other) {
+                    checkMutable();
+                    word0 |= other.word0;
+                    return this;
+                  }
+
+                  public AFieldMask intersect(AFieldMask other) {
+                    checkMutable();
+                    word0 &= other.word0;
+                    return this;
+                  }
+
+                  public AFieldMask subtract(AFieldMask other) {
+                    checkMutable();
+                    word0 &= ~other.word0;
+                    return this;
+                  }
+
+                  public AFieldMask clear() {
+                    checkMutable();
+                    word0 = 0L;
+                    return this;
+                  }
+
+                  public boolean containsAll(AFieldMask other) {
+                    return (word0 & other.word0) == other.word0;
+                  }
+
+                  public boolean intersects(AFieldMask other) {
+                    return (word0 & other.word0) != 0L;
+                  }
+
+                  public boolean isEmpty() {
+                    return word0 == 0L;
+                  }
+
+                  public int size() {
+                    return Long.bitCount(word0);
+                  }
+
+                  public int nextOrdinal(int fromOrdinal) {
+                    if (fromOrdinal < 0) {
+                      throw new IndexOutOfBoundsException("fromOrdinal < 0: " + fromOrdinal);
+                    }
+                    if (fromOrdinal < 64) {
+                      long bits = word0 & (-1L << fromOrdinal);
+                      if (bits != 0L) {
+                        return Long.numberOfTrailingZeros(bits);
+                      }
+                    }
+                    return -1;
+                  }
+
+                  public void forEach(Consumer<? super AFields> action) {
+                    for (int ordinal = nextOrdinal(0); ordinal >= 0; ordinal = nextOrdinal(ordinal + 1)) {
+                      action.accept(FIELDS[ordinal]);
+                    }
+                  }
+
+                  @Override
+                  public boolean equals(Object o) {
+                    if (this == o) {
+                      return true;
+                    }
+                    if (!(o instanceof AFieldMask other)) {
+                      return false;
+                    }
+                    return word0 == other.word0;
+                  }
+
+                  @Override
+                  public int hashCode() {
+                    return Long.hashCode(word0);
+                  }
+
+                  @Override
+                  public String toString() {
+                    StringJoiner joiner = new StringJoiner(", ", "[", "]");
+                    forEach(field -> joiner.add(field.name()));
+                    return joiner.toString();
+                  }
+
+                  private void checkMutable() {
+                    if (frozen) {
+                      throw new UnsupportedOperationException("ALL and NONE are immutable, modify a copy() instead");
+                    }
+                  }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldEnumAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(enumOutput, maskOutput);
+    }
+
+    @Test
+    public void shouldProcessWithCsv() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s(csv = true)
+                public class A {
+                    String name;
+                    Integer count;
+                    int stock;
+                }
+                """.formatted(
+                        GenerateFieldEnum.class.getCanonicalName(),
+                        GenerateFieldEnum.class.getSimpleName())
+        );
+
+        JavaFileObject enumOutput = JavaFileObjects.forSourceString(
+                "com.example.AFields",
+                """
+                package com.example;
+
+                import java.lang.Class;
+                import java.lang.String;
+                import java.util.List;
+
+                public enum AFields {
+                  NAME("name", String.class),
+
+                  COUNT("count", Integer.class),
+
+                  STOCK("stock", int.class);
+
+                  private static final List<AFields> valueList = List.of(values());
+
+                  private final String fieldName;
+
+                  private final Class<?> type;
+
+                  AFields(String fieldName, Class<?> type) {
+                    this.fieldName = fieldName;
+                    this.type = type;
+                  }
+
+                  public String getFieldName() {
+                    return fieldName;
+                  }
+
+                  public Class<?> getType() {
+                    return type;
+                  }
+
+                  public boolean isPrimitive() {
+                    return type.isPrimitive();
+                  }
+
+                  public static AFields fromFieldName(String fieldName) {
+                    if (fieldName == null) {
+                      return null;
+                    }
+                    return switch (fieldName) {
+                      case "name" -> NAME;
+                      case "count" -> COUNT;
+                      case "stock" -> STOCK;
+                      default -> null;
+                    };
+                  }
+
+                  public static List<AFields> valueList() {
+                    return valueList;
+                  }
+                }
+                """
+        );
+
+        JavaFileObject csvOutput = JavaFileObjects.forSourceString(
+                "com.example.ACsv",
+                """
+                package com.example;
+
+                import %1$s;
+                import %2$s;
+                import java.io.IOException;
+                import java.io.Writer;
+                import java.lang.Integer;
+                import java.lang.Math;
+                import java.lang.String;
+                import java.lang.StringBuilder;
+                import java.util.ArrayList;
+                import java.util.List;
+
+                public final class ACsv {
+                  private final AFields[] columns;
+
+                  private final StringBuilder row = new StringBuilder();
+
+                  private char[] chars = new char[256];
+
+                  public ACsv() {
+                    this(AFields.values());
+                  }
+
+                  public ACsv(AFields... columns) {
+                    this.columns = columns.clone();
+                  }
+
+                  public static ACsv fromHeader(CsvReader reader) throws IOException {
+                    if (!reader.nextRow()) {
+                      throw reader.error("Missing header");
+                    }
+                    List<AFields> columns = new ArrayList<>();
+                    while (reader.nextField()) {
+                      String name = reader.stringValue();
+                      AFields column = AFields.fromFieldName(name);
+                      if (column == null) {
+                        throw reader.error("Unknown column " + name);
+                      }
+                      columns.add(column);
+                    }
+                    return new ACsv(columns.toArray(new AFields[0]));
+                  }
+
+                  public void writeHeader(Writer out) throws IOException {
+                    row.setLength(0);
+                    for (int i = 0; i < columns.length; i++) {
+                      if (i > 0) {
+                        row.append(',');
+                      }
+                      row.append(columns[i].getFieldName());
+                    }
+                    row.append('\\n');
+                    flush(out);
+                  }
+
+                  public void write(A value, Writer out) throws IOException {
+                    row.setLength(0);
+                    for (int i = 0; i < columns.length; i++) {
+                      if (i > 0) {
+                        row.append(',');
+                      }
+                      switch (columns[i]) {
+                        case NAME -> CsvCodecUtil.appendString(row, value.name);
+                        case COUNT -> {
+                          Integer valueCount = value.count;
+                          if (valueCount != null) {
+                            row.append(valueCount.intValue());
+                          }
+                        }
+                        case STOCK -> row.append(value.stock);
+                      }
+                    }
+                    row.append('\\n');
+                    flush(out);
+                  }
+
+                  public A read(CsvReader reader) throws IOException {
+                    A value = new A();
+                    return read(reader, value) ? value : null;
+                  }
+
+                  public boolean read(CsvReader reader, A target) throws IOException {
+                    if (!reader.nextRow()) {
+                      return false;
+                    }
+                    for (AFields column : columns) {
+                      if (!reader.nextField()) {
+                        throw reader.error("Missing column " + column.getFieldName());
+                      }
+                      switch (column) {
+                        case NAME -> target.name = reader.stringValue();
+                        case COUNT -> target.count = reader.isNull() ? null : reader.intValue();
+                        case STOCK -> target.stock = reader.intValue();
+                      }
+                    }
+                    return true;
+                  }
+
+                  private void flush(Writer out) throws IOException {
+                    int length = row.length();
+                    if (chars.length < length) {
+                      chars = new char[Math.max(length, chars.length * 2)];
+                    }
+                    row.getChars(0, length, chars, 0);
+                    out.write(chars, 0, length);
+                  }
+                }
+                """.formatted(
+                        CsvCodecUtil.class.getCanonicalName(),
+                        CsvReader.class.getCanonicalName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldEnumAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(enumOutput, csvOutput);
+    }
+
+    @Test
+    public void shouldFailOnUnsupportedCsvFieldType() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import java.util.List;
+
+                @%s(csv = true)
+                public class A {
+                    List<String> tags;
+                }
+                """.formatted(
+                        GenerateFieldEnum.class.getCanonicalName(),
+                        GenerateFieldEnum.class.getSimpleName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldEnumAnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("Type java.util.List<java.lang.String> is not supported by @GenerateFieldEnum(csv = true)");
+    }
+
+    @Test
+    public void shouldFailOnVarHandleNameClash() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import %s;
+
+                @%s(accessors = true, fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+                public class A {
+                    private int x;
+                    private int xHandle;
+                }
+                """.formatted(
+                        GenerateFieldEnum.class.getCanonicalName(),
+                        GeneratedFieldAccess.class.getCanonicalName(),
+                        GenerateFieldEnum.class.getSimpleName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldEnumAnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("VarHandle constant X_HANDLE of field x clashes with the constant of field xHandle");
+    }
+
+    @Test
+    public void shouldProcessWithColumns() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import java.util.List;
+
+                @%s(columns = true)
+                public record A(long id, List<String> tags) {
+                }
+                """.formatted(
+                        GenerateFieldEnum.class.getCanonicalName(),
+                        GenerateFieldEnum.class.getSimpleName())
+        );
+
+        JavaFileObject columnsOutput = JavaFileObjects.forSourceString(
+                "com.example.AColumns",
+                """
+                package com.example;
+
+                import java.lang.IllegalArgumentException;
+                import java.lang.Math;
+                import java.lang.Object;
+                import java.lang.String;
+                import java.lang.SuppressWarnings;
+                import java.util.Arrays;
+                import java.util.List;
+                import java.util.Objects;
+
+                public final class AColumns {
+                  private int size;
+
+                  private int capacity;
+
+                  private long[] idColumn;
+
+                  private Object[] tagsColumn;
+
+                  public AColumns() {
+                    this(16);
+                  }
+
+                  public AColumns(int capacity) {
+                    if (capacity < 0) {
+                      throw new IllegalArgumentException("Negative capacity: " + capacity);
+                    }
+                    this.capacity = capacity;
+                    idColumn = new long[capacity];
+                    tagsColumn = new Object[capacity];
+                  }
+
+                  public int size() {
+                    return size;
+                  }
+
+                  public void clear() {
+                    Arrays.fill(tagsColumn, 0, size, null);
+                    size = 0;
+                  }
+
+                  public void ensureCapacity(int minCapacity) {
+                    if (minCapacity > capacity) {
+                      grow(minCapacity);
+                    }
+                  }
+
+                  public int add(A value) {
+                    if (size == capacity) {
+                      grow(size + 1);
+                    }
+                    idColumn[size] = value.id();
+                    tagsColumn[size] = value.tags();
+                    return size++;
+                  }
+
+                  public void set(int index, A value) {
+                    Objects.checkIndex(index, size);
+                    idColumn[index] = value.id();
+                    tagsColumn[index] = value.tags();
+                  }
+
+                  @SuppressWarnings("unchecked")
+                  public A get(int index) {
+                    Objects.checkIndex(index, size);
+                    return new A(idColumn[index], (List<String>) tagsColumn[index]);
+                  }
+
+                  public long getId(int index) {
+                    Objects.checkIndex(index, size);
+                    return idColumn[index];
+                  }
+
+                  public void setId(int index, long value) {
+                    Objects.checkIndex(index, size);
+                    idColumn[index] = value;
+                  }
+
+                  @SuppressWarnings("unchecked")
+                  public List<String> getTags(int index) {
+                    Objects.checkIndex(index, size);
+                    return (List<String>) tagsColumn[index];
+                  }
+
+                  public void setTags(int index, List<String> value) {
+                    Objects.checkIndex(index, size);
+                    tagsColumn[index] = value;
+                  }
+
+                  private void grow(int minCapacity) {
+                    capacity = Math.max(minCapacity, capacity + (capacity >> 1));
+                    idColumn = Arrays.copyOf(idColumn, capacity);
+                    tagsColumn = Arrays.copyOf(tagsColumn, capacity);
+                  }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldEnumAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(columnsOutput);
+    }
 }
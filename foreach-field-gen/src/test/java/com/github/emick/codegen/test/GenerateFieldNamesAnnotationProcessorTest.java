@@ -3,6 +3,7 @@ package com.github.emick.codegen.test;
 import com.github.emick.codegen.common.GeneratedVisibility;
 import com.github.emick.codegen.fieldnames.GenerateFieldNames;
 import com.github.emick.codegen.fieldnames.GenerateFieldNamesAnnotationProcessor;
+import com.github.emick.codegen.util.FieldGenReflectionUtil;
 import com.google.common.truth.Truth;
 import com.google.testing.compile.JavaFileObjects;
 import com.google.testing.compile.JavaSourcesSubjectFactory;
@@ -135,4 +136,240 @@ public class GenerateFieldNamesAnnotationProcessorTest {
                 .and()
                 .generatesSources(output);
     }
+
+    @Test
+    public void shouldProcessWithPatcher() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import java.util.List;
+
+                @%s(patcher = true)
+                public class A {
+                    String name;
+                    int count;
+                    List<String> tags;
+                }
+                """.formatted(
+                        GenerateFieldNames.class.getCanonicalName(),
+                        GenerateFieldNames.class.getSimpleName())
+        );
+
+        JavaFileObject fieldsOutput = JavaFileObjects.forSourceString(
+                "com.example.AFields",
+                """
+                package com.example;
+
+                import java.lang.String;
+
+                public interface AFields {
+                  String name = "name";
+
+                  String count = "count";
+
+                  String tags = "tags";
+                }
+                """
+        );
+
+        JavaFileObject patcherOutput = JavaFileObjects.forSourceString(
+                "com.example.APatcher",
+                """
+                package com.example;
+
+                import java.lang.IllegalArgumentException;
+                import java.lang.Integer;
+                import java.lang.Object;
+                import java.lang.String;
+                import java.lang.SuppressWarnings;
+                import java.util.ArrayList;
+                import java.util.List;
+                import java.util.Map;
+
+                public final class APatcher {
+                    private APatcher() {
+                    }
+
+                    public static List<String> apply(A target, Map<String, ?> patch) {
+                        List<String> unknownNames = List.of();
+                        for (Map.Entry<String, ?> entry : patch.entrySet()) {
+                            if (!apply(target, entry.getKey(), entry.getValue())) {
+                                if (unknownNames.isEmpty()) {
+                                    unknownNames = new ArrayList<>();
+                                }
+                                unknownNames.add(entry.getKey());
+                            }
+                        }
+                        return unknownNames;
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    public static boolean apply(A target, String name, Object value) {
+                        if (name == null) {
+                            return false;
+                        }
+                        switch (name) {
+                            case AFields.name -> {
+                                if (value != null && !(value instanceof String)) {
+                                    throw invalidValue(name, value);
+                                }
+                                target.name = (String) value;
+                            }
+                            case AFields.count -> {
+                                if (!(value instanceof Integer)) {
+                                    throw invalidValue(name, value);
+                                }
+                                target.count = (int) value;
+                            }
+                            case AFields.tags -> {
+                                if (value != null && !(value instanceof List)) {
+                                    throw invalidValue(name, value);
+                                }
+                                target.tags = (List<String>) value;
+                            }
+                            default -> {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+
+                    private static IllegalArgumentException invalidValue(String name, Object value) {
+                        String type = value == null ? null : value.getClass().getName();
+                        return new IllegalArgumentException("Invalid value for field " + name + ": " + type);
+                    }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldNamesAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(fieldsOutput, patcherOutput);
+    }
+
+    @Test
+    public void shouldProcessWithPatcherAndCustomGeneratedName() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s(generatedName = "ANames", patcher = true)
+                public class A {
+                    String name;
+                    private int count;
+                }
+                """.formatted(
+                        GenerateFieldNames.class.getCanonicalName(),
+                        GenerateFieldNames.class.getSimpleName())
+        );
+
+        JavaFileObject patcherOutput = JavaFileObjects.forSourceString(
+                "com.example.ANamesPatcher",
+                """
+                package com.example;
+
+                import java.lang.IllegalArgumentException;
+                import java.lang.Integer;
+                import java.lang.Object;
+                import java.lang.String;
+                import java.lang.invoke.MethodHandles;
+                import java.lang.invoke.VarHandle;
+                import java.util.ArrayList;
+                import java.util.List;
+                import java.util.Map;
+
+                public final class ANamesPatcher {
+                    private static final VarHandle COUNT_HANDLE = %s.findVarHandle(MethodHandles.lookup(), A.class, "count", int.class);
+
+                    private ANamesPatcher() {
+                    }
+
+                    public static List<String> apply(A target, Map<String, ?> patch) {
+                        List<String> unknownNames = List.of();
+                        for (Map.Entry<String, ?> entry : patch.entrySet()) {
+                            if (!apply(target, entry.getKey(), entry.getValue())) {
+                                if (unknownNames.isEmpty()) {
+                                    unknownNames = new ArrayList<>();
+                                }
+                                unknownNames.add(entry.getKey());
+                            }
+                        }
+                        return unknownNames;
+                    }
+
+                    public static boolean apply(A target, String name, Object value) {
+                        if (name == null) {
+                            return false;
+                        }
+                        switch (name) {
+                            case ANames.name -> {
+                                if (value != null && !(value instanceof String)) {
+                                    throw invalidValue(name, value);
+                                }
+                                target.name = (String) value;
+                            }
+                            case ANames.count -> {
+                                if (!(value instanceof Integer)) {
+                                    throw invalidValue(name, value);
+                                }
+                                COUNT_HANDLE.set(target, (int) value);
+                            }
+                            default -> {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+
+                    private static IllegalArgumentException invalidValue(String name, Object value) {
+                        String type = value == null ? null : value.getClass().getName();
+                        return new IllegalArgumentException("Invalid value for field " + name + ": " + type);
+                    }
+                }
+                """.formatted(FieldGenReflectionUtil.class.getCanonicalName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldNamesAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(patcherOutput);
+    }
+
+    @Test
+    public void shouldFailOnPatcherForRecord() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s(patcher = true)
+                public record A(String name) {
+                }
+                """.formatted(
+                        GenerateFieldNames.class.getCanonicalName(),
+                        GenerateFieldNames.class.getSimpleName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldNamesAnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("Records are immutable and cannot be patched");
+    }
 }
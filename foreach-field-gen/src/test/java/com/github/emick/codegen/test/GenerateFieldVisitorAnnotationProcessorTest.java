@@ -1,5 +1,6 @@
 package com.github.emick.codegen.test;
 
+import com.github.emick.codegen.common.GeneratedFieldAccess;
 import com.github.emick.codegen.common.GeneratedVisibility;
 import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;
 import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitorAnnotationProcessor;
@@ -56,8 +57,205 @@ public class GenerateFieldVisitorAnnotationProcessorTest {
                   protected abstract void visitMyField2(ArrayDeque<String> value);
 
                   public void visitAll() {
-                    visitMyField((String)%s.getFieldValue(instance, "myField"));
-                    visitMyField2((ArrayDeque<String>)%s.getFieldValue(instance, "myField2"));
+                    visitMyField(instance.myField);
+                    visitMyField2(instance.myField2);
+                  }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldVisitorAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldProcessSelective() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s(selective = true)
+                public class A {
+                    String name;
+                    int quantity;
+                }
+                """.formatted(
+                        GenerateFieldVisitor.class.getCanonicalName(),
+                        GenerateFieldVisitor.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFieldVisitor",
+                """
+                package com.example;
+
+                import java.lang.IndexOutOfBoundsException;
+                import java.lang.String;
+                import java.util.BitSet;
+
+                public abstract class AFieldVisitor {
+
+                  private A instance;
+
+                  AFieldVisitor(A instance) {
+                    this.instance = instance;
+                  }
+
+                  protected abstract void visitName(String value);
+                  protected abstract void visitQuantity(int value);
+
+                  public void visitAll() {
+                    visitName(instance.name);
+                    visitQuantity(instance.quantity);
+                  }
+
+                  public void visit(int fieldOrdinal) {
+                    switch (fieldOrdinal) {
+                      case 0 -> visitName(instance.name);
+                      case 1 -> visitQuantity(instance.quantity);
+                      default -> throw new IndexOutOfBoundsException(fieldOrdinal);
+                    }
+                  }
+
+                  public void visitOnly(int... fieldOrdinals) {
+                    for (int fieldOrdinal : fieldOrdinals) {
+                      visit(fieldOrdinal);
+                    }
+                  }
+
+                  public void visitOnly(BitSet fieldOrdinals) {
+                    for (int fieldOrdinal = fieldOrdinals.nextSetBit(0); fieldOrdinal >= 0; fieldOrdinal = fieldOrdinals.nextSetBit(fieldOrdinal + 1)) {
+                      visit(fieldOrdinal);
+                    }
+                  }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldVisitorAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldUseReflectionOnlyForPrivateFields() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public class A {
+                    private String secret;
+                    private long total;
+                    protected String shared;
+                    public final int count = 1;
+                }
+                """.formatted(
+                        GenerateFieldVisitor.class.getCanonicalName(),
+                        GenerateFieldVisitor.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFieldVisitor",
+                """
+                package com.example;
+
+                import java.lang.String;
+
+                public abstract class AFieldVisitor {
+
+                  private A instance;
+
+                  AFieldVisitor(A instance) {
+                    this.instance = instance;
+                  }
+
+                  protected abstract void visitSecret(String value);
+                  protected abstract void visitTotal(long value);
+                  protected abstract void visitShared(String value);
+                  protected abstract void visitCount(int value);
+
+                  public void visitAll() {
+                    visitSecret((String)%1$s.getFieldValue(instance, "secret"));
+                    visitTotal(%1$s.getLongFieldValue(instance, "total"));
+                    visitShared(instance.shared);
+                    visitCount(instance.count);
+                  }
+                }
+                """.formatted(REFLECTION_UTIL)
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldVisitorAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldProcessWithVarHandleFieldAccess() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import %s;
+
+                @%s(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+                public class A {
+                    private String myField;
+                    private int count;
+                }
+                """.formatted(
+                        GenerateFieldVisitor.class.getCanonicalName(),
+                        GeneratedFieldAccess.class.getCanonicalName(),
+                        GenerateFieldVisitor.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFieldVisitor",
+                """
+                package com.example;
+
+                import java.lang.String;
+                import java.lang.invoke.MethodHandles;
+                import java.lang.invoke.VarHandle;
+
+                public abstract class AFieldVisitor {
+
+                  private static final VarHandle MY_FIELD_HANDLE = %s.findVarHandle(MethodHandles.lookup(), A.class, "myField", String.class);
+                  private static final VarHandle COUNT_HANDLE = %s.findVarHandle(MethodHandles.lookup(), A.class, "count", int.class);
+
+                  private A instance;
+
+                  AFieldVisitor(A instance) {
+                    this.instance = instance;
+                  }
+
+                  protected abstract void visitMyField(String value);
+                  protected abstract void visitCount(int value);
+
+                  public void visitAll() {
+                    visitMyField((String)MY_FIELD_HANDLE.get(instance));
+                    visitCount((int)COUNT_HANDLE.get(instance));
                   }
                 }
                 """.formatted(REFLECTION_UTIL, REFLECTION_UTIL)
@@ -72,6 +270,56 @@ public class GenerateFieldVisitorAnnotationProcessorTest {
                 .generatesSources(output);
     }
 
+    @Test
+    public void shouldProcessStateless() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s(stateless = true)
+                public class A {
+                    String myField;
+                    int count;
+                }
+                """.formatted(
+                        GenerateFieldVisitor.class.getCanonicalName(),
+                        GenerateFieldVisitor.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFieldVisitor",
+                """
+                package com.example;
+
+                import java.lang.String;
+
+                public abstract class AFieldVisitor<C, R> {
+
+                  protected abstract void visitMyField(A instance, C context, String value);
+                  protected abstract void visitCount(A instance, C context, int value);
+                  protected abstract R complete(A instance, C context);
+
+                  public R visitAll(A instance, C context) {
+                    visitMyField(instance, context, instance.myField);
+                    visitCount(instance, context, instance.count);
+                    return complete(instance, context);
+                  }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateFieldVisitorAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
     @Test
     public void shouldProcessRecord() {
         JavaFileObject input = JavaFileObjects.forSourceString(
@@ -162,10 +410,10 @@ public class GenerateFieldVisitorAnnotationProcessorTest {
                   protected abstract void visitMyField(String value);
 
                   public void visitAll() {
-                    visitMyField((String)%s.getFieldValue(instance, "myField"));
+                    visitMyField(instance.myField);
                   }
                 }
-                """.formatted(REFLECTION_UTIL)
+                """
         );
 
         Truth.assert_()
@@ -0,0 +1,279 @@
+package com.github.emick.codegen.test;
+
+import com.github.emick.codegen.json.GenerateJsonCodec;
+import com.github.emick.codegen.json.GenerateJsonCodecAnnotationProcessor;
+import com.github.emick.codegen.util.FieldGenReflectionUtil;
+import com.github.emick.codegen.util.JsonCodecUtil;
+import com.github.emick.codegen.util.JsonReader;
+import com.google.common.truth.Truth;
+import com.google.testing.compile.JavaFileObjects;
+import com.google.testing.compile.JavaSourcesSubjectFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.util.List;
+
+public class GenerateJsonCodecAnnotationProcessorTest {
+
+    private static final String REFLECTION_UTIL = FieldGenReflectionUtil.class.getCanonicalName();
+
+    @Test
+    public void shouldProcess() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public class A {
+                    String name;
+                    Integer count;
+                    private double price;
+                    B b;
+                }
+                """.formatted(
+                        GenerateJsonCodec.class.getCanonicalName(),
+                        GenerateJsonCodec.class.getSimpleName())
+        );
+
+        JavaFileObject nestedInput = JavaFileObjects.forSourceString(
+                "com.example.B",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public record B(boolean enabled) {
+                }
+                """.formatted(
+                        GenerateJsonCodec.class.getCanonicalName(),
+                        GenerateJsonCodec.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AJsonCodec",
+                """
+                package com.example;
+
+                import %1$s;
+                import %2$s;
+                import java.io.IOException;
+                import java.io.OutputStream;
+                import java.lang.Appendable;
+                import java.lang.Integer;
+                import java.lang.invoke.MethodHandles;
+                import java.lang.invoke.VarHandle;
+                import java.nio.charset.StandardCharsets;
+
+                public final class AJsonCodec {
+                  private static final byte[] NAME_KEY = "{\\"name\\":".getBytes(StandardCharsets.UTF_8);
+
+                  private static final byte[] COUNT_KEY = ",\\"count\\":".getBytes(StandardCharsets.UTF_8);
+
+                  private static final byte[] PRICE_KEY = ",\\"price\\":".getBytes(StandardCharsets.UTF_8);
+
+                  private static final byte[] B_KEY = ",\\"b\\":".getBytes(StandardCharsets.UTF_8);
+
+                  private static final VarHandle PRICE_HANDLE = %3$s.findVarHandle(MethodHandles.lookup(), A.class, "price", double.class);
+
+                  private AJsonCodec() {
+                  }
+
+                  public static void write(A value, OutputStream out) throws IOException {
+                    out.write(NAME_KEY);
+                    JsonCodecUtil.writeString(out, value.name);
+                    out.write(COUNT_KEY);
+                    Integer valueCount = value.count;
+                    if (valueCount == null) {
+                      JsonCodecUtil.writeNull(out);
+                    } else {
+                      JsonCodecUtil.writeLong(out, valueCount);
+                    }
+                    out.write(PRICE_KEY);
+                    JsonCodecUtil.writeDouble(out, (double)PRICE_HANDLE.get(value));
+                    out.write(B_KEY);
+                    B valueB = value.b;
+                    if (valueB == null) {
+                      JsonCodecUtil.writeNull(out);
+                    } else {
+                      BJsonCodec.write(valueB, out);
+                    }
+                    out.write('}');
+                  }
+
+                  public static void write(A value, Appendable out) throws IOException {
+                    out.append("{\\"name\\":");
+                    JsonCodecUtil.writeString(out, value.name);
+                    out.append(",\\"count\\":");
+                    Integer valueCount = value.count;
+                    if (valueCount == null) {
+                      JsonCodecUtil.writeNull(out);
+                    } else {
+                      JsonCodecUtil.writeLong(out, valueCount);
+                    }
+                    out.append(",\\"price\\":");
+                    JsonCodecUtil.writeDouble(out, (double)PRICE_HANDLE.get(value));
+                    out.append(",\\"b\\":");
+                    B valueB = value.b;
+                    if (valueB == null) {
+                      JsonCodecUtil.writeNull(out);
+                    } else {
+                      BJsonCodec.write(valueB, out);
+                    }
+                    out.append('}');
+                  }
+
+                  public static A read(JsonReader reader) throws IOException {
+                    A value = new A();
+                    read(reader, value);
+                    return value;
+                  }
+
+                  public static void read(JsonReader reader, A target) throws IOException {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                      switch (reader.nextName()) {
+                        case "name" -> target.name = reader.nextString();
+                        case "count" -> target.count = reader.nextNull() ? null : reader.nextInt();
+                        case "price" -> PRICE_HANDLE.set(target, reader.nextDouble());
+                        case "b" -> target.b = reader.nextNull() ? null : BJsonCodec.read(reader);
+                        default -> reader.skipValue();
+                      }
+                    }
+                    reader.endObject();
+                  }
+                }
+                """.formatted(JsonCodecUtil.class.getCanonicalName(), JsonReader.class.getCanonicalName(),
+                        REFLECTION_UTIL)
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input, nestedInput))
+                .processedWith(new GenerateJsonCodecAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldProcessRecord() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import java.util.concurrent.TimeUnit;
+
+                @%s
+                public record A(String name, long quantity, TimeUnit unit) {
+                }
+                """.formatted(
+                        GenerateJsonCodec.class.getCanonicalName(),
+                        GenerateJsonCodec.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AJsonCodec",
+                """
+                package com.example;
+
+                import %1$s;
+                import %2$s;
+                import java.io.IOException;
+                import java.io.OutputStream;
+                import java.lang.Appendable;
+                import java.lang.String;
+                import java.nio.charset.StandardCharsets;
+                import java.util.concurrent.TimeUnit;
+
+                public final class AJsonCodec {
+                  private static final byte[] NAME_KEY = "{\\"name\\":".getBytes(StandardCharsets.UTF_8);
+
+                  private static final byte[] QUANTITY_KEY = ",\\"quantity\\":".getBytes(StandardCharsets.UTF_8);
+
+                  private static final byte[] UNIT_KEY = ",\\"unit\\":".getBytes(StandardCharsets.UTF_8);
+
+                  private AJsonCodec() {
+                  }
+
+                  public static void write(A value, OutputStream out) throws IOException {
+                    out.write(NAME_KEY);
+                    JsonCodecUtil.writeString(out, value.name());
+                    out.write(QUANTITY_KEY);
+                    JsonCodecUtil.writeLong(out, value.quantity());
+                    out.write(UNIT_KEY);
+                    JsonCodecUtil.writeEnum(out, value.unit());
+                    out.write('}');
+                  }
+
+                  public static void write(A value, Appendable out) throws IOException {
+                    out.append("{\\"name\\":");
+                    JsonCodecUtil.writeString(out, value.name());
+                    out.append(",\\"quantity\\":");
+                    JsonCodecUtil.writeLong(out, value.quantity());
+                    out.append(",\\"unit\\":");
+                    JsonCodecUtil.writeEnum(out, value.unit());
+                    out.append('}');
+                  }
+
+                  public static A read(JsonReader reader) throws IOException {
+                    String valueName = null;
+                    long valueQuantity = 0L;
+                    TimeUnit valueUnit = null;
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                      switch (reader.nextName()) {
+                        case "name" -> valueName = reader.nextString();
+                        case "quantity" -> valueQuantity = reader.nextLong();
+                        case "unit" -> valueUnit = reader.nextNull() ? null : TimeUnit.valueOf(reader.nextString());
+                        default -> reader.skipValue();
+                      }
+                    }
+                    reader.endObject();
+                    return new A(valueName, valueQuantity, valueUnit);
+                  }
+                }
+                """.formatted(JsonCodecUtil.class.getCanonicalName(), JsonReader.class.getCanonicalName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateJsonCodecAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldFailOnUnsupportedFieldType() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import java.util.List;
+
+                @%s
+                public class A {
+                    List<String> names;
+                }
+                """.formatted(
+                        GenerateJsonCodec.class.getCanonicalName(),
+                        GenerateJsonCodec.class.getSimpleName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateJsonCodecAnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("Type java.util.List<java.lang.String> is not supported by @GenerateJsonCodec");
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.emick.codegen.test;
+
+import com.github.emick.codegen.lazy.GenerateLazyView;
+import com.github.emick.codegen.lazy.GenerateLazyViewAnnotationProcessor;
+import com.google.common.truth.Truth;
+import com.google.testing.compile.JavaFileObjects;
+import com.google.testing.compile.JavaSourcesSubjectFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.util.List;
+
+public class GenerateLazyViewAnnotationProcessorTest {
+
+    @Test
+    public void shouldProcessRecord() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public record A(long id, String name, State state, Integer count) {
+                    public enum State { OPEN, CLOSED }
+                }
+                """.formatted(
+                        GenerateLazyView.class.getCanonicalName(),
+                        GenerateLazyView.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.ALazyView",
+                """
+                package com.example;
+
+                import com.github.emick.codegen.util.BinaryCodecUtil;
+                import java.lang.Integer;
+                import java.lang.String;
+                import java.nio.ByteBuffer;
+                import java.util.Objects;
+
+                public final class ALazyView {
+                    private static final int TABLE_SIZE = 16;
+
+                    private static final int ID_ENTRY = 0;
+
+                    private static final int NAME_ENTRY = 4;
+
+                    private static final int STATE_ENTRY = 8;
+
+                    private static final int COUNT_ENTRY = 12;
+
+                    private ByteBuffer buffer;
+
+                    private int offset;
+
+                    public static void write(A value, ByteBuffer buffer) {
+                        int start = buffer.position();
+                        buffer.position(start + TABLE_SIZE);
+                        buffer.putInt(start + ID_ENTRY, buffer.position() - start);
+                        long valueId = value.id();
+                        buffer.putLong(valueId);
+                        buffer.putInt(start + NAME_ENTRY, buffer.position() - start);
+                        String valueName = value.name();
+                        BinaryCodecUtil.putString(buffer, valueName);
+                        buffer.putInt(start + STATE_ENTRY, buffer.position() - start);
+                        A.State valueState = value.state();
+                        BinaryCodecUtil.putEnum(buffer, valueState);
+                        buffer.putInt(start + COUNT_ENTRY, buffer.position() - start);
+                        Integer valueCount = value.count();
+                        if (valueCount == null) {
+                            buffer.put((byte) 0);
+                        } else {
+                            buffer.put((byte) 1);
+                            buffer.putInt(valueCount);
+                        }
+                    }
+
+                    public ALazyView wrap(byte[] bytes) {
+                        return wrap(ByteBuffer.wrap(bytes), 0);
+                    }
+
+                    public ALazyView wrap(ByteBuffer buffer, int offset) {
+                        Objects.checkFromIndexSize(offset, TABLE_SIZE, buffer.limit());
+                        this.buffer = buffer;
+                        this.offset = offset;
+                        return this;
+                    }
+
+                    public long getId() {
+                        int index = offset + buffer.getInt(offset + ID_ENTRY);
+                        return buffer.getLong(index);
+                    }
+
+                    public String getName() {
+                        int index = offset + buffer.getInt(offset + NAME_ENTRY);
+                        return BinaryCodecUtil.getString(buffer, index);
+                    }
+
+                    public A.State getState() {
+                        int index = offset + buffer.getInt(offset + STATE_ENTRY);
+                        return BinaryCodecUtil.getEnum(buffer, index, A.State.class);
+                    }
+
+                    public Integer getCount() {
+                        int index = offset + buffer.getInt(offset + COUNT_ENTRY);
+                        return buffer.get(index) == 0 ? null : buffer.getInt(index + 1);
+                    }
+
+                    public A materialize() {
+                        return new A(getId(), getName(), getState(), getCount());
+                    }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateLazyViewAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldFailOnUnsupportedFieldType() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import java.time.Instant;
+
+                @%s
+                public class A {
+                    long id;
+                    Instant created;
+                }
+                """.formatted(
+                        GenerateLazyView.class.getCanonicalName(),
+                        GenerateLazyView.class.getSimpleName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateLazyViewAnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("Type java.time.Instant is not supported by @GenerateLazyView");
+    }
+}
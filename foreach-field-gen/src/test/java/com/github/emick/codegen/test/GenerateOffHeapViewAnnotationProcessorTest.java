@@ -0,0 +1,197 @@
+package com.github.emick.codegen.test;
+
+import com.github.emick.codegen.offheap.GenerateOffHeapView;
+import com.github.emick.codegen.offheap.GenerateOffHeapViewAnnotationProcessor;
+import com.google.common.truth.Truth;
+import com.google.testing.compile.JavaFileObjects;
+import com.google.testing.compile.JavaSourcesSubjectFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.tools.JavaFileObject;
+import java.util.List;
+
+public class GenerateOffHeapViewAnnotationProcessorTest {
+
+    @Test
+    public void shouldProcessRecord() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public record A(boolean open, long price, State state, int volume) {
+                    public enum State { OPEN, CLOSED }
+                }
+                """.formatted(
+                        GenerateOffHeapView.class.getCanonicalName(),
+                        GenerateOffHeapView.class.getSimpleName())
+        );
+
+        JavaFileObject viewOutput = JavaFileObjects.forSourceString(
+                "com.example.AView",
+                """
+                package com.example;
+
+                import java.nio.ByteBuffer;
+                import java.util.Objects;
+
+                public final class AView {
+                  public static final int SIZE = 16;
+
+                  private static final int PRICE_OFFSET = 0;
+
+                  private static final int VOLUME_OFFSET = 8;
+
+                  private static final int OPEN_OFFSET = 12;
+
+                  private static final int STATE_OFFSET = 13;
+
+                  private static final A.State[] STATE_VALUES = A.State.values();
+
+                  private ByteBuffer buffer;
+
+                  private int offset;
+
+                  public AView wrap(ByteBuffer buffer, int offset) {
+                    Objects.checkFromIndexSize(offset, SIZE, buffer.limit());
+                    this.buffer = buffer;
+                    this.offset = offset;
+                    return this;
+                  }
+
+                  public boolean getOpen() {
+                    return buffer.get(offset + OPEN_OFFSET) != 0;
+                  }
+
+                  public void setOpen(boolean value) {
+                    buffer.put(offset + OPEN_OFFSET, (byte) (value ? 1 : 0));
+                  }
+
+                  public long getPrice() {
+                    return buffer.getLong(offset + PRICE_OFFSET);
+                  }
+
+                  public void setPrice(long value) {
+                    buffer.putLong(offset + PRICE_OFFSET, value);
+                  }
+
+                  public A.State getState() {
+                    int ordinal = buffer.get(offset + STATE_OFFSET);
+                    return ordinal < 0 ? null : STATE_VALUES[ordinal];
+                  }
+
+                  public void setState(A.State value) {
+                    buffer.put(offset + STATE_OFFSET, (byte) (value == null ? -1 : value.ordinal()));
+                  }
+
+                  public int getVolume() {
+                    return buffer.getInt(offset + VOLUME_OFFSET);
+                  }
+
+                  public void setVolume(int value) {
+                    buffer.putInt(offset + VOLUME_OFFSET, value);
+                  }
+
+                  public void set(A value) {
+                    setOpen(value.open());
+                    setPrice(value.price());
+                    setState(value.state());
+                    setVolume(value.volume());
+                  }
+
+                  public A get() {
+                    return new A(getOpen(), getPrice(), getState(), getVolume());
+                  }
+                }
+                """
+        );
+
+        JavaFileObject storeOutput = JavaFileObjects.forSourceString(
+                "com.example.AStore",
+                """
+                package com.example;
+
+                import java.lang.IllegalArgumentException;
+                import java.nio.ByteBuffer;
+                import java.nio.ByteOrder;
+                import java.util.Objects;
+
+                public final class AStore {
+                  private final ByteBuffer buffer;
+
+                  private final int capacity;
+
+                  private final AView cursor = new AView();
+
+                  public AStore(int capacity) {
+                    if (capacity < 0 || capacity > 134217727) {
+                      throw new IllegalArgumentException("Invalid capacity: " + capacity);
+                    }
+                    this.buffer = ByteBuffer.allocateDirect(capacity * AView.SIZE).order(ByteOrder.nativeOrder());
+                    this.capacity = capacity;
+                  }
+
+                  public int capacity() {
+                    return capacity;
+                  }
+
+                  public AView view(int index) {
+                    return view(index, new AView());
+                  }
+
+                  public AView view(int index, AView view) {
+                    Objects.checkIndex(index, capacity);
+                    return view.wrap(buffer, index * AView.SIZE);
+                  }
+
+                  public void set(int index, A value) {
+                    view(index, cursor).set(value);
+                  }
+
+                  public A get(int index) {
+                    return view(index, cursor).get();
+                  }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateOffHeapViewAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(viewOutput, storeOutput);
+    }
+
+    @Test
+    public void shouldFailOnReferenceField() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public class A {
+                    long id;
+                    Integer count;
+                }
+                """.formatted(
+                        GenerateOffHeapView.class.getCanonicalName(),
+                        GenerateOffHeapView.class.getSimpleName())
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateOffHeapViewAnnotationProcessor())
+                .failsToCompile()
+                .withErrorContaining("Type java.lang.Integer is not supported by @GenerateOffHeapView, "
+                        + "only primitive and enum fields can be stored off-heap");
+    }
+}
@@ -1,8 +1,10 @@
 package com.github.emick.codegen.test;
 
+import com.github.emick.codegen.common.GeneratedFieldAccess;
 import com.github.emick.codegen.common.GeneratedVisibility;
 import com.github.emick.codegen.transform.GenerateTransformMapper;
 import com.github.emick.codegen.transform.GenerateTransformMapperAnnotationProcessor;
+import com.github.emick.codegen.transform.MappingStyle;
 import com.github.emick.codegen.util.FieldGenReflectionUtil;
 import com.google.common.truth.Truth;
 import com.google.testing.compile.JavaFileObjects;
@@ -56,11 +58,284 @@ public class GenerateTransformMapperAnnotationProcessorTest {
                   protected abstract void setMyField2(A source, ArrayDeque<String> sourceFieldValue, Consumer<ArrayDeque<String>> setter);
 
                   public void mapAllTo(A target) {
-                    setMyField(source, (String)%s.getFieldValue(source, "myField"), value -> %s.setFieldValue(target, "myField", value));
-                    setMyField2(source, (ArrayDeque<String>)%s.getFieldValue(source, "myField2"), value -> %s.setFieldValue(target, "myField2", value));
+                    setMyField(source, source.myField, value -> target.myField = value);
+                    setMyField2(source, source.myField2, value -> target.myField2 = value);
                   }
                 }
-                """.formatted(REFLECTION_UTIL, REFLECTION_UTIL, REFLECTION_UTIL, REFLECTION_UTIL)
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateTransformMapperAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldUseReflectionOnlyForPrivateAndFinalFields() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s
+                public class A {
+                    private String secret;
+                    private long total;
+                    final String code;
+                    protected int count;
+
+                    public A(String code) {
+                        this.code = code;
+                    }
+                }
+                """.formatted(
+                        GenerateTransformMapper.class.getCanonicalName(),
+                        GenerateTransformMapper.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFieldMapper",
+                """
+                package com.example;
+
+                import java.lang.String;
+                import java.util.function.Consumer;
+                import java.util.function.IntConsumer;
+                import java.util.function.LongConsumer;
+
+                public abstract class AFieldMapper {
+                  private A source;
+
+                  AFieldMapper(A source) {
+                    this.source = source;
+                  }
+
+                  protected abstract void setSecret(A source, String sourceFieldValue, Consumer<String> setter);
+                  protected abstract void setTotal(A source, long sourceFieldValue, LongConsumer setter);
+                  protected abstract void setCode(A source, String sourceFieldValue, Consumer<String> setter);
+                  protected abstract void setCount(A source, int sourceFieldValue, IntConsumer setter);
+
+                  public void mapAllTo(A target) {
+                    setSecret(source, (String)%1$s.getFieldValue(source, "secret"), value -> %1$s.setFieldValue(target, "secret", value));
+                    setTotal(source, %1$s.getLongFieldValue(source, "total"), value -> %1$s.setLongFieldValue(target, "total", value));
+                    setCode(source, source.code, value -> %1$s.setFieldValue(target, "code", value));
+                    setCount(source, source.count, value -> target.count = value);
+                  }
+                }
+                """.formatted(REFLECTION_UTIL)
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateTransformMapperAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldProcessWithVarHandleFieldAccess() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import %s;
+
+                @%s(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)
+                public class A {
+                    private String myField;
+                    private int count;
+                }
+                """.formatted(
+                        GenerateTransformMapper.class.getCanonicalName(),
+                        GeneratedFieldAccess.class.getCanonicalName(),
+                        GenerateTransformMapper.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFieldMapper",
+                """
+                package com.example;
+
+                import java.lang.String;
+                import java.lang.invoke.MethodHandles;
+                import java.lang.invoke.VarHandle;
+                import java.util.function.Consumer;
+                import java.util.function.IntConsumer;
+
+                public abstract class AFieldMapper {
+                  private static final VarHandle MY_FIELD_HANDLE = %s.findVarHandle(MethodHandles.lookup(), A.class, "myField", String.class);
+                  private static final VarHandle COUNT_HANDLE = %s.findVarHandle(MethodHandles.lookup(), A.class, "count", int.class);
+
+                  private A source;
+
+                  AFieldMapper(A source) {
+                    this.source = source;
+                  }
+
+                  protected abstract void setMyField(A source, String sourceFieldValue, Consumer<String> setter);
+                  protected abstract void setCount(A source, int sourceFieldValue, IntConsumer setter);
+
+                  public void mapAllTo(A target) {
+                    setMyField(source, (String)MY_FIELD_HANDLE.get(source), value -> MY_FIELD_HANDLE.set(target, value));
+                    setCount(source, (int)COUNT_HANDLE.get(source), value -> COUNT_HANDLE.set(target, value));
+                  }
+                }
+                """.formatted(REFLECTION_UTIL, REFLECTION_UTIL)
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateTransformMapperAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldProcessWithReturnValueMappingStyle() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import %s;
+
+                @%s(mappingStyle = MappingStyle.RETURN_VALUE)
+                public class A {
+                    String myField;
+                    private int count;
+                }
+                """.formatted(
+                        GenerateTransformMapper.class.getCanonicalName(),
+                        MappingStyle.class.getCanonicalName(),
+                        GenerateTransformMapper.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFieldMapper",
+                """
+                package com.example;
+
+                import java.lang.String;
+
+                public abstract class AFieldMapper {
+                  private A source;
+
+                  AFieldMapper(A source) {
+                    this.source = source;
+                  }
+
+                  protected abstract String mapMyField(A source, String sourceFieldValue);
+                  protected abstract int mapCount(A source, int sourceFieldValue);
+
+                  public void mapAllTo(A target) {
+                    target.myField = mapMyField(source, source.myField);
+                    %1$s.setIntFieldValue(target, "count", mapCount(source, %1$s.getIntFieldValue(source, "count")));
+                  }
+                }
+                """.formatted(REFLECTION_UTIL)
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateTransformMapperAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldProcessStateless() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+                import %s;
+
+                @%s(stateless = true, mappingStyle = MappingStyle.RETURN_VALUE)
+                public class A {
+                    String myField;
+                }
+                """.formatted(
+                        GenerateTransformMapper.class.getCanonicalName(),
+                        MappingStyle.class.getCanonicalName(),
+                        GenerateTransformMapper.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFieldMapper",
+                """
+                package com.example;
+
+                import java.lang.String;
+
+                public abstract class AFieldMapper {
+                  protected abstract String mapMyField(A source, String sourceFieldValue);
+
+                  public void mapAllTo(A source, A target) {
+                    target.myField = mapMyField(source, source.myField);
+                  }
+                }
+                """
+        );
+
+        Truth.assert_()
+                .about(JavaSourcesSubjectFactory.javaSources())
+                .that(List.of(input))
+                .processedWith(new GenerateTransformMapperAnnotationProcessor())
+                .compilesWithoutError()
+                .and()
+                .generatesSources(output);
+    }
+
+    @Test
+    public void shouldProcessStatelessRecord() {
+        JavaFileObject input = JavaFileObjects.forSourceString(
+                "com.example.A",
+                """
+                package com.example;
+
+                import %s;
+
+                @%s(stateless = true)
+                public record A(String name, int quantity) {
+                }
+                """.formatted(
+                        GenerateTransformMapper.class.getCanonicalName(),
+                        GenerateTransformMapper.class.getSimpleName())
+        );
+
+        JavaFileObject output = JavaFileObjects.forSourceString(
+                "com.example.AFieldMapper",
+                """
+                package com.example;
+
+                import java.lang.String;
+
+                public abstract class AFieldMapper {
+                  protected abstract String mapName(A source, String sourceFieldValue);
+                  protected abstract int mapQuantity(A source, int sourceFieldValue);
+
+                  public A mapAll(A source) {
+                    return new A(mapName(source, source.name()), mapQuantity(source, source.quantity()));
+                  }
+                }
+                """
         );
 
         Truth.assert_()
@@ -160,10 +435,10 @@ public class GenerateTransformMapperAnnotationProcessorTest {
                   protected abstract void setMyField(A source, String sourceFieldValue, Consumer<String> setter);
 
                   public void mapAllTo(A target) {
-                    setMyField(source, (String)%s.getFieldValue(source, "myField"), value -> %s.setFieldValue(target, "myField", value));
+                    setMyField(source, source.myField, value -> target.myField = value);
                   }
                 }
-                """.formatted(REFLECTION_UTIL, REFLECTION_UTIL)
+                """
         );
 
         Truth.assert_()
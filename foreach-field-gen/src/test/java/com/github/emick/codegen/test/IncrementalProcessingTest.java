@@ -0,0 +1,121 @@
+package com.github.emick.codegen.test;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Builds a small Gradle project with the processors to verify that they are treated as isolating
+ * incremental processors.
+ */
+public class IncrementalProcessingTest {
+
+    // Set by the test task to the runtime classpath of the processors
+    private static final String PROCESSOR_PATH_PROPERTY = "fieldgen.processorPath";
+
+    private static final List<String> GENERATED_SUFFIXES = List.of(
+            "FieldVisitor", "FieldMapper", "Fields", "FieldNames");
+
+    @TempDir
+    Path projectDir;
+
+    @Test
+    public void shouldOnlyReprocessChangedModel() throws IOException {
+        writeProject();
+        writeModel("Changed", "int first;");
+        writeModel("Unchanged", "int first;");
+
+        build();
+
+        Map<Path, FileTime> unchangedOutputs = new HashMap<>();
+        for (String suffix : GENERATED_SUFFIXES) {
+            Path source = generatedSource("Unchanged" + suffix);
+            Path compiled = compiledClass("Unchanged" + suffix);
+            unchangedOutputs.put(source, Files.getLastModifiedTime(source));
+            unchangedOutputs.put(compiled, Files.getLastModifiedTime(compiled));
+        }
+
+        writeModel("Changed", "int first;\n    int second;");
+        BuildResult result = build();
+
+        assertEquals(TaskOutcome.SUCCESS, result.task(":compileJava").getOutcome());
+        assertFalse(result.getOutput().contains("Full recompilation is required"), result.getOutput());
+        assertTrue(Files.readString(generatedSource("ChangedFieldVisitor")).contains("visitSecond"));
+
+        for (var entry : unchangedOutputs.entrySet()) {
+            assertEquals(entry.getValue(), Files.getLastModifiedTime(entry.getKey()), entry.getKey().toString());
+        }
+    }
+
+    private BuildResult build() {
+        return GradleRunner.create()
+                .withProjectDir(projectDir.toFile())
+                .withArguments("compileJava", "--info")
+                .build();
+    }
+
+    private void writeProject() throws IOException {
+        String processorPath = Arrays.stream(System.getProperty(PROCESSOR_PATH_PROPERTY).split(File.pathSeparator))
+                .map(path -> "'" + path.replace('\\', '/') + "'")
+                .collect(Collectors.joining(", "));
+
+        Files.writeString(projectDir.resolve("settings.gradle"), "rootProject.name = 'incremental'\n");
+        Files.writeString(projectDir.resolve("build.gradle"), """
+                plugins {
+                    id 'java'
+                }
+
+                dependencies {
+                    implementation files(%1$s)
+                    annotationProcessor files(%1$s)
+                }
+                """.formatted(processorPath));
+    }
+
+    private void writeModel(String name, String fields) throws IOException {
+        Path source = projectDir.resolve("src/main/java/com/example/" + name + ".java");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, """
+                package com.example;
+
+                import com.github.emick.codegen.fieldenum.GenerateFieldEnum;
+                import com.github.emick.codegen.fieldnames.GenerateFieldNames;
+                import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;
+                import com.github.emick.codegen.transform.GenerateTransformMapper;
+
+                @GenerateFieldEnum
+                @GenerateFieldNames(generatedName = "%1$sFieldNames")
+                @GenerateFieldVisitor
+                @GenerateTransformMapper
+                public class %1$s {
+                    %2$s
+                }
+                """.formatted(name, fields));
+    }
+
+    private Path generatedSource(String typeName) {
+        return projectDir.resolve("build/generated/sources/annotationProcessor/java/main/com/example/"
+                + typeName + ".java");
+    }
+
+    private Path compiledClass(String typeName) {
+        return projectDir.resolve("build/classes/java/main/com/example/" + typeName + ".class");
+    }
+}
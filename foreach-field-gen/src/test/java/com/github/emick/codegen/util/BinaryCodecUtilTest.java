@@ -0,0 +1,84 @@
+package com.github.emick.codegen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class BinaryCodecUtilTest {
+
+    @Test
+    public void shouldWriteAndReadStrings() {
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)}) {
+            BinaryCodecUtil.putString(buffer, "héllo");
+            BinaryCodecUtil.putString(buffer, null);
+            BinaryCodecUtil.putString(buffer, "");
+
+            buffer.flip();
+            assertEquals("héllo", BinaryCodecUtil.getString(buffer));
+            assertNull(BinaryCodecUtil.getString(buffer));
+            assertEquals("", BinaryCodecUtil.getString(buffer));
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    public void shouldWriteStringsAsUtf8() {
+        String value = "a\u00e9\u20ac\ud83d\ude00\ud800b";
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        BinaryCodecUtil.putString(buffer, value);
+
+        byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+        buffer.flip();
+        assertEquals(expected.length, buffer.getInt());
+        byte[] actual = new byte[buffer.remaining()];
+        buffer.get(actual);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldReadStringFromSlicedHeapBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.position(10);
+        ByteBuffer slice = buffer.slice();
+        BinaryCodecUtil.putString(slice, "sliced");
+
+        assertEquals("sliced", BinaryCodecUtil.getString(slice.flip()));
+    }
+
+    @Test
+    public void shouldWriteAndReadEnums() {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        BinaryCodecUtil.putEnum(buffer, TimeUnit.SECONDS);
+        BinaryCodecUtil.putEnum(buffer, null);
+
+        buffer.flip();
+        assertEquals(TimeUnit.SECONDS, BinaryCodecUtil.getEnum(buffer, TimeUnit.class));
+        assertNull(BinaryCodecUtil.getEnum(buffer, TimeUnit.class));
+    }
+
+    @Test
+    public void shouldReadAtIndexWithoutMovingPosition() {
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(64), ByteBuffer.allocateDirect(64)}) {
+            buffer.put((byte) 1);
+            BinaryCodecUtil.putString(buffer, "héllo");
+            int enumIndex = buffer.position();
+            BinaryCodecUtil.putEnum(buffer, TimeUnit.SECONDS);
+            int nullIndex = buffer.position();
+            BinaryCodecUtil.putString(buffer, null);
+
+            int position = buffer.position();
+            assertEquals("héllo", BinaryCodecUtil.getString(buffer, 1));
+            assertNull(BinaryCodecUtil.getString(buffer, nullIndex));
+            assertEquals(TimeUnit.SECONDS, BinaryCodecUtil.getEnum(buffer, enumIndex, TimeUnit.class));
+            assertNull(BinaryCodecUtil.getEnum(buffer, nullIndex, TimeUnit.class));
+            assertEquals(position, buffer.position());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.emick.codegen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ColumnarFileTest {
+
+    @Test
+    public void shouldReadWrittenSegments() throws IOException {
+        Path path = Files.createTempFile("columnar", ".col");
+        try {
+            try (ColumnarFileWriter writer = new ColumnarFileWriter(path, 42, 3, 3)) {
+                writer.beginSegment();
+                writer.putBoolean(true);
+                writer.put((byte) -1);
+                writer.putBoolean(false);
+                writer.beginSegment();
+                writer.putString("a");
+                writer.putString(null);
+                writer.putString("äö");
+                writer.putStringEnds();
+                writer.finish();
+            }
+
+            ColumnarFileReader reader = ColumnarFileReader.open(path, 42, new int[] {1, 0, Long.BYTES});
+            assertEquals(3, reader.rowCount());
+            ByteBuffer flags = reader.segment(0);
+            assertEquals(3, flags.capacity());
+            assertEquals(1, flags.get(0));
+            assertEquals(-1, flags.get(1));
+            assertEquals("a", ColumnarFileReader.getString(reader.segment(1), reader.segment(2), 0));
+            assertNull(ColumnarFileReader.getString(reader.segment(1), reader.segment(2), 1));
+            assertEquals("äö", ColumnarFileReader.getString(reader.segment(1), reader.segment(2), 2));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void shouldAlignSegments() throws IOException {
+        Path path = Files.createTempFile("columnar", ".col");
+        try {
+            try (ColumnarFileWriter writer = new ColumnarFileWriter(path, 1, 1, 2)) {
+                writer.beginSegment();
+                writer.putShort((short) 7);
+                writer.beginSegment();
+                writer.putLong(Long.MIN_VALUE);
+                writer.finish();
+            }
+
+            ColumnarFileReader reader = ColumnarFileReader.open(path, 1, new int[] {Short.BYTES, Long.BYTES});
+            assertEquals(7, reader.segment(0).getShort(0));
+            assertEquals(Long.MIN_VALUE, reader.segment(1).getLong(0));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void shouldFailOnAnotherSchema() throws IOException {
+        Path path = Files.createTempFile("columnar", ".col");
+        try {
+            try (ColumnarFileWriter writer = new ColumnarFileWriter(path, 1, 0, 1)) {
+                writer.beginSegment();
+                writer.finish();
+            }
+
+            assertThrows(IOException.class, () -> ColumnarFileReader.open(path, 2, new int[] {1}));
+            assertThrows(IOException.class, () -> ColumnarFileReader.open(path, 1, new int[] {1, 1}));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void shouldFailOnUnfinishedFile() throws IOException {
+        Path path = Files.createTempFile("columnar", ".col");
+        try {
+            try (ColumnarFileWriter writer = new ColumnarFileWriter(path, 1, 1, 2)) {
+                writer.beginSegment();
+                writer.putInt(1);
+                assertThrows(IllegalStateException.class, writer::finish);
+            }
+
+            assertThrows(IOException.class, () -> ColumnarFileReader.open(path, 1, new int[] {1, 1}));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void shouldFailOnSegmentShorterThanRowCount() throws IOException {
+        Path path = Files.createTempFile("columnar", ".col");
+        try {
+            try (ColumnarFileWriter writer = new ColumnarFileWriter(path, 1, 2, 2)) {
+                writer.beginSegment();
+                writer.putInt(1);
+                writer.putInt(2);
+                writer.beginSegment();
+                writer.putLong(3);
+                writer.finish();
+            }
+
+            assertEquals(2, ColumnarFileReader.open(path, 1, new int[] {Integer.BYTES, 0}).rowCount());
+            assertThrows(IOException.class,
+                    () -> ColumnarFileReader.open(path, 1, new int[] {Integer.BYTES, Long.BYTES}));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.github.emick.codegen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CsvCodecUtilTest {
+
+    @Test
+    public void shouldQuoteOnlyWhenNeeded() {
+        StringBuilder row = new StringBuilder();
+        CsvCodecUtil.appendString(row, "plain");
+        row.append(',');
+        CsvCodecUtil.appendString(row, null);
+        row.append(',');
+        CsvCodecUtil.appendString(row, "");
+        row.append(',');
+        CsvCodecUtil.appendString(row, "a,\"b\"\r\n");
+        row.append(',');
+        CsvCodecUtil.appendChar(row, '"');
+        row.append(',');
+        CsvCodecUtil.appendChar(row, ',');
+
+        assertEquals("plain,,\"\",\"a,\"\"b\"\"\r\n\",\"\"\"\",\",\"", row.toString());
+    }
+
+    @Test
+    public void shouldReadWrittenValues() throws IOException {
+        String[] values = {"plain", null, "", "a,\"b\"\r\n", "\""};
+        StringBuilder row = new StringBuilder();
+        for (String value : values) {
+            if (!row.isEmpty()) {
+                row.append(',');
+            }
+            CsvCodecUtil.appendString(row, value);
+        }
+
+        CsvReader reader = new CsvReader(new StringReader(row.toString()));
+        assertTrue(reader.nextRow());
+        for (String value : values) {
+            assertTrue(reader.nextField());
+            assertEquals(value, reader.stringValue());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.emick.codegen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CsvReaderTest {
+
+    @Test
+    public void shouldReadValues() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("-12,9223372036854775807,1.5e3,true,x\r\n"));
+
+        assertTrue(reader.nextRow());
+        assertTrue(reader.nextField());
+        assertEquals(-12, reader.intValue());
+        assertTrue(reader.nextField());
+        assertEquals(Long.MAX_VALUE, reader.longValue());
+        assertTrue(reader.nextField());
+        assertEquals(1500.0, reader.doubleValue());
+        assertTrue(reader.nextField());
+        assertTrue(reader.booleanValue());
+        assertTrue(reader.nextField());
+        assertEquals('x', reader.charValue());
+        assertFalse(reader.nextField());
+        assertFalse(reader.nextRow());
+    }
+
+    @Test
+    public void shouldReadQuotedFields() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("\"a,\"\"b\"\"\nc\",,\"\"\n"));
+
+        assertTrue(reader.nextRow());
+        assertTrue(reader.nextField());
+        assertEquals("a,\"b\"\nc", reader.stringValue());
+        assertTrue(reader.nextField());
+        assertTrue(reader.isNull());
+        assertNull(reader.stringValue());
+        assertTrue(reader.nextField());
+        assertFalse(reader.isNull());
+        assertEquals("", reader.stringValue());
+        assertFalse(reader.nextField());
+    }
+
+    @Test
+    public void shouldSkipRestOfRow() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("1,\"skipped\r\n\",3\r\n4\n"));
+
+        assertTrue(reader.nextRow());
+        assertTrue(reader.nextField());
+        assertEquals(1, reader.intValue());
+        assertTrue(reader.nextRow());
+        assertTrue(reader.nextField());
+        assertEquals(4, reader.intValue());
+        assertFalse(reader.nextRow());
+    }
+
+    @Test
+    public void shouldReadAcrossBufferBoundaries() throws IOException {
+        String value = "x".repeat(3000);
+        // Returns at most 7 characters per read
+        Reader in = new StringReader("\"" + value + "\",123456789\r\n") {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 7));
+            }
+        };
+        CsvReader reader = new CsvReader(in);
+
+        assertTrue(reader.nextRow());
+        assertTrue(reader.nextField());
+        assertEquals(value, reader.stringValue());
+        assertTrue(reader.nextField());
+        assertEquals(123456789, reader.intValue());
+        assertFalse(reader.nextRow());
+    }
+
+    @Test
+    public void shouldFailOnMalformedInput() {
+        assertThrows(IOException.class, () -> readInts("1,x"));
+        assertThrows(IOException.class, () -> readInts("\"1\"2"));
+        assertThrows(IOException.class, () -> readInts("\"1"));
+
+        IOException exception = assertThrows(IOException.class, () -> readInts("1\n2\n3.5"));
+        assertEquals("Expected an int but was '3.5' in row 3", exception.getMessage());
+    }
+
+    @Test
+    public void shouldFailOnOutOfRangeNumbers() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("127,128,-32768,-32769"));
+
+        assertTrue(reader.nextRow());
+        assertTrue(reader.nextField());
+        assertEquals(Byte.MAX_VALUE, reader.byteValue());
+        assertTrue(reader.nextField());
+        IOException exception = assertThrows(IOException.class, reader::byteValue);
+        assertEquals("Expected a byte but was '128' in row 1", exception.getMessage());
+        assertTrue(reader.nextField());
+        assertEquals(Short.MIN_VALUE, reader.shortValue());
+        assertTrue(reader.nextField());
+        assertThrows(IOException.class, reader::shortValue);
+    }
+
+    private static void readInts(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        while (reader.nextRow()) {
+            while (reader.nextField()) {
+                reader.intValue();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.emick.codegen.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FieldGenReflectionUtilTest {
+
+    @Test
+    public void shouldGetAndSetPrivateField() {
+        Child child = new Child();
+
+        FieldGenReflectionUtil.setFieldValue(child, "name", "first");
+        assertEquals("first", FieldGenReflectionUtil.getFieldValue(child, "name"));
+
+        FieldGenReflectionUtil.setFieldValue(child, "name", "second");
+        assertEquals("second", FieldGenReflectionUtil.getFieldValue(child, "name"));
+    }
+
+    @Test
+    public void shouldResolveFieldsOfParentClass() {
+        Child child = new Child();
+
+        FieldGenReflectionUtil.setFieldValue(child, "id", 42L);
+        assertEquals(42L, FieldGenReflectionUtil.getFieldValue(child, "id"));
+    }
+
+    @Test
+    public void shouldPreferFieldDeclaredInSubclass() {
+        Child child = new Child();
+
+        FieldGenReflectionUtil.setFieldValue(child, "shadowed", "child");
+        assertEquals("child", child.shadowed);
+        assertEquals("parent", ((Parent) child).shadowed);
+    }
+
+    @Test
+    public void shouldFailOnUnknownField() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> FieldGenReflectionUtil.getFieldValue(new Child(), "unknown"));
+        assertInstanceOf(NoSuchFieldException.class, exception.getCause());
+    }
+
+    private static class Parent {
+        private long id;
+        String shadowed = "parent";
+    }
+
+    private static class Child extends Parent {
+        private String name;
+        String shadowed;
+    }
+}
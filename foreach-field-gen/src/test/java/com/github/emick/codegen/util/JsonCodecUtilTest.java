@@ -0,0 +1,51 @@
+package com.github.emick.codegen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonCodecUtilTest {
+
+    @Test
+    public void shouldWriteStrings() throws IOException {
+        String value = "a\"\\\n\u0001é€😀";
+        String expected = "\"a\\\"\\\\\\n\\u0001é€😀\"";
+
+        StringBuilder text = new StringBuilder();
+        JsonCodecUtil.writeString(text, value);
+        assertEquals(expected, text.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonCodecUtil.writeString(bytes, value);
+        assertEquals(expected, bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldWriteNumbers() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        StringBuilder text = new StringBuilder();
+        for (long value : new long[]{0, 7, -10, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            bytes.reset();
+            text.setLength(0);
+            JsonCodecUtil.writeLong(bytes, value);
+            JsonCodecUtil.writeLong(text, value);
+            assertEquals(Long.toString(value), bytes.toString(StandardCharsets.UTF_8));
+            assertEquals(Long.toString(value), text.toString());
+        }
+
+        bytes.reset();
+        JsonCodecUtil.writeFloat(bytes, 0.1f);
+        assertEquals("0.1", bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldFailOnNonFiniteNumbers() {
+        assertThrows(IllegalArgumentException.class,
+                () -> JsonCodecUtil.writeDouble(new StringBuilder(), Double.NaN));
+    }
+}
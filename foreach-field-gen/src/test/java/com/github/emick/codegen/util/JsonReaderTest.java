@@ -0,0 +1,121 @@
+package com.github.emick.codegen.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class JsonReaderTest {
+
+    @Test
+    public void shouldReadValues() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("""
+                { "s": "a\\"b\\u00e9\\n", "i": -12, "l": 9223372036854775807, "d": 1.5e3,
+                  "t": true, "f": false, "n": null, "c": "x" }
+                """));
+
+        reader.beginObject();
+        assertEquals("s", reader.nextName());
+        assertEquals("a\"bé\n", reader.nextString());
+        assertEquals("i", reader.nextName());
+        assertEquals(-12, reader.nextInt());
+        assertEquals("l", reader.nextName());
+        assertEquals(Long.MAX_VALUE, reader.nextLong());
+        assertEquals("d", reader.nextName());
+        assertEquals(1500.0, reader.nextDouble());
+        assertEquals("t", reader.nextName());
+        assertTrue(reader.nextBoolean());
+        assertEquals("f", reader.nextName());
+        assertFalse(reader.nextNull());
+        assertFalse(reader.nextBoolean());
+        assertEquals("n", reader.nextName());
+        assertNull(reader.nextString());
+        assertTrue(reader.hasNext());
+        assertEquals("c", reader.nextName());
+        assertEquals('x', reader.nextChar());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+    }
+
+    @Test
+    public void shouldSkipNestedValues() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader(
+                "{\"skipped\": {\"a\": [1, \"]}\", {\"b\": null}], \"c\": {}}, \"kept\": 1}"));
+
+        reader.beginObject();
+        assertEquals("skipped", reader.nextName());
+        reader.skipValue();
+        assertEquals("kept", reader.nextName());
+        assertEquals(1, reader.nextInt());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+    }
+
+    @Test
+    public void shouldReuseNames() throws IOException {
+        JsonReader reader = new JsonReader(new StringReader("{\"id\": 1} {\"id\": 2}"));
+
+        reader.beginObject();
+        String first = reader.nextName();
+        reader.nextInt();
+        reader.endObject();
+
+        reader.beginObject();
+        assertSame(first, reader.nextName());
+    }
+
+    @Test
+    public void shouldReadAcrossBufferBoundaries() throws IOException {
+        String value = "x".repeat(3000);
+        // Returns at most 7 characters per read
+        Reader in = new StringReader("{\"value\": \"" + value + "\", \"number\": 123456789}") {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 7));
+            }
+        };
+        JsonReader reader = new JsonReader(in);
+
+        reader.beginObject();
+        assertEquals("value", reader.nextName());
+        assertEquals(value, reader.nextString());
+        assertEquals("number", reader.nextName());
+        assertEquals(123456789, reader.nextInt());
+        reader.endObject();
+    }
+
+    @Test
+    public void shouldFailOnMalformedInput() {
+        assertThrows(IOException.class, () -> readMember("{\"a\": 1 \"b\": 2}"));
+        assertThrows(IOException.class, () -> readMember("{\"a\": 1,}"));
+        assertThrows(IOException.class, () -> readMember("{\"a\": tru}"));
+        assertThrows(IOException.class, () -> readMember("{\"a\": \"1\"}"));
+        assertThrows(IOException.class, () -> readMember("{\"a\": 1"));
+    }
+
+    @Test
+    public void shouldFailOnOutOfRangeNumbers() throws IOException {
+        assertEquals(Byte.MAX_VALUE, new JsonReader(new StringReader("127")).nextByte());
+        assertThrows(IOException.class, () -> new JsonReader(new StringReader("128")).nextByte());
+        assertEquals(Short.MIN_VALUE, new JsonReader(new StringReader("-32768")).nextShort());
+        assertThrows(IOException.class, () -> new JsonReader(new StringReader("-32769")).nextShort());
+    }
+
+    private static void readMember(String json) throws IOException {
+        JsonReader reader = new JsonReader(new StringReader(json));
+        reader.beginObject();
+        while (reader.hasNext()) {
+            reader.nextName();
+            reader.nextInt();
+        }
+        reader.endObject();
+    }
+}
@@ -0,0 +1,401 @@
+package com.github.emick.codegen.benchmark.generator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Generates the annotated benchmark models of a given width together with a {@code Fixture<width>} class
+ * which wires the generated visitors, mappers and field enums against handwritten equivalents.
+ * <p>
+ * Models this wide are impractical to write by hand, so they are generated before compiling the
+ * benchmarks. The annotation processors then run over the generated models like over any other source.
+ * <p>
+ * Usage: {@code BenchmarkModelGenerator <output directory> <width>...}
+ */
+public class BenchmarkModelGenerator {
+
+    private static final String PACKAGE = "com.github.emick.codegen.benchmark.model";
+
+    private static final String[] FIELD_TYPES = {"int", "long", "double", "String"};
+
+    // A constructor may take at most 255 parameter slots including "this", long and double taking two each
+    private static final int MAX_CONSTRUCTOR_SLOTS = 254;
+
+    // The changed fields of a diff are returned as a long bitmask
+    private static final int MAX_DIFF_FIELDS = 64;
+
+    private final int width;
+
+    private BenchmarkModelGenerator(int width) {
+        this.width = width;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path packageDir = Path.of(args[0]).resolve(PACKAGE.replace('.', '/'));
+        Files.createDirectories(packageDir);
+
+        for (int i = 1; i < args.length; i++) {
+            var generator = new BenchmarkModelGenerator(Integer.parseInt(args[i]));
+            generator.write(packageDir);
+        }
+    }
+
+    private void write(Path packageDir) throws IOException {
+        List<String> modelAnnotations = new ArrayList<>(
+                List.of("@GenerateFieldVisitor(selective = true)", "@GenerateTransformMapper", "@GenerateFieldEnum",
+                        "@GenerateBinaryCodec"));
+        if (isDiffSupported()) {
+            modelAnnotations.add("@GenerateFieldDiff");
+        }
+        writeSource(packageDir, "Model" + width, createClassModel("Model", "", modelAnnotations, " implements java.io.Serializable"));
+        writeSource(packageDir, "ReturnValueModel" + width, createClassModel("ReturnValueModel", "",
+                List.of("@GenerateTransformMapper(mappingStyle = MappingStyle.RETURN_VALUE)")));
+        writeSource(packageDir, "ReflectionModel" + width, createClassModel("ReflectionModel", "private ",
+                List.of("@GenerateFieldVisitor", "@GenerateTransformMapper")));
+        writeSource(packageDir, "VarHandleModel" + width, createClassModel("VarHandleModel", "private ",
+                List.of("@GenerateFieldVisitor(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)",
+                        "@GenerateTransformMapper(fieldAccess = GeneratedFieldAccess.VAR_HANDLE)")));
+        if (isRecordSupported()) {
+            writeSource(packageDir, "RecordModel" + width, createRecordModel());
+        }
+        writeSource(packageDir, "Fixture" + width, createFixture());
+    }
+
+    private static void writeSource(Path packageDir, String typeName, String source) throws IOException {
+        Files.writeString(packageDir.resolve(typeName + ".java"), source);
+    }
+
+    private String createClassModel(String baseName, String fieldModifiers, List<String> annotations) {
+        return createClassModel(baseName, fieldModifiers, annotations, "");
+    }
+
+    private String createClassModel(String baseName, String fieldModifiers, List<String> annotations,
+                                    String supertypes) {
+        String typeName = baseName + width;
+        var source = new StringBuilder(header());
+        annotations.forEach(annotation -> source.append(annotation).append('\n'));
+        source.append("public class ").append(typeName).append(supertypes).append(" {\n");
+
+        forEachField(i -> source.append("    ").append(fieldModifiers).append(fieldType(i)).append(' ')
+                .append(fieldName(i)).append(";\n"));
+
+        source.append("\n    public static ").append(typeName).append(" sample() {\n");
+        source.append("        var sample = new ").append(typeName).append("();\n");
+        forEachField(i -> source.append("        sample.").append(fieldName(i)).append(" = ")
+                .append(sampleValue(i)).append(";\n"));
+        source.append("        return sample;\n    }\n}\n");
+        return source.toString();
+    }
+
+    private String createRecordModel() {
+        String components = fields()
+                .mapToObj(i -> fieldType(i) + " " + fieldName(i))
+                .collect(Collectors.joining(", "));
+        String sampleValues = fields()
+                .mapToObj(this::sampleValue)
+                .collect(Collectors.joining(", "));
+
+        return header()
+                + "@GenerateTransformMapper\n"
+                + "public record RecordModel" + width + "(" + components + ") {\n\n"
+                + "    public static RecordModel" + width + " sample() {\n"
+                + "        return new RecordModel" + width + "(" + sampleValues + ");\n"
+                + "    }\n"
+                + "}\n";
+    }
+
+    private String createFixture() {
+        var source = new StringBuilder();
+        source.append("package ").append(PACKAGE).append(";\n\n")
+                .append("import com.github.emick.codegen.benchmark.codec.JavaSerialization;\n")
+                .append("import com.github.emick.codegen.benchmark.codec.ReflectionBinaryCodec;\n")
+                .append("import com.github.emick.codegen.util.FieldGenReflectionUtil;\n")
+                .append("import org.openjdk.jmh.infra.Blackhole;\n\n")
+                .append("import java.nio.ByteBuffer;\n")
+                .append("import java.util.Objects;\n")
+                .append("import java.util.function.Consumer;\n")
+                .append("import java.util.function.DoubleConsumer;\n")
+                .append("import java.util.function.IntConsumer;\n")
+                .append("import java.util.function.LongConsumer;\n\n")
+                .append("public final class Fixture").append(width).append(" implements Fixture")
+                .append(isRecordSupported() ? ", RecordFixture" : "")
+                .append(isDiffSupported() ? ", DiffFixture" : "")
+                .append(" {\n\n");
+
+        source.append("    private static final String[] FIELD_NAMES = {")
+                .append(fields().mapToObj(i -> "\"" + fieldName(i) + "\"").collect(Collectors.joining(", ")))
+                .append("};\n\n");
+
+        source.append("    private static final int[] SELECTED_ORDINALS = {")
+                .append(selectedFields().mapToObj(String::valueOf).collect(Collectors.joining(", ")))
+                .append("};\n\n");
+
+        source.append("    private final Blackhole blackhole;\n")
+                .append("    private final ByteBuffer heapBuffer = ByteBuffer.allocate(").append(bufferSize()).append(");\n")
+                .append("    private final ByteBuffer directBuffer = ByteBuffer.allocateDirect(").append(bufferSize())
+                .append(");\n")
+                .append(field("Model", "model", "Model" + width + ".sample()"))
+                .append(field("Model", "modelTarget", "new Model" + width + "()"))
+                .append(field("Model", "modelCopy", "Model" + width + ".sample()"))
+                .append(field("ReturnValueModel", "returnValueModel", "ReturnValueModel" + width + ".sample()"))
+                .append(field("ReturnValueModel", "returnValueTarget", "new ReturnValueModel" + width + "()"))
+                .append(field("ReflectionModel", "reflectionModel", "ReflectionModel" + width + ".sample()"))
+                .append(field("ReflectionModel", "reflectionTarget", "new ReflectionModel" + width + "()"))
+                .append(field("VarHandleModel", "varHandleModel", "VarHandleModel" + width + ".sample()"))
+                .append(field("VarHandleModel", "varHandleTarget", "new VarHandleModel" + width + "()"))
+                .append(isRecordSupported() ? field("RecordModel", "recordModel", "RecordModel" + width + ".sample()") : "")
+                .append("    private final ModelVisitor modelVisitor;\n")
+                .append("    private final ReflectionVisitor reflectionVisitor;\n")
+                .append("    private final VarHandleVisitor varHandleVisitor;\n")
+                .append("    private final ModelMapper modelMapper;\n")
+                .append("    private final ReturnValueMapper returnValueMapper;\n")
+                .append("    private final ReflectionMapper reflectionMapper;\n")
+                .append("    private final VarHandleMapper varHandleMapper;\n")
+                .append(isRecordSupported() ? "    private final RecordMapper recordMapper;\n" : "")
+                .append("\n");
+
+        source.append("    public Fixture").append(width).append("(Blackhole blackhole) {\n")
+                .append("        this.blackhole = blackhole;\n")
+                .append("        this.modelVisitor = new ModelVisitor(model);\n")
+                .append("        this.reflectionVisitor = new ReflectionVisitor(reflectionModel);\n")
+                .append("        this.varHandleVisitor = new VarHandleVisitor(varHandleModel);\n")
+                .append("        this.modelMapper = new ModelMapper(model);\n")
+                .append("        this.returnValueMapper = new ReturnValueMapper(returnValueModel);\n")
+                .append("        this.reflectionMapper = new ReflectionMapper(reflectionModel);\n")
+                .append("        this.varHandleMapper = new VarHandleMapper(varHandleModel);\n")
+                .append(isRecordSupported() ? "        this.recordMapper = new RecordMapper(recordModel);\n" : "")
+                .append("    }\n\n");
+
+        source.append(method("void visitGenerated", "        modelVisitor.visitAll();\n"));
+        source.append(method("void visitReflection", "        reflectionVisitor.visitAll();\n"));
+        source.append(method("void visitVarHandle", "        varHandleVisitor.visitAll();\n"));
+        source.append(method("void visitHandwritten", joinFields(i -> "        blackhole.consume(model." + fieldName(i) + ");\n")));
+        source.append(method("void visitSelectedGenerated", "        modelVisitor.visitOnly(SELECTED_ORDINALS);\n"));
+        source.append(method("void visitSelectedHandwritten", selectedFields()
+                .mapToObj(i -> "        blackhole.consume(model." + fieldName(i) + ");\n")
+                .collect(Collectors.joining())));
+
+        source.append(method("void mapGenerated", "        modelMapper.mapAllTo(modelTarget);\n"));
+        source.append(method("void mapReturnValue", "        returnValueMapper.mapAllTo(returnValueTarget);\n"));
+        source.append(method("void mapReflection", "        reflectionMapper.mapAllTo(reflectionTarget);\n"));
+        source.append(method("void mapVarHandle", "        varHandleMapper.mapAllTo(varHandleTarget);\n"));
+        source.append(method("void mapHandwritten", joinFields(i -> "        modelTarget." + fieldName(i)
+                + " = model." + fieldName(i) + ";\n")));
+
+        if (isRecordSupported()) {
+            source.append(method("Object mapRecordGenerated", "        return recordMapper.mapAll();\n"));
+            source.append(method("Object mapRecordHandwritten", "        return new RecordModel" + width + "("
+                    + fields().mapToObj(i -> "recordModel." + fieldName(i) + "()").collect(Collectors.joining(", "))
+                    + ");\n"));
+        }
+
+        if (isDiffSupported()) {
+            source.append(method("long diffGenerated", "        return Model" + width + "FieldDiff.diff(model, modelCopy);\n"));
+            source.append(method("long diffReflection", "        long changed = 0L;\n"
+                    + "        for (int i = 0; i < FIELD_NAMES.length; i++) {\n"
+                    + "            if (!Objects.equals(FieldGenReflectionUtil.getFieldValue(model, FIELD_NAMES[i]),\n"
+                    + "                    FieldGenReflectionUtil.getFieldValue(modelCopy, FIELD_NAMES[i]))) {\n"
+                    + "                changed |= 1L << i;\n"
+                    + "            }\n"
+                    + "        }\n"
+                    + "        return changed;\n"));
+        }
+
+        String codec = "Model" + width + "BinaryCodec";
+        source.append(method("Object binaryCodecHeap", "        heapBuffer.clear();\n"
+                + "        " + codec + ".write(model, heapBuffer);\n"
+                + "        return " + codec + ".read(heapBuffer.flip());\n"));
+        source.append(method("Object binaryCodecDirect", "        directBuffer.clear();\n"
+                + "        " + codec + ".write(model, directBuffer);\n"
+                + "        return " + codec + ".read(directBuffer.flip());\n"));
+        source.append(method("Object binaryCodecReflection", "        heapBuffer.clear();\n"
+                + "        ReflectionBinaryCodec.write(model, heapBuffer);\n"
+                + "        return ReflectionBinaryCodec.read(heapBuffer.flip(), Model" + width + ".class);\n"));
+        source.append(method("Object javaSerialization", "        return JavaSerialization.roundTrip(model);\n"));
+
+        source.append(method("void iterateFieldEnum", "        for (Model" + width + "Fields field : Model" + width
+                + "Fields.values()) {\n            blackhole.consume(field.getFieldName());\n        }\n"));
+        source.append(method("void iterateFieldNames", "        for (String fieldName : FIELD_NAMES) {\n"
+                + "            blackhole.consume(fieldName);\n        }\n"));
+        source.append(method("void iterateFieldEnumList", "        for (Model" + width + "Fields field : Model" + width
+                + "Fields.valueList()) {\n            blackhole.consume(field.getFieldName());\n        }\n"));
+        source.append(method("void lookUpFieldEnum", "        for (String fieldName : FIELD_NAMES) {\n"
+                + "            blackhole.consume(Model" + width + "Fields.fromFieldName(fieldName));\n        }\n"));
+        source.append(method("void scanFieldEnum", "        for (String fieldName : FIELD_NAMES) {\n"
+                + "            for (Model" + width + "Fields field : Model" + width + "Fields.values()) {\n"
+                + "                if (field.getFieldName().equals(fieldName)) {\n"
+                + "                    blackhole.consume(field);\n"
+                + "                    break;\n"
+                + "                }\n"
+                + "            }\n"
+                + "        }\n"));
+
+        source.append(method("void reflectionGetAll", joinFields(i -> "        blackhole.consume("
+                + "FieldGenReflectionUtil.getFieldValue(reflectionModel, \"" + fieldName(i) + "\"));\n")));
+        source.append(method("void reflectionSetAll", joinFields(i -> "        FieldGenReflectionUtil.setFieldValue("
+                + "reflectionTarget, \"" + fieldName(i) + "\", " + sampleValue(i) + ");\n")));
+        source.append(method("void handwrittenSetAll", joinFields(i -> "        modelTarget." + fieldName(i)
+                + " = " + sampleValue(i) + ";\n")));
+
+        source.append(visitorClass("ModelVisitor", "Model"));
+        source.append(visitorClass("ReflectionVisitor", "ReflectionModel"));
+        source.append(visitorClass("VarHandleVisitor", "VarHandleModel"));
+        source.append(setterMapperClass("ModelMapper", "Model"));
+        source.append(setterMapperClass("ReflectionMapper", "ReflectionModel"));
+        source.append(setterMapperClass("VarHandleMapper", "VarHandleModel"));
+        source.append(valueMapperClass("ReturnValueMapper", "ReturnValueModel"));
+        if (isRecordSupported()) {
+            source.append(valueMapperClass("RecordMapper", "RecordModel"));
+        }
+
+        source.append("}\n");
+        return source.toString();
+    }
+
+    private String visitorClass(String className, String baseName) {
+        String modelType = baseName + width;
+        var source = new StringBuilder();
+        source.append("    private final class ").append(className).append(" extends ").append(modelType)
+                .append("FieldVisitor {\n")
+                .append("        private ").append(className).append("(").append(modelType).append(" instance) {\n")
+                .append("            super(instance);\n")
+                .append("        }\n");
+        forEachField(i -> source.append("\n        @Override\n")
+                .append("        protected void ").append(methodName("visit", i)).append("(").append(fieldType(i))
+                .append(" value) {\n")
+                .append("            blackhole.consume(value);\n")
+                .append("        }\n"));
+        return source.append("    }\n\n").toString();
+    }
+
+    private String setterMapperClass(String className, String baseName) {
+        String modelType = baseName + width;
+        var source = new StringBuilder();
+        source.append("    private static final class ").append(className).append(" extends ").append(modelType)
+                .append("FieldMapper {\n")
+                .append("        private ").append(className).append("(").append(modelType).append(" source) {\n")
+                .append("            super(source);\n")
+                .append("        }\n");
+        forEachField(i -> source.append("\n        @Override\n")
+                .append("        protected void ").append(methodName("set", i)).append("(").append(modelType)
+                .append(" source, ").append(fieldType(i)).append(" sourceFieldValue, ").append(setterType(i))
+                .append(" setter) {\n")
+                .append("            setter.accept(sourceFieldValue);\n")
+                .append("        }\n"));
+        return source.append("    }\n\n").toString();
+    }
+
+    private String valueMapperClass(String className, String baseName) {
+        String modelType = baseName + width;
+        var source = new StringBuilder();
+        source.append("    private static final class ").append(className).append(" extends ").append(modelType)
+                .append("FieldMapper {\n")
+                .append("        private ").append(className).append("(").append(modelType).append(" source) {\n")
+                .append("            super(source);\n")
+                .append("        }\n");
+        forEachField(i -> source.append("\n        @Override\n")
+                .append("        protected ").append(fieldType(i)).append(' ').append(methodName("map", i))
+                .append("(").append(modelType).append(" source, ").append(fieldType(i))
+                .append(" sourceFieldValue) {\n")
+                .append("            return sourceFieldValue;\n")
+                .append("        }\n"));
+        return source.append("    }\n\n").toString();
+    }
+
+    private boolean isRecordSupported() {
+        int slots = fields()
+                .map(i -> fieldType(i).equals("long") || fieldType(i).equals("double") ? 2 : 1)
+                .sum();
+        return slots <= MAX_CONSTRUCTOR_SLOTS;
+    }
+
+    /**
+     * Large enough for the encoded model, whose widest values are {@code long}, {@code double} and the short
+     * sample strings.
+     */
+    private int bufferSize() {
+        return width * 16;
+    }
+
+    private boolean isDiffSupported() {
+        return width <= MAX_DIFF_FIELDS;
+    }
+
+    private String field(String baseName, String name, String initializer) {
+        return "    private final " + baseName + width + " " + name + " = " + initializer + ";\n";
+    }
+
+    private static String method(String signature, String body) {
+        return "    @Override\n    public " + signature + "() {\n" + body + "    }\n\n";
+    }
+
+    private String joinFields(IntFunction<String> line) {
+        return fields().mapToObj(line).collect(Collectors.joining());
+    }
+
+    private void forEachField(IntConsumer action) {
+        fields().forEach(action);
+    }
+
+    private IntStream fields() {
+        return IntStream.range(0, width);
+    }
+
+    /**
+     * The first, middle and last field, which stand for a partial update touching a few fields of the model.
+     */
+    private IntStream selectedFields() {
+        return IntStream.of(0, width / 2, width - 1).distinct();
+    }
+
+    private static String header() {
+        List<String> imports = List.of(
+                "com.github.emick.codegen.binary.GenerateBinaryCodec",
+                "com.github.emick.codegen.common.GeneratedFieldAccess",
+                "com.github.emick.codegen.fielddiff.GenerateFieldDiff",
+                "com.github.emick.codegen.fieldenum.GenerateFieldEnum",
+                "com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor",
+                "com.github.emick.codegen.transform.GenerateTransformMapper",
+                "com.github.emick.codegen.transform.MappingStyle");
+        return "package " + PACKAGE + ";\n\n"
+                + imports.stream().map(i -> "import " + i + ";\n").collect(Collectors.joining())
+                + "\n";
+    }
+
+    private static String fieldName(int index) {
+        return "f" + index;
+    }
+
+    private static String methodName(String prefix, int index) {
+        return prefix + "F" + index;
+    }
+
+    private static String fieldType(int index) {
+        return FIELD_TYPES[index % FIELD_TYPES.length];
+    }
+
+    private static String setterType(int index) {
+        return switch (fieldType(index)) {
+            case "int" -> "IntConsumer";
+            case "long" -> "LongConsumer";
+            case "double" -> "DoubleConsumer";
+            default -> "Consumer<String>";
+        };
+    }
+
+    private String sampleValue(int index) {
+        return switch (fieldType(index)) {
+            case "int" -> Integer.toString(index);
+            case "long" -> index + "L";
+            case "double" -> index + ".5";
+            default -> "\"value" + index + "\"";
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.emick.codegen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a write and read round trip through the generated binary codec against a reflection based codec
+ * writing the same bytes and against Java serialization.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryCodecBenchmark {
+
+    @Benchmark
+    public Object generatedHeapBuffer(FixtureState state) {
+        return state.fixture.binaryCodecHeap();
+    }
+
+    @Benchmark
+    public Object generatedDirectBuffer(FixtureState state) {
+        return state.fixture.binaryCodecDirect();
+    }
+
+    @Benchmark
+    public Object reflection(FixtureState state) {
+        return state.fixture.binaryCodecReflection();
+    }
+
+    @Benchmark
+    public Object javaSerialization(FixtureState state) {
+        return state.fixture.javaSerialization();
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.emick.codegen.benchmark;
+
+import com.github.emick.codegen.benchmark.model.DiffFixture;
+import com.github.emick.codegen.benchmark.model.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generated field diffs against a reflection based diff, like done by generic diff libraries.
+ * <p>
+ * The changed fields are returned as a {@code long} bitmask, so there is no diff of width 256.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldDiffBenchmark {
+
+    @State(Scope.Thread)
+    public static class DiffFixtureState {
+
+        @Param({"4", "32"})
+        public int width;
+
+        public DiffFixture fixture;
+
+        @Setup
+        public void setup(Blackhole blackhole) {
+            fixture = Fixtures.createDiffFixture(width, blackhole);
+        }
+    }
+
+    @Benchmark
+    public long diff(DiffFixtureState state) {
+        return state.fixture.diffGenerated();
+    }
+
+    @Benchmark
+    public long reflection(DiffFixtureState state) {
+        return state.fixture.diffReflection();
+    }
+}
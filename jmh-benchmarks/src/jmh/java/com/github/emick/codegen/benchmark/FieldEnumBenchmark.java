@@ -0,0 +1,49 @@
+package com.github.emick.codegen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares iterating a generated field enum through {@code values()}, which copies the constant array on
+ * every call, against iterating a cached array and the cached list of {@code valueList()}. Looking up the
+ * constant of each field name with {@code fromFieldName} is compared against scanning {@code values()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldEnumBenchmark {
+
+    @Benchmark
+    public void values(FixtureState state) {
+        state.fixture.iterateFieldEnum();
+    }
+
+    @Benchmark
+    public void cachedArray(FixtureState state) {
+        state.fixture.iterateFieldNames();
+    }
+
+    @Benchmark
+    public void valueList(FixtureState state) {
+        state.fixture.iterateFieldEnumList();
+    }
+
+    @Benchmark
+    public void fromFieldName(FixtureState state) {
+        state.fixture.lookUpFieldEnum();
+    }
+
+    @Benchmark
+    public void scanValues(FixtureState state) {
+        state.fixture.scanFieldEnum();
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.emick.codegen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generated field visitors per field access strategy against handwritten field reads, and visiting
+ * a few selected fields of a wide model against visiting all of them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldVisitorBenchmark {
+
+    @Benchmark
+    public void visitAll(FixtureState state) {
+        state.fixture.visitGenerated();
+    }
+
+    @Benchmark
+    public void visitAllReflection(FixtureState state) {
+        state.fixture.visitReflection();
+    }
+
+    @Benchmark
+    public void visitAllVarHandle(FixtureState state) {
+        state.fixture.visitVarHandle();
+    }
+
+    @Benchmark
+    public void handwritten(FixtureState state) {
+        state.fixture.visitHandwritten();
+    }
+
+    @Benchmark
+    public void visitSelected(FixtureState state) {
+        state.fixture.visitSelectedGenerated();
+    }
+
+    @Benchmark
+    public void visitSelectedHandwritten(FixtureState state) {
+        state.fixture.visitSelectedHandwritten();
+    }
+}
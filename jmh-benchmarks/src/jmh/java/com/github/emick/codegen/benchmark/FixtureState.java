@@ -0,0 +1,27 @@
+package com.github.emick.codegen.benchmark;
+
+import com.github.emick.codegen.benchmark.model.Fixture;
+import com.github.emick.codegen.benchmark.model.Fixtures;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark state holding the fixture of the measured model width. Each width runs in its own fork, so the
+ * {@link Fixture} call sites stay monomorphic.
+ */
+@State(Scope.Thread)
+public class FixtureState {
+
+    @Param({"4", "32", "256"})
+    public int width;
+
+    public Fixture fixture;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        fixture = Fixtures.create(width, blackhole);
+    }
+}
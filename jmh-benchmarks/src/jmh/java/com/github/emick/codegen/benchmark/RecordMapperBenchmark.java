@@ -0,0 +1,55 @@
+package com.github.emick.codegen.benchmark;
+
+import com.github.emick.codegen.benchmark.model.RecordFixture;
+import com.github.emick.codegen.benchmark.model.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generated record mappers against handwritten record construction.
+ * <p>
+ * A record constructor may take at most 255 parameter slots, so there is no record model of width 256.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordMapperBenchmark {
+
+    @State(Scope.Thread)
+    public static class RecordFixtureState {
+
+        @Param({"4", "32"})
+        public int width;
+
+        public RecordFixture fixture;
+
+        @Setup
+        public void setup(Blackhole blackhole) {
+            fixture = Fixtures.createRecordFixture(width, blackhole);
+        }
+    }
+
+    @Benchmark
+    public Object mapAll(RecordFixtureState state) {
+        return state.fixture.mapRecordGenerated();
+    }
+
+    @Benchmark
+    public Object handwritten(RecordFixtureState state) {
+        return state.fixture.mapRecordHandwritten();
+    }
+}
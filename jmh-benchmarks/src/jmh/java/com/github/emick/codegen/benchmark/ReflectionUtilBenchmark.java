@@ -0,0 +1,42 @@
+package com.github.emick.codegen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the raw {@code FieldGenReflectionUtil} field reads and writes against handwritten field access.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectionUtilBenchmark {
+
+    @Benchmark
+    public void getFieldValue(FixtureState state) {
+        state.fixture.reflectionGetAll();
+    }
+
+    @Benchmark
+    public void setFieldValue(FixtureState state) {
+        state.fixture.reflectionSetAll();
+    }
+
+    @Benchmark
+    public void handwrittenGet(FixtureState state) {
+        state.fixture.visitHandwritten();
+    }
+
+    @Benchmark
+    public void handwrittenSet(FixtureState state) {
+        state.fixture.handwrittenSetAll();
+    }
+}
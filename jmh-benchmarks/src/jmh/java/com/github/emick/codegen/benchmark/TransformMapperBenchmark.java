@@ -0,0 +1,48 @@
+package com.github.emick.codegen.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares generated transform mappers per mapping style and field access strategy against handwritten copies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformMapperBenchmark {
+
+    @Benchmark
+    public void mapAllTo(FixtureState state) {
+        state.fixture.mapGenerated();
+    }
+
+    @Benchmark
+    public void mapAllToReturnValue(FixtureState state) {
+        state.fixture.mapReturnValue();
+    }
+
+    @Benchmark
+    public void mapAllToReflection(FixtureState state) {
+        state.fixture.mapReflection();
+    }
+
+    @Benchmark
+    public void mapAllToVarHandle(FixtureState state) {
+        state.fixture.mapVarHandle();
+    }
+
+    @Benchmark
+    public void handwritten(FixtureState state) {
+        state.fixture.mapHandwritten();
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.github.emick.codegen.benchmark.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+
+/**
+ * Round trip through Java serialization, the baseline replaced by the generated {@code BinaryCodec}.
+ */
+public final class JavaSerialization {
+
+    private JavaSerialization() {
+    }
+
+    public static Object roundTrip(Serializable value) {
+        try {
+            var bytes = new ByteArrayOutputStream();
+            try (var output = new ObjectOutputStream(bytes)) {
+                output.writeObject(value);
+            }
+
+            try (var input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return input.readObject();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
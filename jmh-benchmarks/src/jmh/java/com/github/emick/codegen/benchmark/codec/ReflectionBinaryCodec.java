@@ -0,0 +1,90 @@
+package com.github.emick.codegen.benchmark.codec;
+
+import com.github.emick.codegen.util.BinaryCodecUtil;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Reflection based binary codec as found in generic serialization libraries, encoding values like
+ * the generated {@code BinaryCodec}. Only {@code int}, {@code long}, {@code double} and {@link String} fields are
+ * supported.
+ * <p>
+ * The fields and the constructor are resolved once per class, so the measured cost is that of reflective
+ * field access and of dispatching on the field type.
+ */
+public final class ReflectionBinaryCodec {
+
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            return Arrays.stream(type.getDeclaredFields())
+                    .filter(f -> !Modifier.isStatic(f.getModifiers()))
+                    .peek(f -> f.setAccessible(true))
+                    .toArray(Field[]::new);
+        }
+    };
+
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<>() {
+        @Override
+        protected Constructor<?> computeValue(Class<?> type) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    };
+
+    private ReflectionBinaryCodec() {
+    }
+
+    public static void write(Object value, ByteBuffer buffer) {
+        try {
+            for (Field field : FIELDS.get(value.getClass())) {
+                Class<?> type = field.getType();
+                if (type == int.class) {
+                    buffer.putInt(field.getInt(value));
+                } else if (type == long.class) {
+                    buffer.putLong(field.getLong(value));
+                } else if (type == double.class) {
+                    buffer.putDouble(field.getDouble(value));
+                } else if (type == String.class) {
+                    BinaryCodecUtil.putString(buffer, (String) field.get(value));
+                } else {
+                    throw new IllegalArgumentException("Unsupported field type " + type);
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static <T> T read(ByteBuffer buffer, Class<T> type) {
+        try {
+            T value = type.cast(CONSTRUCTORS.get(type).newInstance());
+            for (Field field : FIELDS.get(type)) {
+                Class<?> fieldType = field.getType();
+                if (fieldType == int.class) {
+                    field.setInt(value, buffer.getInt());
+                } else if (fieldType == long.class) {
+                    field.setLong(value, buffer.getLong());
+                } else if (fieldType == double.class) {
+                    field.setDouble(value, buffer.getDouble());
+                } else if (fieldType == String.class) {
+                    field.set(value, BinaryCodecUtil.getString(buffer));
+                } else {
+                    throw new IllegalArgumentException("Unsupported field type " + fieldType);
+                }
+            }
+            return value;
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
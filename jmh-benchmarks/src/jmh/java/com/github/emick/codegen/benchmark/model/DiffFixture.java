@@ -0,0 +1,15 @@
+package com.github.emick.codegen.benchmark.model;
+
+/**
+ * Field diff operations of a {@link Fixture}. Only implemented for widths that fit the 64 fields of the diff
+ * bitmask.
+ */
+public interface DiffFixture {
+
+    /**
+     * Diffs two equal models.
+     */
+    long diffGenerated();
+
+    long diffReflection();
+}
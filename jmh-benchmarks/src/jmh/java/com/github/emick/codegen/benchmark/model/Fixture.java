@@ -0,0 +1,63 @@
+package com.github.emick.codegen.benchmark.model;
+
+/**
+ * Operations measured by the benchmarks for a single model width. Implementations are generated per
+ * width by {@code BenchmarkModelGenerator} and pair each generated code path with a handwritten equivalent.
+ */
+public interface Fixture {
+
+    void visitGenerated();
+
+    void visitReflection();
+
+    void visitVarHandle();
+
+    void visitHandwritten();
+
+    /**
+     * Visits only three fields of the model, see {@code visitOnly} of the generated visitor.
+     */
+    void visitSelectedGenerated();
+
+    void visitSelectedHandwritten();
+
+    void mapGenerated();
+
+    void mapReturnValue();
+
+    void mapReflection();
+
+    void mapVarHandle();
+
+    void mapHandwritten();
+
+    /**
+     * Writes the model to a buffer and reads a new instance back from it.
+     */
+    Object binaryCodecHeap();
+
+    Object binaryCodecDirect();
+
+    Object binaryCodecReflection();
+
+    Object javaSerialization();
+
+    void iterateFieldEnum();
+
+    void iterateFieldNames();
+
+    void iterateFieldEnumList();
+
+    /**
+     * Looks up the field enum constant of each field name, see {@code fromFieldName} of the generated enum.
+     */
+    void lookUpFieldEnum();
+
+    void scanFieldEnum();
+
+    void reflectionGetAll();
+
+    void reflectionSetAll();
+
+    void handwrittenSetAll();
+}
@@ -0,0 +1,35 @@
+package com.github.emick.codegen.benchmark.model;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Creates the fixtures of a given model width.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static Fixture create(int width, Blackhole blackhole) {
+        return switch (width) {
+            case 4 -> new Fixture4(blackhole);
+            case 32 -> new Fixture32(blackhole);
+            case 256 -> new Fixture256(blackhole);
+            default -> throw new IllegalArgumentException("No benchmark models generated for width " + width);
+        };
+    }
+
+    public static RecordFixture createRecordFixture(int width, Blackhole blackhole) {
+        if (create(width, blackhole) instanceof RecordFixture fixture) {
+            return fixture;
+        }
+        throw new IllegalArgumentException("No record model generated for width " + width);
+    }
+
+    public static DiffFixture createDiffFixture(int width, Blackhole blackhole) {
+        if (create(width, blackhole) instanceof DiffFixture fixture) {
+            return fixture;
+        }
+        throw new IllegalArgumentException("No field diff generated for width " + width);
+    }
+}
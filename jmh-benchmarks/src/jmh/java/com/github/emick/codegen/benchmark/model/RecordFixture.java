@@ -0,0 +1,12 @@
+package com.github.emick.codegen.benchmark.model;
+
+/**
+ * Record mapping operations of a {@link Fixture}. Only implemented for widths whose record stays within the
+ * constructor parameter limit.
+ */
+public interface RecordFixture {
+
+    Object mapRecordGenerated();
+
+    Object mapRecordHandwritten();
+}
@@ -0,0 +1,98 @@
+package com.github.emick.codegen.benchmark.processing;
+
+import com.github.emick.codegen.common.FieldGenAnnotationProcessor;
+import com.github.emick.codegen.fieldenum.GenerateFieldEnumAnnotationProcessor;
+import com.github.emick.codegen.fieldnames.GenerateFieldNamesAnnotationProcessor;
+import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitorAnnotationProcessor;
+import com.github.emick.codegen.transform.GenerateTransformMapperAnnotationProcessor;
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.Compiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.processing.Processor;
+import javax.tools.JavaFileObject;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures annotation processing of synthetic source sets with the in-process javac used by the
+ * compile-testing tests. Compilation stops after processing ({@code -proc:only}), so the measured time
+ * consists of parsing the sources and running all four processors until no more sources are generated.
+ * <p>
+ * With {@code unified} the sources are processed by {@link FieldGenAnnotationProcessor}, which scans each type
+ * once for all annotations, instead of by the four processors separately.
+ * <p>
+ * Run with {@code -PjmhProfilers=com.github.emick.codegen.benchmark.processing.PeakHeapProfiler} to also
+ * report the peak heap usage per scale point.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {
+        // Same as the compile-testing tests of foreach-field-gen
+        "--add-opens=jdk.compiler/com.sun.tools.javac.api=ALL-UNNAMED",
+        "--add-opens=jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED",
+        "--add-exports=jdk.compiler/com.sun.tools.javac.api=ALL-UNNAMED",
+        "--add-exports=jdk.compiler/com.sun.tools.javac.file=ALL-UNNAMED",
+        "--add-exports=jdk.compiler/com.sun.tools.javac.main=ALL-UNNAMED",
+        "--add-exports=jdk.compiler/com.sun.tools.javac.model=ALL-UNNAMED",
+        "--add-exports=jdk.compiler/com.sun.tools.javac.parser=ALL-UNNAMED",
+        "--add-exports=jdk.compiler/com.sun.tools.javac.processing=ALL-UNNAMED",
+        "--add-exports=jdk.compiler/com.sun.tools.javac.tree=ALL-UNNAMED",
+        "--add-exports=jdk.compiler/com.sun.tools.javac.util=ALL-UNNAMED"
+})
+@State(Scope.Benchmark)
+public class AnnotationProcessingBenchmark {
+
+    @Param({"100", "1000"})
+    public int types;
+
+    @Param({"8", "64"})
+    public int fields;
+
+    @Param({"false", "true"})
+    public boolean unified;
+
+    private List<JavaFileObject> sources;
+
+    @Setup
+    public void setup() {
+        sources = SyntheticSources.create(types, fields);
+    }
+
+    @Benchmark
+    public Compilation process() {
+        Compilation compilation = Compiler.javac()
+                .withProcessors(createProcessors())
+                .withOptions("-proc:only")
+                .compile(sources);
+
+        if (compilation.status() != Compilation.Status.SUCCESS) {
+            throw new IllegalStateException("Annotation processing failed: " + compilation.errors());
+        }
+        return compilation;
+    }
+
+    private Processor[] createProcessors() {
+        if (unified) {
+            return new Processor[]{new FieldGenAnnotationProcessor()};
+        }
+
+        return new Processor[]{
+                new GenerateFieldVisitorAnnotationProcessor(),
+                new GenerateTransformMapperAnnotationProcessor(),
+                new GenerateFieldEnumAnnotationProcessor(),
+                new GenerateFieldNamesAnnotationProcessor()};
+    }
+}
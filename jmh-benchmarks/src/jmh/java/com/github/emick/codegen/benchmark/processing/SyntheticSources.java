@@ -0,0 +1,62 @@
+package com.github.emick.codegen.benchmark.processing;
+
+import com.google.testing.compile.JavaFileObjects;
+
+import javax.tools.JavaFileObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Creates in-memory source sets of annotated classes and records for benchmarking the annotation processors.
+ * Every type carries all four annotations, alternating between classes and records.
+ */
+final class SyntheticSources {
+
+    private static final String PACKAGE = "com.github.emick.codegen.benchmark.synthetic";
+
+    private static final String[] FIELD_TYPES = {"int", "long", "String", "java.util.List<String>"};
+
+    private SyntheticSources() {
+    }
+
+    static List<JavaFileObject> create(int typeCount, int fieldCount) {
+        List<JavaFileObject> sources = new ArrayList<>(typeCount);
+        for (int i = 0; i < typeCount; i++) {
+            String typeName = "Type" + i;
+            String source = i % 2 == 0
+                    ? createClass(typeName, fieldCount)
+                    : createRecord(typeName, fieldCount);
+            sources.add(JavaFileObjects.forSourceString(PACKAGE + "." + typeName, source));
+        }
+        return sources;
+    }
+
+    private static String createClass(String typeName, int fieldCount) {
+        String fields = IntStream.range(0, fieldCount)
+                .mapToObj(i -> "    private " + FIELD_TYPES[i % FIELD_TYPES.length] + " f" + i + ";\n")
+                .collect(Collectors.joining());
+        return header(typeName) + "public class " + typeName + " {\n" + fields + "}\n";
+    }
+
+    private static String createRecord(String typeName, int fieldCount) {
+        String components = IntStream.range(0, fieldCount)
+                .mapToObj(i -> FIELD_TYPES[i % FIELD_TYPES.length] + " f" + i)
+                .collect(Collectors.joining(", "));
+        return header(typeName) + "public record " + typeName + "(" + components + ") {\n}\n";
+    }
+
+    private static String header(String typeName) {
+        return "package " + PACKAGE + ";\n\n"
+                + "import com.github.emick.codegen.fieldenum.GenerateFieldEnum;\n"
+                + "import com.github.emick.codegen.fieldnames.GenerateFieldNames;\n"
+                + "import com.github.emick.codegen.fieldvisitor.GenerateFieldVisitor;\n"
+                + "import com.github.emick.codegen.transform.GenerateTransformMapper;\n\n"
+                + "@GenerateFieldVisitor\n"
+                + "@GenerateTransformMapper\n"
+                + "@GenerateFieldEnum\n"
+                // Field names and field enum default to the same generated name
+                + "@GenerateFieldNames(generatedName = \"" + typeName + "FieldNames\")\n";
+    }
+}